@@ -0,0 +1,66 @@
+package org.jakubfilo.openapivalidator.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.jakubfilo.openapivalidator.BatchValidator;
+import org.jakubfilo.openapivalidator.CliOptions;
+import org.jakubfilo.openapivalidator.SpecResult;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What one CLI invocation does per spec after JVM startup: read the file, parse (model or streaming) and validate.
+ * The result cache is disabled so every invocation does the full work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+
+	@Param({"small", "medium", "large"})
+	public String size;
+
+	@Param({"model", "streaming"})
+	public String engine;
+
+	private Path spec;
+	private BatchValidator batch;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		spec = Files.createTempFile("openapi-bench-" + size, ".json");
+		Files.writeString(spec, SpecGenerator.preset(size).generate());
+		String[] args = "streaming".equals(engine)
+				? new String[] {"--no-cache", "--no-daemon", "--streaming", spec.toString()}
+				: new String[] {"--no-cache", "--no-daemon", spec.toString()};
+		batch = new BatchValidator(CliOptions.parse(args), RuleLoader.load());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(spec);
+	}
+
+	@Benchmark
+	public SpecResult validateFile() {
+		return batch.validate(spec);
+	}
+}
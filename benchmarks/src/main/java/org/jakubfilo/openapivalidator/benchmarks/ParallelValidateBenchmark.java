@@ -0,0 +1,65 @@
+package org.jakubfilo.openapivalidator.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rule evaluation on a prebuilt index, sequential ({@code threads = 1}) versus fork/join with a pool of the given
+ * size. Small specs show the fixed cost of forking; the crossover is where the parallel mode starts to pay off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelValidateBenchmark {
+
+	@Param({"small", "medium", "large"})
+	public String size;
+
+	@Param({"1", "2", "4", "8", "16"})
+	public int threads;
+
+	private SpecIndex index;
+	private ForkJoinPool pool;
+	private OpenApiSpecValidator validator;
+
+	@Setup
+	public void setUp() {
+		index = SpecIndex.of(OpenApiParserUtil.parseJson(SpecGenerator.preset(size).generate()));
+		pool = threads > 1 ? new ForkJoinPool(threads) : null;
+		validator = new OpenApiSpecValidator(RuleLoader.load(), null, pool);
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	@Benchmark
+	public List<ValidationError> allRules() {
+		return validator.validate(index);
+	}
+}
@@ -0,0 +1,56 @@
+package org.jakubfilo.openapivalidator.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Cost of {@link OpenApiParserUtil#parseJson(String)} alone, and of parsing the same spec from its UTF-8 bytes
+ * as {@link org.jakubfilo.openapivalidator.SpecLoader} hands them over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+	@Param({"small", "medium", "large"})
+	public String size;
+
+	private String json;
+	private ByteBuffer bytes;
+
+	@Setup
+	public void setUp() {
+		json = SpecGenerator.preset(size).generate();
+		bytes = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+	}
+
+	@Benchmark
+	public OpenAPI parseJson() {
+		return OpenApiParserUtil.parseJson(json);
+	}
+
+	@Benchmark
+	public OpenAPI parseBytes() throws IOException {
+		return OpenApiParserUtil.parse(bytes, null);
+	}
+}
@@ -0,0 +1,58 @@
+package org.jakubfilo.openapivalidator.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Parse cost per {@link ParseProfile}, i.e. what resolution and flattening add on top of deserialization when a
+ * rule asks for them.
+ * <p>
+ * The generated specs have no {@code $ref}s, so this mostly measures the fixed cost of each pass: on JDK 21.0.1 with
+ * one CPU, every profile was within the error of {@code AS_WRITTEN}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseProfileBenchmark {
+
+	@Param({"medium", "large"})
+	public String size;
+
+	@Param({"AS_WRITTEN", "RESOLVED", "FLATTENED", "RESOLVED_FULLY"})
+	public ParseProfile profile;
+
+	private ByteBuffer bytes;
+
+	@Setup
+	public void setUp() {
+		bytes = ByteBuffer.wrap(SpecGenerator.preset(size).generate().getBytes(StandardCharsets.UTF_8))
+				.asReadOnlyBuffer();
+	}
+
+	@Benchmark
+	public OpenAPI parse() throws IOException {
+		return OpenApiParserUtil.parse(bytes, null, null, profile, message -> {
+		});
+	}
+}
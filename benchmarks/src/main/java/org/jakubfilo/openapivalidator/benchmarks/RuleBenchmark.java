@@ -0,0 +1,63 @@
+package org.jakubfilo.openapivalidator.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.config.RuleConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of each rule on its own, against a prebuilt index, hand-written and compiled from the rule configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleBenchmark {
+
+	@Param({"small", "medium", "large"})
+	public String size;
+
+	@Param({"operation-description", "property-lower-camel-case", "post-created-response",
+			"generic-id-parameter", "enum-upper-snake-case"})
+	public String rule;
+
+	/**
+	 * {@code java}: the hand-written rule; {@code config}: the same rule compiled from {@link RuleConfig#BUILT_IN}.
+	 */
+	@Param({"java", "config"})
+	public String implementation;
+
+	private SpecIndex index;
+	private OpenApiSpecValidator singleRule;
+
+	@Setup
+	public void setUp() {
+		index = SpecIndex.of(OpenApiParserUtil.parseJson(SpecGenerator.preset(size).generate()));
+		List<Rule> rules = "config".equals(implementation) ? RuleConfig.builtIn().apply(List.of()) : RuleLoader.load();
+		singleRule = new OpenApiSpecValidator(rules.stream().filter(r -> r.id().equals(rule)).toList());
+	}
+
+	@Benchmark
+	public List<ValidationError> singleRule() {
+		return singleRule.validate(index);
+	}
+}
@@ -0,0 +1,91 @@
+package org.jakubfilo.openapivalidator.benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic OpenAPI 3.0 JSON specs. The same parameters always produce the same
+ * document, so benchmark runs are comparable across commits.
+ *
+ * @param paths           number of paths; each has a GET and a POST operation and one path parameter
+ * @param schemas         number of component schemas
+ * @param properties      properties per schema; every third one is a string enum
+ * @param enumValues      enum cardinality of each enum property
+ * @param violationRate   probability (0..1) that a generated node breaks its rule
+ * @param seed            random seed
+ */
+public record SpecGenerator(int paths, int schemas, int properties, int enumValues, double violationRate, long seed) {
+
+	public String generate() {
+		SplittableRandom random = new SplittableRandom(seed);
+		StringBuilder json = new StringBuilder(64 * (paths * 8 + schemas * properties * (enumValues + 4)));
+		json.append("{\"openapi\":\"3.0.0\",\"info\":{\"title\":\"Generated API\",\"version\":\"1.0.0\"},\"paths\":{");
+
+		for (int p = 0; p < paths; p++) {
+			if (p > 0) {
+				json.append(',');
+			}
+			String param = violates(random) ? "id" : "resource" + p + "Id";
+			json.append("\"/resources").append(p).append("/{").append(param).append("}\":{")
+					.append("\"parameters\":[{\"name\":\"").append(param)
+					.append("\",\"in\":\"path\",\"required\":true,\"schema\":{\"type\":\"string\"}}],");
+			json.append("\"get\":{");
+			description(json, random, "Get resource " + p);
+			json.append("\"responses\":{\"200\":{\"description\":\"OK\"}}},");
+			json.append("\"post\":{");
+			description(json, random, "Create resource " + p);
+			json.append("\"responses\":{\"").append(violates(random) ? "200" : "201").append("\":{\"description\":\"Done\"}}}");
+			json.append('}');
+		}
+
+		json.append("},\"components\":{\"schemas\":{");
+		for (int s = 0; s < schemas; s++) {
+			if (s > 0) {
+				json.append(',');
+			}
+			json.append("\"Model").append(s).append("\":{\"type\":\"object\",\"properties\":{");
+			for (int i = 0; i < properties; i++) {
+				if (i > 0) {
+					json.append(',');
+				}
+				json.append('"').append(violates(random) ? "field_" + i : "field" + i).append("\":");
+				if (i % 3 == 2) {
+					json.append("{\"type\":\"string\",\"enum\":[");
+					for (int e = 0; e < enumValues; e++) {
+						if (e > 0) {
+							json.append(',');
+						}
+						json.append('"').append(violates(random) ? "value" + e : "VALUE_" + e).append('"');
+					}
+					json.append("]}");
+				} else {
+					json.append("{\"type\":\"string\"}");
+				}
+			}
+			json.append("}}");
+		}
+		json.append("}}}");
+		return json.toString();
+	}
+
+	private boolean violates(SplittableRandom random) {
+		return random.nextDouble() < violationRate;
+	}
+
+	private void description(StringBuilder json, SplittableRandom random, String text) {
+		if (!violates(random)) {
+			json.append("\"description\":\"").append(text).append("\",");
+		}
+	}
+
+	/**
+	 * Preset sizes shared by the benchmarks, selected with {@code @Param("small")} etc.
+	 */
+	public static SpecGenerator preset(String size) {
+		return switch (size) {
+			case "small" -> new SpecGenerator(20, 20, 10, 5, 0.05, 42);
+			case "medium" -> new SpecGenerator(500, 300, 20, 10, 0.05, 42);
+			case "large" -> new SpecGenerator(5_000, 2_000, 30, 20, 0.05, 42);
+			default -> throw new IllegalArgumentException("Unknown spec size " + size);
+		};
+	}
+}
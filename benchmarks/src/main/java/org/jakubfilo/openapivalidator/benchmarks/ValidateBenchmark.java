@@ -0,0 +1,57 @@
+package org.jakubfilo.openapivalidator.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Validation cost on an already parsed model: index construction alone, and all registered rules end to end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateBenchmark {
+
+	@Param({"small", "medium", "large"})
+	public String size;
+
+	private OpenAPI openAPI;
+	private OpenApiSpecValidator allRules;
+
+	@Setup
+	public void setUp() {
+		openAPI = OpenApiParserUtil.parseJson(SpecGenerator.preset(size).generate());
+		allRules = new OpenApiSpecValidator(RuleLoader.load());
+	}
+
+	@Benchmark
+	public SpecIndex buildIndex() {
+		return SpecIndex.of(openAPI);
+	}
+
+	@Benchmark
+	public List<ValidationError> allRules() {
+		return allRules.validate(openAPI);
+	}
+}
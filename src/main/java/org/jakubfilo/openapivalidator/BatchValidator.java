@@ -0,0 +1,322 @@
+package org.jakubfilo.openapivalidator;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.jakubfilo.openapivalidator.cache.ResultCache;
+import org.jakubfilo.openapivalidator.cache.SnapshotStore;
+import org.jakubfilo.openapivalidator.profiling.DuplicateSchemaReport;
+import org.jakubfilo.openapivalidator.profiling.ProfileReport;
+import org.jakubfilo.openapivalidator.refs.ExternalRefCache;
+import org.jakubfilo.openapivalidator.refs.ExternalRefResolver;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.ValidationSink;
+import org.jakubfilo.openapivalidator.validation.streaming.StreamingSpecValidator;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Validates many specs concurrently, one virtual thread per spec, with at most {@code parallelism}
+ * specs in flight. Rules are stateless, so one validator instance is shared by all threads. With
+ * {@code --parallel-rules} each spec's rules additionally fan out over the common fork/join pool, which pays off
+ * for a few very large specs rather than many small ones.
+ */
+public class BatchValidator {
+
+	private final OpenApiSpecValidator validator;
+	private final StreamingSpecValidator streamingValidator;
+	private final boolean streaming;
+	private final boolean parseWarnings;
+	private final EngineMode mode;
+	private final CacheSettings cacheSettings;
+	private final Semaphore permits;
+	private final ResultCache cache;
+	private final SnapshotStore snapshots;
+	private final ProfileReport profile;
+	private final DuplicateSchemaReport duplicates;
+	private final ExternalRefCache refs = new ExternalRefCache();
+
+	public BatchValidator(CliOptions options, List<Rule> rules) {
+		this.profile = options.isProfile() ? new ProfileReport() : null;
+		this.duplicates = options.isProfile() ? new DuplicateSchemaReport() : null;
+		this.validator = new OpenApiSpecValidator(rules, profile,
+				options.isParallelRules() ? ForkJoinPool.commonPool() : null);
+		this.streamingValidator = new StreamingSpecValidator(validator.getRules());
+		this.streaming = options.isStreaming();
+		if (streaming && validator.getParseProfile() != ParseProfile.AS_WRITTEN) {
+			throw new IllegalArgumentException("--streaming cannot serve rules that need a "
+					+ validator.getParseProfile() + " spec");
+		}
+		if (streaming && !streamingValidator.getSkippedRules().isEmpty()) {
+			System.err.println("--streaming skips rules that need the OpenAPI model: "
+					+ String.join(", ", streamingValidator.getSkippedRules()));
+		}
+		this.parseWarnings = options.isParseWarnings();
+		this.mode = new EngineMode(streaming, parseWarnings, options.isParallelRules(), validator.getParseProfile());
+		this.permits = new Semaphore(options.getParallelism());
+		this.cacheSettings = CacheSettings.of(options);
+		this.cache = options.isCacheEnabled()
+				? new ResultCache(options.getCacheDir(), options.getCacheMaxBytes(),
+						streaming ? streamingValidator.getRules() : validator.getRules(), mode)
+				: null;
+		// Parse warnings cannot be replayed from a snapshot
+		this.snapshots = cache != null && !streaming && !parseWarnings
+				&& validator.getRules().stream().allMatch(Rule::isSnapshotSafe)
+				? new SnapshotStore(options.getCacheDir().resolve("snapshots"), options.getCacheMaxBytes())
+				: null;
+	}
+
+	public EngineMode getMode() {
+		return mode;
+	}
+
+	public CacheSettings getCacheSettings() {
+		return cacheSettings;
+	}
+
+	/**
+	 * Per-rule cost of this batch, or null unless {@code --profile} was given.
+	 */
+	public ProfileReport getProfile() {
+		return profile;
+	}
+
+	/**
+	 * Repeated schema shapes of this batch, or null unless {@code --profile} was given.
+	 */
+	public DuplicateSchemaReport getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Documents referenced by external {@code $ref}s, shared by all specs of this batch.
+	 */
+	public ExternalRefCache getRefs() {
+		return refs;
+	}
+
+	/**
+	 * The result cache, or null when caching is disabled.
+	 */
+	public ResultCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * The store of parsed specs, or null when caching is disabled or a rule is not
+	 * {@link Rule#isSnapshotSafe() snapshot safe}.
+	 */
+	public SnapshotStore getSnapshots() {
+		return snapshots;
+	}
+
+	/**
+	 * Results are returned in the order of {@code specs}, regardless of completion order.
+	 */
+	public List<SpecResult> validateAll(List<Path> specs) throws InterruptedException {
+		List<Future<SpecResult>> futures = new ArrayList<>(specs.size());
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Path spec : specs) {
+				futures.add(executor.submit(() -> {
+					permits.acquire();
+					try {
+						return validate(spec);
+					} finally {
+						permits.release();
+					}
+				}));
+			}
+		}
+
+		List<SpecResult> results = new ArrayList<>(futures.size());
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				results.add(futures.get(i).get());
+			} catch (ExecutionException ex) {
+				results.add(SpecResult.failed(specs.get(i), String.valueOf(ex.getCause())));
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Streams every spec's errors into {@code reporter}, which reports them in the order of {@code specs}. Specs
+	 * that have not started when their sink is done are skipped, and specs wait to start while the reporter holds
+	 * {@link ErrorReporter#MAX_BUFFERED} violations for later specs.
+	 */
+	public void validateAll(List<Path> specs, ErrorReporter reporter) throws InterruptedException {
+		// Sinks are handed out in input order, which is the order they are reported in
+		List<ErrorReporter.SpecSink> sinks = specs.stream().map(reporter::forSpec).toList();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < specs.size(); i++) {
+				Path spec = specs.get(i);
+				ErrorReporter.SpecSink sink = sinks.get(i);
+				executor.submit(() -> {
+					String failure = null;
+					try {
+						// Waits without a permit, so the spec holding up the report can always get one
+						sink.awaitStart();
+						permits.acquire();
+						try {
+							if (!sink.isDone()) {
+								failure = validate(spec, sink);
+							}
+						} finally {
+							permits.release();
+						}
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						failure = "Interrupted";
+					} finally {
+						// Later specs wait for this one, so it is completed whatever happened
+						sink.complete(failure);
+					}
+				});
+			}
+		}
+	}
+
+	public SpecResult validate(Path spec) {
+		List<ValidationError> errors = new ArrayList<>();
+		List<String> warnings = new ArrayList<>();
+		String failure = validate(spec, new ValidationSink() {
+			@Override
+			public void accept(ValidationError error) {
+				errors.add(error);
+			}
+
+			@Override
+			public void warning(String message) {
+				warnings.add(message);
+			}
+		});
+		return failure != null ? SpecResult.failed(spec, failure) : SpecResult.validated(spec, errors, warnings);
+	}
+
+	/**
+	 * Validates one spec into {@code sink}. Complete results are cached together with the external files the spec
+	 * references, whose changes invalidate the entry; a run cut short by the sink is not cached, nor is one with
+	 * parser warnings, which a cache hit would lose. On a result cache miss the parsed spec is still loaded from its
+	 * snapshot when there is one.
+	 *
+	 * @return why the spec could not be validated, or null if it was
+	 */
+	public String validate(Path spec, ValidationSink sink) {
+		try {
+			ByteBuffer bytes = SpecLoader.read(spec);
+			String key = null;
+			if (cache != null) {
+				key = cache.key(bytes);
+				Optional<List<ValidationError>> cached = cache.get(key);
+				if (cached.isPresent()) {
+					for (ValidationError error : cached.get()) {
+						if (sink.isDone()) {
+							break;
+						}
+						sink.accept(error);
+					}
+					return null;
+				}
+			}
+
+			// Keep a copy only when it is going to be cached
+			RecordingSink target = new RecordingSink(sink, cache != null ? new ArrayList<>() : null);
+			Map<Path, FileTime> dependencies = Map.of();
+			long start = System.nanoTime();
+			if (streaming) {
+				// Token-level validation, never builds the OpenAPI model
+				streamingValidator.validate(SpecLoader.open(bytes), target);
+				if (profile != null) {
+					profile.record(ProfileReport.STREAMING, System.nanoTime() - start, bytes.remaining(), target.count);
+				}
+			} else {
+				OpenAPI openAPI = null;
+				String snapshotKey = null;
+				if (snapshots != null) {
+					snapshotKey = snapshots.key(bytes, validator.getParseProfile());
+					Optional<SnapshotStore.Entry> snapshot = snapshots.get(snapshotKey);
+					if (snapshot.isPresent()) {
+						openAPI = snapshot.get().openAPI();
+						dependencies = snapshot.get().dependencies();
+					}
+				}
+				if (openAPI == null) {
+					ExternalRefResolver resolver = new ExternalRefResolver(refs, spec);
+					openAPI = OpenApiParserUtil.parse(bytes, spec.toString(), resolver, validator.getParseProfile(),
+							parseWarnings ? target::warning : null);
+					dependencies = resolver.dependencies();
+					if (snapshots != null) {
+						snapshots.put(snapshotKey, openAPI, dependencies);
+					}
+				}
+				if (profile != null) {
+					profile.record(ProfileReport.PARSE, System.nanoTime() - start, bytes.remaining(), 0);
+				}
+				SpecIndex index = SpecIndex.of(openAPI, null, validator.hasStructuralRules() || duplicates != null);
+				if (duplicates != null) {
+					duplicates.record(spec.toString(), index.duplicateSchemas());
+				}
+				validator.validate(index, spec.toString(), target);
+			}
+
+			if (cache != null && !sink.isDone() && !target.warned) {
+				cache.put(key, target.copy, dependencies);
+			}
+			return null;
+		} catch (Exception | InternalError ex) {
+			// InternalError: the mapped file was truncated while it was read, which fails this spec only
+			return ex.getClass().getSimpleName() + ": " + ex.getMessage();
+		}
+	}
+
+	/**
+	 * Counts what passes through to the caller's sink and optionally keeps a copy.
+	 */
+	private static final class RecordingSink implements ValidationSink {
+
+		private final ValidationSink delegate;
+		private final List<ValidationError> copy;
+		private int count;
+		private boolean warned;
+
+		RecordingSink(ValidationSink delegate, List<ValidationError> copy) {
+			this.delegate = delegate;
+			this.copy = copy;
+		}
+
+		@Override
+		public void accept(ValidationError error) {
+			count++;
+			if (copy != null) {
+				copy.add(error);
+			}
+			delegate.accept(error);
+		}
+
+		@Override
+		public void warning(String message) {
+			warned = true;
+			delegate.warning(message);
+		}
+
+		@Override
+		public boolean isDone() {
+			return delegate.isDone();
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package org.jakubfilo.openapivalidator;
+
+import java.nio.file.Path;
+
+/**
+ * Where a {@link BatchValidator} keeps its result cache and spec snapshots, and how large they may grow. A daemon
+ * only serves clients whose settings equal its own, so that forwarding a run never writes to a cache the client
+ * did not ask for.
+ *
+ * @param directory absolute and normalized, or null when caching is disabled
+ * @param maxBytes  0 when caching is disabled
+ */
+public record CacheSettings(Path directory, long maxBytes) {
+
+	public static final CacheSettings DISABLED = new CacheSettings(null, 0);
+
+	public static CacheSettings of(CliOptions options) {
+		return options.isCacheEnabled()
+				? new CacheSettings(options.getCacheDir().toAbsolutePath().normalize(), options.getCacheMaxBytes())
+				: DISABLED;
+	}
+
+	/**
+	 * The settings as command line flags, e.g. {@code --cache-dir /tmp/cache --cache-max-mb 256}.
+	 */
+	@Override
+	public String toString() {
+		return directory == null ? "--no-cache"
+				: "--cache-dir " + directory + " --cache-max-mb " + maxBytes / (1024 * 1024);
+	}
+}
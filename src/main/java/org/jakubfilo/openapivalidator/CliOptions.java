@@ -0,0 +1,171 @@
+package org.jakubfilo.openapivalidator;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.cache.ResultCache;
+import org.jakubfilo.openapivalidator.daemon.ValidationDaemon;
+import org.jakubfilo.openapivalidator.report.GithubAnnotationWriter;
+import org.jakubfilo.openapivalidator.report.ReportFormat;
+
+import lombok.Getter;
+
+/**
+ * Command line options of {@link OpenApiValidatorCli}. Everything that is not a flag is a spec input:
+ * a file (optionally gzip-compressed), a directory (searched recursively for *.json and *.json.gz), a {@code .zip}
+ * bundle or a glob such as {@code specs/**}{@code /*.json}.
+ */
+@Getter
+public class CliOptions {
+
+	static final String USAGE = """
+			Usage: java ... OpenApiValidatorCli [options] <openapi-file|directory|glob|bundle.zip>...
+			       java ... OpenApiValidatorCli serve [options]
+			  --streaming          validate from the JSON token stream without building the OpenAPI model
+			  --watch              keep running, re-validate specs when they change and print new and resolved violations
+			  --rules <file>       JSON rule configuration adding, replacing or disabling rules (serve: the daemon's rules)
+			  --parse-warnings     report parser messages as warnings instead of failing the spec
+			  --parallelism <n>    maximum number of specs validated concurrently (default: available processors)
+			  --parallel-rules     also split each spec's rule evaluation across the common fork/join pool
+			  --no-cache           do not read or write the on-disk result cache and spec snapshots
+			  --cache-dir <dir>    result cache directory (default: ~/.cache/openapi-validator)
+			  --cache-max-mb <n>   size bound of the result cache and of the snapshots in MiB (default: 256)
+			  --socket <path>      daemon socket (default: <cache-dir>/daemon.sock)
+			  --no-daemon          never forward to a running daemon, always validate in-process
+			  --max-errors <n>     stop validating once n violations have been reported
+			  --fail-fast          stop at the first violation (same as --max-errors 1)
+			  --annotations <n>    GitHub annotations to print, further problems are only counted per code (default: 50)
+			  --report <fmt=file>  also write a github, markdown, sarif or jsonl report to file (repeatable)
+			  --profile            print per-rule cost and repeated schema shapes (bypasses the result cache and the daemon)
+			  --base <file>        report only violations introduced relative to this base spec (single spec only)
+			  --baseline <file>    do not report violations recorded in this baseline file
+			  --update-baseline    record all current violations into the --baseline file instead of reporting them""";
+
+	private boolean serve;
+	private boolean streaming;
+	private boolean watch;
+	private Path rules;
+	private boolean parseWarnings;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private boolean parallelRules;
+	private boolean cacheEnabled = true;
+	private Path cacheDir = ResultCache.defaultDirectory();
+	private long cacheMaxBytes = 256L * 1024 * 1024;
+	private Path socket;
+	private boolean daemonEnabled = true;
+	private long maxErrors = Long.MAX_VALUE;
+	private long maxAnnotations = GithubAnnotationWriter.DEFAULT_MAX_ANNOTATIONS;
+	private final List<ReportFormat.Target> reports = new ArrayList<>();
+	private boolean profile;
+	private Path base;
+	private Path baseline;
+	private boolean updateBaseline;
+	private final List<String> inputs = new ArrayList<>();
+
+	public static CliOptions parse(String[] args) {
+		CliOptions options = new CliOptions();
+		int first = 0;
+		if (args.length > 0 && "serve".equals(args[0])) {
+			options.serve = true;
+			first = 1;
+		}
+		for (int i = first; i < args.length; i++) {
+			String arg = args[i];
+			switch (arg) {
+				case "--streaming" -> options.streaming = true;
+				case "--watch" -> options.watch = true;
+				case "--rules" -> options.rules = Path.of(value(args, ++i, arg));
+				case "--parse-warnings" -> options.parseWarnings = true;
+				case "--parallelism" -> options.parallelism = positiveInt(arg, value(args, ++i, arg));
+				case "--parallel-rules" -> options.parallelRules = true;
+				case "--no-cache" -> options.cacheEnabled = false;
+				case "--cache-dir" -> options.cacheDir = Path.of(value(args, ++i, arg));
+				case "--cache-max-mb" -> options.cacheMaxBytes = positiveInt(arg, value(args, ++i, arg)) * 1024L * 1024;
+				case "--socket" -> options.socket = Path.of(value(args, ++i, arg));
+				case "--no-daemon" -> options.daemonEnabled = false;
+				case "--max-errors" -> options.maxErrors = positiveInt(arg, value(args, ++i, arg));
+				case "--fail-fast" -> options.maxErrors = 1;
+				case "--annotations" -> options.maxAnnotations = positiveInt(arg, value(args, ++i, arg));
+				case "--report" -> options.reports.add(ReportFormat.Target.parse(value(args, ++i, arg)));
+				case "--profile" -> options.profile = true;
+				case "--base" -> options.base = Path.of(value(args, ++i, arg));
+				case "--baseline" -> options.baseline = Path.of(value(args, ++i, arg));
+				case "--update-baseline" -> options.updateBaseline = true;
+				default -> {
+					if (arg.startsWith("--")) {
+						throw new IllegalArgumentException("Unknown option " + arg);
+					}
+					options.inputs.add(arg);
+				}
+			}
+		}
+		if (options.serve && !options.inputs.isEmpty()) {
+			throw new IllegalArgumentException("serve does not take spec files");
+		}
+		if (!options.serve && options.inputs.isEmpty()) {
+			throw new IllegalArgumentException("At least one OpenAPI file, directory or glob is required");
+		}
+		if (options.base != null && (options.serve || options.streaming)) {
+			throw new IllegalArgumentException("--base cannot be combined with serve or --streaming");
+		}
+		if (options.watch && (options.serve || options.streaming || options.base != null || options.updateBaseline)) {
+			throw new IllegalArgumentException(
+					"--watch cannot be combined with serve, --streaming, --base or --update-baseline");
+		}
+		if (!options.reports.isEmpty() && (options.serve || options.watch)) {
+			throw new IllegalArgumentException("--report cannot be combined with serve or --watch");
+		}
+		if (options.updateBaseline && options.baseline == null) {
+			throw new IllegalArgumentException("--update-baseline needs --baseline <file>");
+		}
+		if (options.serve && options.baseline != null) {
+			throw new IllegalArgumentException("--baseline is applied by the client, not by serve");
+		}
+		return options;
+	}
+
+	/**
+	 * A regenerated baseline must hold every violation, so it ignores {@code --max-errors} and {@code --fail-fast}.
+	 */
+	public long getMaxErrors() {
+		return updateBaseline ? Long.MAX_VALUE : maxErrors;
+	}
+
+	/**
+	 * Profiling measures real work, so it bypasses both the result cache and the daemon, as does a diff against
+	 * a base spec, whose result depends on two files. A rule configuration bypasses the daemon, which runs its own
+	 * rules. Other options reach the daemon as the request's {@link EngineMode} and {@link CacheSettings}, and a
+	 * daemon started with different ones leaves the run to the client.
+	 */
+	public boolean isCacheEnabled() {
+		return cacheEnabled && !profile && base == null;
+	}
+
+	public boolean isDaemonEnabled() {
+		return daemonEnabled && !profile && base == null && rules == null;
+	}
+
+	public Path getSocket() {
+		return socket != null ? socket : ValidationDaemon.defaultSocket(cacheDir);
+	}
+
+	private static String value(String[] args, int index, String option) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + option);
+		}
+		return args[index];
+	}
+
+	private static int positiveInt(String option, String value) {
+		try {
+			int parsed = Integer.parseInt(value);
+			if (parsed > 0) {
+				return parsed;
+			}
+		} catch (NumberFormatException ignored) {
+			// reported below
+		}
+		throw new IllegalArgumentException(option + " must be a positive integer, got '" + value + "'");
+	}
+}
@@ -0,0 +1,32 @@
+package org.jakubfilo.openapivalidator;
+
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.Rule;
+
+/**
+ * The options besides the rule set that decide how a {@link BatchValidator} validates a spec. A daemon only serves
+ * clients whose mode equals its own, so that forwarding a run never changes what it reports.
+ *
+ * @param parseProfile the profile the rules need, see {@link ParseProfile#cheapest}
+ */
+public record EngineMode(boolean streaming, boolean parseWarnings, boolean parallelRules, ParseProfile parseProfile) {
+
+	/**
+	 * @throws IllegalArgumentException if the rules need profiles that exclude each other
+	 */
+	public static EngineMode of(CliOptions options, List<Rule> rules) {
+		return new EngineMode(options.isStreaming(), options.isParseWarnings(), options.isParallelRules(),
+				ParseProfile.cheapest(rules));
+	}
+
+	/**
+	 * The mode as command line flags and the parse profile, e.g. {@code --streaming AS_WRITTEN}.
+	 */
+	@Override
+	public String toString() {
+		return (streaming ? "--streaming " : "") + (parseWarnings ? "--parse-warnings " : "")
+				+ (parallelRules ? "--parallel-rules " : "") + parseProfile;
+	}
+}
@@ -0,0 +1,317 @@
+package org.jakubfilo.openapivalidator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.baseline.Baseline;
+import org.jakubfilo.openapivalidator.profiling.ProfileReport;
+import org.jakubfilo.openapivalidator.report.ReportWriter;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.ValidationSink;
+
+/**
+ * Hands problems to the {@link ReportWriter}s while specs are being validated, so no report document is held in
+ * memory. Specs are reported in the order their sinks were handed out, whatever order they finish in: the oldest
+ * unfinished spec streams straight to the writers, later ones buffer their violations until every spec before them
+ * is complete. Every sink must therefore be {@link SpecSink#complete(String) completed}.
+ * <p>
+ * Once {@code maxErrors} problems (violations or unparseable specs) have been reported, every sink handed out
+ * is done, which cancels the remaining traversal and any spec not started yet. As problems are counted in input
+ * order, the cut-off does not depend on timing. Without a limit, the buffers are bounded instead by holding back
+ * specs that have not started, see {@link SpecSink#awaitStart()}.
+ * <p>
+ * Violations in the {@link Baseline} are dropped before they count as problems. When the baseline is being
+ * regenerated, every violation is recorded into it instead of being reported. Parser warnings are reported in the
+ * same order but are never problems.
+ */
+public class ErrorReporter implements AutoCloseable {
+
+	/**
+	 * Violations that sinks waiting for an earlier spec may hold between them before further specs are held back.
+	 */
+	public static final int MAX_BUFFERED = 10_000;
+
+	private final List<ReportWriter> writers;
+	private final long maxErrors;
+	private final boolean batch;
+	private final Baseline baseline;
+	private final boolean recordBaseline;
+
+	private long problems;
+	private long suppressed;
+	/**
+	 * Violations held by sinks that wait for an earlier spec.
+	 */
+	private long bufferedTotal;
+	private volatile boolean done;
+	/**
+	 * Sinks handed out and not yet reported, in order; the first one is live.
+	 */
+	private final Deque<SpecSink> pending = new ArrayDeque<>();
+
+	/**
+	 * @param writers   outputs of the run, closed with the reporter
+	 * @param maxErrors stop after this many problems, {@link Long#MAX_VALUE} for no limit
+	 * @param batch     whether several specs are reported, which names each one in the output
+	 * @param baseline  accepted violations, or null
+	 * @param record    add every violation to {@code baseline} instead of reporting it
+	 */
+	public ErrorReporter(List<ReportWriter> writers, long maxErrors, boolean batch, Baseline baseline,
+			boolean record) {
+		this.writers = new ArrayList<>(writers);
+		this.maxErrors = maxErrors;
+		this.batch = batch;
+		this.baseline = baseline;
+		this.recordBaseline = record;
+	}
+
+	public boolean isDone() {
+		return done;
+	}
+
+	public synchronized boolean hasFailures() {
+		return problems > 0;
+	}
+
+	/**
+	 * Returns the sink for one spec's violations; call {@link SpecSink#complete(String)} when the spec is finished.
+	 * The spec is reported after those of all sinks handed out before.
+	 */
+	public synchronized SpecSink forSpec(Path spec) {
+		SpecSink sink = new SpecSink(spec);
+		pending.addLast(sink);
+		return sink;
+	}
+
+	/**
+	 * Reports a result that was computed elsewhere, e.g. by the daemon.
+	 */
+	public void report(SpecResult result) {
+		SpecSink sink = forSpec(result.spec());
+		result.warnings().forEach(sink::warning);
+		if (result.failure() == null) {
+			for (ValidationError error : result.errors()) {
+				if (sink.isDone()) {
+					break;
+				}
+				sink.accept(error);
+			}
+		}
+		sink.complete(result.failure());
+	}
+
+	/**
+	 * Finishes every report, with the cost table where the format has room for it, and closes them.
+	 *
+	 * @param profile may be null
+	 */
+	public synchronized void close(ProfileReport profile) {
+		if (suppressed > 0) {
+			System.err.println(suppressed + " violation(s) suppressed by the baseline.");
+		}
+		if (done) {
+			System.err.println("Reached the limit of " + problems + " problem(s), remaining checks were skipped.");
+		}
+		if (profile != null) {
+			System.err.print(profile.toText());
+		}
+		ReportWriter.Summary summary = new ReportWriter.Summary(problems, done, profile);
+		emit(writer -> writer.finish(summary));
+		close();
+	}
+
+	@Override
+	public synchronized void close() {
+		for (ReportWriter writer : writers) {
+			try {
+				writer.close();
+			} catch (IOException ex) {
+				System.err.println("Failed to write " + writer + ": " + ex.getMessage());
+			}
+		}
+		writers.clear();
+	}
+
+	/**
+	 * Returns false if the problem is over the limit and must not be printed.
+	 */
+	private boolean countProblem() {
+		if (problems >= maxErrors) {
+			return false;
+		}
+		problems++;
+		done = problems >= maxErrors;
+		if (done) {
+			notifyAll();
+		}
+		return true;
+	}
+
+	private interface Event {
+		void write(ReportWriter writer) throws IOException;
+	}
+
+	/**
+	 * Hands {@code event} to every writer. A writer that fails is reported once and dropped, but does not override
+	 * the exit code.
+	 */
+	private void emit(Event event) {
+		for (int i = 0; i < writers.size(); i++) {
+			ReportWriter writer = writers.get(i);
+			try {
+				event.write(writer);
+			} catch (IOException ex) {
+				System.err.println("Failed to write " + writer + ": " + ex.getMessage());
+				writers.remove(i--);
+				try {
+					writer.close();
+				} catch (IOException ignored) {
+					// already reported
+				}
+			}
+		}
+	}
+
+	public final class SpecSink implements ValidationSink {
+
+		private final Path spec;
+		private boolean started;
+		/**
+		 * Violations and warnings kept while an earlier spec is still being reported; null once this sink is live.
+		 */
+		private List<ValidationError> buffered = new ArrayList<>();
+		private List<String> bufferedWarnings = new ArrayList<>();
+		private volatile boolean bufferFull;
+		private boolean completed;
+		private String failure;
+
+		private SpecSink(Path spec) {
+			this.spec = spec;
+		}
+
+		@Override
+		public void accept(ValidationError error) {
+			long fingerprint = baseline == null ? 0 : Baseline.fingerprint(spec, error);
+			synchronized (ErrorReporter.this) {
+				if (baseline != null) {
+					if (recordBaseline) {
+						baseline.add(fingerprint);
+						return;
+					}
+					if (baseline.contains(fingerprint)) {
+						suppressed++;
+						return;
+					}
+				}
+				if (pending.peekFirst() != this) {
+					buffered.add(error);
+					bufferedTotal++;
+					// More than the limit can never be printed
+					bufferFull = buffered.size() >= maxErrors;
+					return;
+				}
+				violation(error);
+			}
+		}
+
+		@Override
+		public void warning(String message) {
+			synchronized (ErrorReporter.this) {
+				if (pending.peekFirst() != this) {
+					bufferedWarnings.add(message);
+				} else if (!done) {
+					emit(writer -> writer.warning(spec, message));
+				}
+			}
+		}
+
+		/**
+		 * Blocks until this spec may start: it is the live one, the reporter is done, or the sinks waiting for an
+		 * earlier spec hold fewer than {@link #MAX_BUFFERED} violations. Specs that already run keep buffering, so
+		 * memory stays bounded by the limit plus what the running specs find, not by the whole input, while one
+		 * slow spec holds up the report.
+		 */
+		public void awaitStart() throws InterruptedException {
+			synchronized (ErrorReporter.this) {
+				while (bufferedTotal >= MAX_BUFFERED && pending.peekFirst() != this && !done) {
+					ErrorReporter.this.wait();
+				}
+			}
+		}
+
+		/**
+		 * Also true once this spec has buffered as many violations as can be reported at all.
+		 */
+		@Override
+		public boolean isDone() {
+			return done || bufferFull;
+		}
+
+		/**
+		 * @param failure why the spec could not be validated, or null if it was
+		 */
+		public void complete(String failure) {
+			synchronized (ErrorReporter.this) {
+				completed = true;
+				this.failure = failure;
+				while (!pending.isEmpty() && pending.peekFirst().completed) {
+					pending.removeFirst().finish();
+					SpecSink next = pending.peekFirst();
+					if (next != null) {
+						next.goLive();
+					}
+				}
+			}
+		}
+
+		/**
+		 * Reports what this sink buffered while it waited for earlier specs.
+		 */
+		private void goLive() {
+			List<String> warnings = bufferedWarnings;
+			bufferedWarnings = null;
+			for (String message : warnings) {
+				if (!done) {
+					emit(writer -> writer.warning(spec, message));
+				}
+			}
+			List<ValidationError> errors = buffered;
+			buffered = null;
+			bufferedTotal -= errors.size();
+			ErrorReporter.this.notifyAll();
+			for (ValidationError error : errors) {
+				violation(error);
+			}
+		}
+
+		private void violation(ValidationError error) {
+			if (!countProblem()) {
+				return;
+			}
+			if (!started) {
+				started = true;
+				System.err.println(batch ? "OpenAPI validation failed for " + spec + ":" : "OpenAPI validation failed:");
+				emit(writer -> writer.specStarted(spec));
+			}
+			emit(writer -> writer.violation(spec, error));
+		}
+
+		private void finish() {
+			if (failure != null) {
+				if (!countProblem()) {
+					return;
+				}
+				System.err.println("OpenAPI validation failed for " + spec + ":");
+				emit(writer -> writer.specFailed(spec, failure));
+			} else if (started) {
+				emit(writer -> writer.specFinished(spec));
+			} else if (batch && !done) {
+				emit(writer -> writer.specPassed(spec));
+			}
+		}
+	}
+}
@@ -1,9 +1,25 @@
 package org.jakubfilo.openapivalidator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.jakubfilo.openapivalidator.profiling.SpecParseEvent;
+import org.jakubfilo.openapivalidator.refs.ExternalRefResolver;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
 
 public final class OpenApiParserUtil {
@@ -12,17 +28,138 @@ public final class OpenApiParserUtil {
 	}
 
 	/**
-	 * Parse an OpenAPI 3.0.x JSON string into an OpenAPI model object.
+	 * Parse an OpenAPI 3.0.x JSON string into an OpenAPI model object. YAML is accepted too: text that does not
+	 * start with {@code {} or {@code [} is read as YAML.
 	 * All fields are nullable; no additional validation is done here.
 	 */
 	public static OpenAPI parseJson(String json) {
-		SwaggerParseResult result =
-				new OpenAPIParser().readContents(json, null, null);
+		return parseJson(json, null);
+	}
+
+	/**
+	 * Same as {@link #parseJson(String)}; {@code source} only labels the emitted {@link SpecParseEvent}.
+	 */
+	public static OpenAPI parseJson(String json, String source) {
+		SpecParseEvent event = new SpecParseEvent();
+		event.begin();
+		long start = System.nanoTime();
+
+		JsonNode tree;
+		try {
+			tree = (looksLikeJson(json) ? Json.mapper() : Yaml.mapper()).readTree(json);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("OpenAPI parsing errors: " + ex.getOriginalMessage(), ex);
+		}
+		return parseTree(tree, ParseProfile.AS_WRITTEN, null, event, start, source, json.length());
+	}
+
+	/**
+	 * Parses JSON bytes in any encoding Jackson detects, typically from {@link SpecLoader#read}, straight into the
+	 * tree the swagger deserializer works on, without an intermediate {@link String}. As with
+	 * {@link #parseJson(String)}, bytes that do not start with {@code {} or {@code [} are read as UTF-8 YAML.
+	 */
+	public static OpenAPI parse(ByteBuffer json, String source) throws IOException {
+		return parse(json, source, null, ParseProfile.AS_WRITTEN, null);
+	}
+
+	/**
+	 * Same as {@link #parse(ByteBuffer, String)}, with external {@code $ref}s resolved by {@code refs} before the
+	 * tree is deserialized and the model then processed as {@code profile} requires.
+	 *
+	 * @param refs     null to leave external refs unresolved
+	 * @param warnings receives each parser message instead of the parse failing on them, or null to fail
+	 */
+	public static OpenAPI parse(ByteBuffer json, String source, ExternalRefResolver refs, ParseProfile profile,
+			Consumer<String> warnings) throws IOException {
+		SpecParseEvent event = new SpecParseEvent();
+		event.begin();
+		long start = System.nanoTime();
+
+		int length = json.remaining();
+		JsonNode tree = (looksLikeJson(json) ? Json.mapper() : Yaml.mapper()).readTree(SpecLoader.open(json));
+		if (refs != null && tree instanceof ObjectNode root) {
+			refs.resolve(root);
+		}
+		return parseTree(tree, profile, warnings, event, start, source, length);
+	}
+
+	/**
+	 * A streaming parser over JSON or YAML bytes, told apart as {@link #parse(ByteBuffer, String)} does, e.g. to find
+	 * where a node is in the source.
+	 */
+	public static JsonParser createParser(ByteBuffer json) throws IOException {
+		return (looksLikeJson(json) ? Json.mapper() : Yaml.mapper()).getFactory().createParser(SpecLoader.open(json));
+	}
+
+	/**
+	 * Whether the first character after a byte order mark and whitespace opens a JSON object or array. Empty text
+	 * counts as JSON, which reports it as an empty definition.
+	 */
+	private static boolean looksLikeJson(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c != '\uFEFF' && !Character.isWhitespace(c)) {
+				return c == '{' || c == '[';
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Same as {@link #looksLikeJson(String)} on raw bytes: skipping zero bytes and the bytes of byte order marks
+	 * covers UTF-16 and UTF-32 JSON as well as UTF-8.
+	 */
+	private static boolean looksLikeJson(ByteBuffer bytes) {
+		for (int i = bytes.position(); i < bytes.limit(); i++) {
+			switch (bytes.get(i)) {
+				case 0, ' ', '\t', '\r', '\n', (byte) 0xEF, (byte) 0xBB, (byte) 0xBF, (byte) 0xFE, (byte) 0xFF -> {
+				}
+				case '{', '[' -> {
+					return true;
+				}
+				default -> {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static OpenAPI parseTree(JsonNode tree, ParseProfile profile, Consumer<String> warnings,
+			SpecParseEvent event, long start, String source, long length) {
+		if (tree == null || tree.isMissingNode()) {
+			throw new IllegalArgumentException("OpenAPI parsing errors: Null or empty definition");
+		}
+
+		SwaggerParseResult result;
+		if (tree.has("swagger")) {
+			// Swagger 2.0 goes through the converter, which only reads text; this is rare enough to re-serialize
+			try {
+				result = new OpenAPIParser().readContents(Json.mapper().writeValueAsString(tree), null, null);
+			} catch (JsonProcessingException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		} else {
+			result = new OpenAPIV3Parser().parseJsonNode(null, tree);
+		}
+		if (result.getOpenAPI() != null) {
+			result.setOpenAPI(profile.apply(result.getOpenAPI()));
+		}
+
+		if (event.shouldCommit()) {
+			event.specPath = source;
+			event.length = length;
+			event.elapsedNanos = System.nanoTime() - start;
+			event.commit();
+		}
 
 		List<String> messages = result.getMessages();
 		if (messages != null && !messages.isEmpty()) {
-			throw new IllegalArgumentException(
-					"OpenAPI parsing errors: " + String.join("; ", messages));
+			if (warnings == null) {
+				throw new IllegalArgumentException(
+						"OpenAPI parsing errors: " + String.join("; ", messages));
+			}
+			messages.forEach(warnings);
 		}
 
 		OpenAPI openAPI = result.getOpenAPI();
@@ -31,4 +168,4 @@ public final class OpenApiParserUtil {
 		}
 		return openAPI;
 	}
-}
\ No newline at end of file
+}
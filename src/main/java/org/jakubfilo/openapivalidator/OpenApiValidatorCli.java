@@ -1,83 +1,175 @@
 package org.jakubfilo.openapivalidator;
 
-import java.nio.file.Files;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import org.jakubfilo.openapivalidator.baseline.Baseline;
+import org.jakubfilo.openapivalidator.daemon.DaemonClient;
+import org.jakubfilo.openapivalidator.daemon.ValidationDaemon;
+import org.jakubfilo.openapivalidator.diff.DiffValidator;
+import org.jakubfilo.openapivalidator.diff.DiffValidator.DiffResult;
+import org.jakubfilo.openapivalidator.profiling.DuplicateSchemaReport;
+import org.jakubfilo.openapivalidator.profiling.ProfileReport;
+import org.jakubfilo.openapivalidator.refs.ExternalRefCache;
+import org.jakubfilo.openapivalidator.report.GithubAnnotationWriter;
+import org.jakubfilo.openapivalidator.report.MarkdownSummaryWriter;
+import org.jakubfilo.openapivalidator.report.ReportFormat;
+import org.jakubfilo.openapivalidator.report.ReportWriter;
 import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
-import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.watch.SpecWatcher;
 
 import io.swagger.v3.oas.models.OpenAPI;
 
 public class OpenApiValidatorCli {
 
 	public static void main(String[] args) throws Exception {
-		if (args.length != 1) {
-			System.err.println("Usage: java ... OpenApiValidatorCli <openapi-file>");
+		CliOptions options;
+		try {
+			options = CliOptions.parse(args);
+		} catch (IllegalArgumentException ex) {
+			System.err.println(ex.getMessage());
+			System.err.println(CliOptions.USAGE);
 			System.exit(1);
+			return;
 		}
 
-		String json = Files.readString(Path.of(args[0]));
-		OpenAPI openAPI = OpenApiParserUtil.parseJson(json);
+		List<Rule> rules;
+		try {
+			rules = RuleLoader.load(options.getRules());
+		} catch (IOException | IllegalArgumentException ex) {
+			System.err.println("Failed to read rule configuration " + options.getRules() + ": " + ex.getMessage());
+			System.exit(1);
+			return;
+		}
 
-		OpenApiSpecValidator validator = new OpenApiSpecValidator();
-		List<ValidationError> errors = validator.validate(openAPI);
+		if (options.isServe()) {
+			new ValidationDaemon(options.getSocket(), new BatchValidator(options, rules)).serve();
+			return;
+		}
 
-		if (!errors.isEmpty()) {
-			System.err.println("OpenAPI validation failed:");
-			errors.forEach(e -> {
-				String msg = e.getCode() + " - " + e.getLocation() + " - " + e.getMessage();
-				System.out.println("::error title=OpenAPI validation::" + escapeGithubMessage(msg));
-			});
-			writeGithubSummary(errors, args[0]);
+		List<Path> specs = SpecFiles.expand(options.getInputs());
+		if (specs.isEmpty()) {
+			System.err.println("No OpenAPI files matched " + options.getInputs());
 			System.exit(1);
 		}
 
-		System.out.println("OpenAPI validation passed.");
-	}
+		if (options.getBase() != null && specs.size() != 1) {
+			System.err.println("--base needs exactly one head spec, got " + specs.size());
+			System.exit(1);
+		}
 
-	private static String escapeGithubMessage(String msg) {
-		// Minimal escaping for ::error command
-		// https://docs.github.com/en/actions/using-workflows/workflow-commands-for-github-actions
-		return msg
-				.replace("%", "%25")
-				.replace("\r", "%0D")
-				.replace("\n", "%0A");
-	}
+		Baseline baseline = null;
+		if (options.getBaseline() != null) {
+			try {
+				baseline = options.isUpdateBaseline() ? Baseline.empty() : Baseline.load(options.getBaseline());
+			} catch (IOException ex) {
+				System.err.println("Failed to read baseline " + options.getBaseline() + ": " + ex.getMessage());
+				System.exit(1);
+			}
+		}
 
-	private static void writeGithubSummary(List<ValidationError> errors, String specPath) {
-		String summaryPath = System.getenv("GITHUB_STEP_SUMMARY");
-		if (summaryPath == null || summaryPath.isBlank()) {
-			return; // Not running inside GitHub Actions
+		if (options.isWatch()) {
+			new SpecWatcher(options.getInputs(), new OpenApiSpecValidator(rules), options.isParseWarnings(),
+					baseline, System.out).run();
+			return;
 		}
 
-		StringBuilder md = new StringBuilder();
-		md.append("## OpenAPI validation failed\n\n");
-		md.append("Spec file: `").append(specPath).append("`\n\n");
-		md.append("| Code | Location | Message |\n");
-		md.append("|------|----------|---------|\n");
-
-		for (ValidationError e : errors) {
-			md.append("| ")
-					.append(escapePipe(e.getCode())).append(" | ")
-					.append(escapePipe(e.getLocation())).append(" | ")
-					.append(escapePipe(e.getMessage())).append(" |\n");
+		Optional<List<SpecResult>> forwarded = options.isDaemonEnabled()
+				? DaemonClient.tryValidate(options.getSocket(), specs, EngineMode.of(options, rules),
+						CacheSettings.of(options))
+				: Optional.empty();
+		ErrorReporter reporter = new ErrorReporter(reportWriters(options), options.getMaxErrors(), specs.size() > 1,
+				baseline, options.isUpdateBaseline());
+		ProfileReport profile = null;
+		DuplicateSchemaReport duplicates = null;
+		if (forwarded.isPresent()) {
+			forwarded.get().forEach(reporter::report);
+		} else if (options.getBase() != null) {
+			reporter.report(validateAgainstBase(options.getBase(), specs.getFirst(), rules,
+					options.isParseWarnings()));
+		} else {
+			BatchValidator batch = new BatchValidator(options, rules);
+			batch.validateAll(specs, reporter);
+			if (batch.getCache() != null) {
+				batch.getCache().evict();
+				System.err.println(batch.getCache().summary());
+			}
+			if (batch.getSnapshots() != null) {
+				batch.getSnapshots().evict();
+				System.err.println(batch.getSnapshots().summary());
+			}
+			if (batch.getRefs().isUsed()) {
+				System.err.println(batch.getRefs().summary());
+			}
+			profile = batch.getProfile();
+			duplicates = batch.getDuplicates();
 		}
-		md.append("\n");
-
-		try (var out = java.nio.file.Files.newBufferedWriter(
-				java.nio.file.Path.of(summaryPath),
-				java.nio.file.StandardOpenOption.CREATE,
-				java.nio.file.StandardOpenOption.APPEND
-		)) {
-			out.write(md.toString());
-		} catch (Exception ex) {
-			// Swallow or log to stderr, but don't override exit code
-			System.err.println("Failed to write GitHub summary: " + ex.getMessage());
+		reporter.close(profile);
+		if (duplicates != null) {
+			System.err.print(duplicates.toText());
+		}
+
+		if (options.isUpdateBaseline()) {
+			baseline.write(options.getBaseline());
+			System.err.println("Wrote " + baseline.size() + " baseline entries to " + options.getBaseline());
 		}
+
+		if (reporter.hasFailures()) {
+			System.exit(1);
+		}
+
+		System.out.println(specs.size() == 1
+				? "OpenAPI validation passed."
+				: "OpenAPI validation passed for " + specs.size() + " specs.");
 	}
 
-	private static String escapePipe(String s) {
-		return s.replace("|", "\\|");
+	/**
+	 * GitHub annotations on the console, the markdown summary when running in GitHub Actions and every
+	 * {@code --report}. Exits if a report file cannot be created.
+	 */
+	private static List<ReportWriter> reportWriters(CliOptions options) {
+		List<ReportWriter> writers = new ArrayList<>();
+		writers.add(GithubAnnotationWriter.console(System.out, options.getMaxAnnotations()));
+		String summaryPath = System.getenv("GITHUB_STEP_SUMMARY");
+		if (summaryPath != null && !summaryPath.isBlank()) {
+			writers.add(new MarkdownSummaryWriter(Path.of(summaryPath)));
+		}
+		for (ReportFormat.Target report : options.getReports()) {
+			try {
+				writers.add(report.open(options.getMaxAnnotations()));
+			} catch (IOException ex) {
+				System.err.println("Failed to create report " + report.file() + ": " + ex.getMessage());
+				System.exit(1);
+			}
+		}
+		return writers;
+	}
+
+	/**
+	 * Validates only the parts of {@code head} that differ from {@code base}; the result holds the introduced
+	 * violations only, and the parser warnings of both specs.
+	 */
+	private static SpecResult validateAgainstBase(Path base, Path head, List<Rule> rules, boolean parseWarnings) {
+		try {
+			OpenApiSpecValidator validator = new OpenApiSpecValidator(rules);
+			ExternalRefCache refs = new ExternalRefCache();
+			List<String> warnings = new ArrayList<>();
+			OpenAPI baseApi = SpecLoader.parse(base, refs, validator.getParseProfile(),
+					parseWarnings ? message -> warnings.add(base + ": " + message) : null);
+			OpenAPI headApi = SpecLoader.parse(head, refs, validator.getParseProfile(),
+					parseWarnings ? warnings::add : null);
+			DiffResult diff = new DiffValidator(validator).validate(baseApi, headApi);
+			System.err.println("Diff against " + base + ": " + diff.changedUnits() + " of " + diff.totalUnits()
+					+ " paths and schemas changed, " + diff.introduced().size() + " violations introduced, "
+					+ diff.resolved().size() + " resolved");
+			return SpecResult.validated(head, diff.introduced(), warnings);
+		} catch (Exception ex) {
+			return SpecResult.failed(head, ex.getClass().getSimpleName() + ": " + ex.getMessage());
+		}
 	}
 }
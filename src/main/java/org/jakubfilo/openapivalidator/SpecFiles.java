@@ -0,0 +1,93 @@
+package org.jakubfilo.openapivalidator;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Expands CLI inputs (files, directories, globs, {@code .zip} bundles) into a stable, de-duplicated list of spec
+ * files. Directories and bundles contribute their {@code .json} and gzip-compressed {@code .json.gz} files.
+ */
+public final class SpecFiles {
+
+	private static final String GLOB_CHARS = "*?[{";
+
+	private SpecFiles() {
+	}
+
+	/**
+	 * Files keep their input order; directory and glob matches are sorted by path.
+	 */
+	public static List<Path> expand(List<String> inputs) throws IOException {
+		Set<Path> specs = new LinkedHashSet<>();
+		for (String input : inputs) {
+			if (isGlob(input)) {
+				specs.addAll(glob(input));
+			} else {
+				Path path = Path.of(input);
+				if (Files.isDirectory(path)) {
+					specs.addAll(walk(path, p -> isSpecName(p.getFileName().toString())));
+				} else if (input.endsWith(".zip") && Files.isRegularFile(path)) {
+					specs.addAll(SpecLoader.zipEntries(path.normalize()));
+				} else {
+					// Missing files are kept so that they are reported like any other unreadable spec
+					specs.add(path.normalize());
+				}
+			}
+		}
+		return List.copyOf(specs);
+	}
+
+	/**
+	 * Whether a file name is one that directories, bundles and {@code --watch} pick up as a spec.
+	 */
+	public static boolean isSpecName(String name) {
+		return name.endsWith(".json") || name.endsWith(".json.gz");
+	}
+
+	private static boolean isGlob(String input) {
+		for (int i = 0; i < input.length(); i++) {
+			if (GLOB_CHARS.indexOf(input.charAt(i)) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Walks from the longest glob-free directory prefix and matches the remaining pattern against each file.
+	 */
+	private static List<Path> glob(String pattern) throws IOException {
+		String normalized = pattern.replace('\\', '/');
+		int firstGlobChar = normalized.length();
+		for (char c : GLOB_CHARS.toCharArray()) {
+			int i = normalized.indexOf(c);
+			if (i >= 0) {
+				firstGlobChar = Math.min(firstGlobChar, i);
+			}
+		}
+		int lastSlash = normalized.lastIndexOf('/', firstGlobChar);
+		Path root = lastSlash < 0 ? Path.of("") : Path.of(normalized.substring(0, lastSlash + 1));
+		if (!Files.isDirectory(root.toAbsolutePath())) {
+			return List.of();
+		}
+		PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + normalized);
+		return walk(root, matcher);
+	}
+
+	private static List<Path> walk(Path root, PathMatcher matcher) throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			return files.filter(Files::isRegularFile)
+					.filter(matcher::matches)
+					.map(Path::normalize)
+					.sorted()
+					.toList();
+		}
+	}
+}
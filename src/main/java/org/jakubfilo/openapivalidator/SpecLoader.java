@@ -0,0 +1,135 @@
+package org.jakubfilo.openapivalidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jakubfilo.openapivalidator.refs.ExternalRefCache;
+import org.jakubfilo.openapivalidator.refs.ExternalRefResolver;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Reads spec bytes for the parsers without ever decoding them into a {@link String}: plain files are memory-mapped
+ * and handed to Jackson as a byte stream, which detects the encoding itself.
+ * <p>
+ * Gzip-compressed specs are recognized by their magic number, whatever their name, and inflated into memory.
+ * A spec inside a {@code .zip} bundle is addressed as {@code bundle.zip!/path/in/bundle.json}, which
+ * {@link SpecFiles} produces for every {@code .json} and {@code .json.gz} entry of a bundle given as input; such
+ * paths survive the round trip through the daemon and the baseline like any other path.
+ */
+public final class SpecLoader {
+
+	static final String ZIP_ENTRY_SEPARATOR = "!/";
+	private static final String ZIP_SUFFIX = ".zip!";
+
+	private SpecLoader() {
+	}
+
+	/**
+	 * The spec's uncompressed bytes, positioned at the first byte. The buffer is read-only and may be a mapping of
+	 * the file, so it must not outlive a rewrite of the file.
+	 */
+	public static ByteBuffer read(Path spec) throws IOException {
+		String path = spec.toString().replace('\\', '/');
+		int zipEnd = path.indexOf(ZIP_SUFFIX);
+		ByteBuffer bytes;
+		if (zipEnd >= 0) {
+			bytes = readZipEntry(containingFile(spec), path.substring(zipEnd + ZIP_SUFFIX.length() + 1));
+		} else {
+			try (FileChannel channel = FileChannel.open(spec, StandardOpenOption.READ)) {
+				bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+		}
+		return isGzip(bytes) ? ByteBuffer.wrap(gunzip(bytes)).asReadOnlyBuffer() : bytes;
+	}
+
+	/**
+	 * A stream over {@code bytes} that leaves the buffer's own position untouched.
+	 */
+	public static InputStream open(ByteBuffer bytes) {
+		return new ByteBufferBackedInputStream(bytes.duplicate());
+	}
+
+	/**
+	 * Parses {@code spec}, resolving external {@code $ref}s through a cache of its own.
+	 */
+	public static OpenAPI parse(Path spec) throws IOException {
+		return parse(spec, new ExternalRefCache(), ParseProfile.AS_WRITTEN, null);
+	}
+
+	/**
+	 * @param warnings receives each parser message instead of the parse failing on them, or null to fail
+	 */
+	public static OpenAPI parse(Path spec, ExternalRefCache refs, ParseProfile profile, Consumer<String> warnings)
+			throws IOException {
+		return OpenApiParserUtil.parse(read(spec), spec.toString(), new ExternalRefResolver(refs, spec), profile,
+				warnings);
+	}
+
+	/**
+	 * The file on disk that holds {@code spec}: the bundle for a {@code .zip} entry, otherwise the spec itself.
+	 */
+	public static Path containingFile(Path spec) {
+		String path = spec.toString().replace('\\', '/');
+		int zipEnd = path.indexOf(ZIP_SUFFIX);
+		return zipEnd < 0 ? spec : Path.of(path.substring(0, zipEnd + ZIP_SUFFIX.length() - 1));
+	}
+
+	/**
+	 * The specs in a {@code .zip} bundle, sorted by entry name.
+	 */
+	public static List<Path> zipEntries(Path bundle) throws IOException {
+		List<String> names = new ArrayList<>();
+		try (ZipFile zip = new ZipFile(bundle.toFile())) {
+			for (ZipEntry entry : Collections.list(zip.entries())) {
+				if (!entry.isDirectory() && SpecFiles.isSpecName(entry.getName())) {
+					names.add(entry.getName());
+				}
+			}
+		}
+		Collections.sort(names);
+		List<Path> specs = new ArrayList<>(names.size());
+		for (String name : names) {
+			specs.add(Path.of(bundle + ZIP_ENTRY_SEPARATOR + name));
+		}
+		return specs;
+	}
+
+	private static ByteBuffer readZipEntry(Path bundle, String name) throws IOException {
+		try (ZipFile zip = new ZipFile(bundle.toFile())) {
+			ZipEntry entry = zip.getEntry(name);
+			if (entry == null) {
+				throw new NoSuchFileException(bundle + ZIP_ENTRY_SEPARATOR + name);
+			}
+			try (InputStream in = zip.getInputStream(entry)) {
+				return ByteBuffer.wrap(in.readAllBytes()).asReadOnlyBuffer();
+			}
+		}
+	}
+
+	private static boolean isGzip(ByteBuffer bytes) {
+		int start = bytes.position();
+		return bytes.remaining() >= 2 && (bytes.get(start) & 0xFF) == 0x1F && (bytes.get(start + 1) & 0xFF) == 0x8B;
+	}
+
+	private static byte[] gunzip(ByteBuffer compressed) throws IOException {
+		try (InputStream in = new GZIPInputStream(open(compressed), 1 << 16)) {
+			return in.readAllBytes();
+		}
+	}
+}
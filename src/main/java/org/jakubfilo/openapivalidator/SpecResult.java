@@ -0,0 +1,30 @@
+package org.jakubfilo.openapivalidator;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * Outcome of validating one spec: either rule violations or a failure that prevented validation (e.g. parse errors).
+ *
+ * @param warnings parser messages {@code --parse-warnings} let through; they do not fail the spec
+ */
+public record SpecResult(Path spec, List<ValidationError> errors, String failure, List<String> warnings) {
+
+	public static SpecResult validated(Path spec, List<ValidationError> errors) {
+		return validated(spec, errors, List.of());
+	}
+
+	public static SpecResult validated(Path spec, List<ValidationError> errors, List<String> warnings) {
+		return new SpecResult(spec, List.copyOf(errors), null, List.copyOf(warnings));
+	}
+
+	public static SpecResult failed(Path spec, String failure) {
+		return new SpecResult(spec, List.of(), failure, List.of());
+	}
+
+	public boolean passed() {
+		return failure == null && errors.isEmpty();
+	}
+}
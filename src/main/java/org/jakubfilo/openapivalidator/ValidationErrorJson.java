@@ -0,0 +1,85 @@
+package org.jakubfilo.openapivalidator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * JSON form of validation errors shared by the result cache and the daemon protocol:
+ * {@code [{"code": ..., "location": ..., "message": ..., "kind": ..., "segments": [...]}, ...]}.
+ * <p>
+ * {@code location} is the rendered form; {@code kind} and {@code segments} carry the structured
+ * {@link ErrorLocation} and are absent for literal locations.
+ */
+public final class ValidationErrorJson {
+
+	public static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private ValidationErrorJson() {
+	}
+
+	public static ArrayNode toJson(List<ValidationError> errors) {
+		ArrayNode array = MAPPER.createArrayNode();
+		for (ValidationError e : errors) {
+			ObjectNode node = array.addObject()
+					.put("code", e.getCode())
+					.put("location", e.getLocation())
+					.put("message", e.getMessage());
+			ErrorLocation location = e.getErrorLocation();
+			if (location.kind() != null) {
+				node.put("kind", location.kind().name());
+				ArrayNode segments = node.putArray("segments");
+				location.segments().forEach(segments::add);
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * Writes the fields of one error, as {@link #toJson} does, into the object {@code json} is writing.
+	 */
+	public static void writeFields(JsonGenerator json, ValidationError e) throws IOException {
+		json.writeStringField("code", e.getCode());
+		json.writeStringField("location", e.getLocation());
+		json.writeStringField("message", e.getMessage());
+		ErrorLocation location = e.getErrorLocation();
+		if (location.kind() != null) {
+			json.writeStringField("kind", location.kind().name());
+			json.writeArrayFieldStart("segments");
+			for (String segment : location.segments()) {
+				json.writeString(segment);
+			}
+			json.writeEndArray();
+		}
+	}
+
+	public static List<ValidationError> fromJson(JsonNode array) {
+		List<ValidationError> errors = new ArrayList<>(array.size());
+		for (JsonNode e : array) {
+			errors.add(new ValidationError(e.get("code").asText(), location(e), e.get("message").asText()));
+		}
+		return errors;
+	}
+
+	private static ErrorLocation location(JsonNode error) {
+		JsonNode kind = error.get("kind");
+		if (kind == null) {
+			return ErrorLocation.literal(error.get("location").asText());
+		}
+		List<String> segments = new ArrayList<>();
+		for (JsonNode segment : error.get("segments")) {
+			segments.add(segment.isNull() ? null : segment.asText());
+		}
+		return ErrorLocation.of(NodeKind.valueOf(kind.asText()), segments);
+	}
+}
@@ -0,0 +1,233 @@
+package org.jakubfilo.openapivalidator.baseline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * Accepted violations that are not reported, identified by a 64-bit fingerprint of the spec file, the error code
+ * and the structured location. Messages are not part of the fingerprint, so rewording a rule's message keeps
+ * its baseline. Locations carry whatever tells apart the violations of one code at one node, e.g. the enum value
+ * or the overlapping path, so a baselined violation never hides a new one.
+ * <p>
+ * The file is binary: a magic number, a version, the entry count and the sorted fingerprints as big-endian
+ * longs, i.e. 8 bytes per entry. Fingerprints are held in an open-addressing table of primitive longs, so
+ * lookups are O(1) without boxing, even for baselines of hundreds of thousands of entries.
+ * <p>
+ * Not thread-safe; {@link org.jakubfilo.openapivalidator.ErrorReporter} only uses it under its own lock.
+ */
+public final class Baseline {
+
+	private static final int MAGIC = 0x4F415642; // "OAVB"
+	private static final int VERSION = 1;
+
+	/**
+	 * Marks a free slot; a fingerprint that happens to be 0 is stored as {@link #ZERO_REPLACEMENT}.
+	 */
+	private static final long EMPTY = 0L;
+	private static final long ZERO_REPLACEMENT = 0x9E3779B97F4A7C15L;
+
+	private long[] table;
+	private int size;
+
+	private Baseline(int expected) {
+		table = new long[tableCapacity(expected)];
+	}
+
+	public static Baseline empty() {
+		return new Baseline(16);
+	}
+
+	public static Baseline load(Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException(file + " is not a baseline file");
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IOException(file + " has unsupported baseline version " + version);
+			}
+			int count = in.readInt();
+			if (count < 0 || count > Files.size(file) / Long.BYTES) {
+				throw new IOException(file + " is truncated or corrupt");
+			}
+			Baseline baseline = new Baseline(count);
+			for (int i = 0; i < count; i++) {
+				baseline.add(in.readLong());
+			}
+			return baseline;
+		}
+	}
+
+	/**
+	 * Writes the fingerprints sorted, so regenerating an unchanged baseline produces an identical file. The file
+	 * is replaced atomically where the file system allows it.
+	 */
+	public void write(Path file) throws IOException {
+		long[] sorted = new long[size];
+		int n = 0;
+		for (long slot : table) {
+			if (slot != EMPTY) {
+				sorted[n++] = slot;
+			}
+		}
+		Arrays.sort(sorted);
+
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(sorted.length);
+				for (long fingerprint : sorted) {
+					out.writeLong(fingerprint);
+				}
+			}
+			try {
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean contains(long fingerprint) {
+		long key = fingerprint == EMPTY ? ZERO_REPLACEMENT : fingerprint;
+		int mask = table.length - 1;
+		for (int i = (int) key & mask; ; i = (i + 1) & mask) {
+			long slot = table[i];
+			if (slot == key) {
+				return true;
+			}
+			if (slot == EMPTY) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * @return false if the fingerprint was already present
+	 */
+	public boolean add(long fingerprint) {
+		long key = fingerprint == EMPTY ? ZERO_REPLACEMENT : fingerprint;
+		int mask = table.length - 1;
+		int i = (int) key & mask;
+		for (long slot = table[i]; slot != EMPTY; slot = table[i]) {
+			if (slot == key) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		table[i] = key;
+		if (++size > table.length / 2) {
+			rehash();
+		}
+		return true;
+	}
+
+	/**
+	 * Stable across runs and JVMs. The spec is identified by its path as given on the command line, relative to
+	 * the working directory when it lies below it, with {@code /} separators.
+	 */
+	public static long fingerprint(Path spec, ValidationError error) {
+		Fingerprint hash = new Fingerprint()
+				.add(specKey(spec))
+				.add(error.getCode());
+		ErrorLocation location = error.getErrorLocation();
+		hash.add(location.kind() == null ? null : location.kind().name());
+		for (String segment : location.segments()) {
+			hash.add(segment);
+		}
+		return hash.value();
+	}
+
+	static String specKey(Path spec) {
+		Path normalized = spec.normalize();
+		if (normalized.isAbsolute()) {
+			Path cwd = Path.of("").toAbsolutePath();
+			if (normalized.startsWith(cwd)) {
+				normalized = cwd.relativize(normalized);
+			}
+		}
+		return normalized.toString().replace('\\', '/');
+	}
+
+	private void rehash() {
+		long[] old = table;
+		table = new long[old.length * 2];
+		size = 0;
+		for (long slot : old) {
+			if (slot != EMPTY) {
+				add(slot);
+			}
+		}
+	}
+
+	/**
+	 * Power of two with a load factor of at most one half.
+	 */
+	private static int tableCapacity(int expected) {
+		int capacity = 16;
+		while (capacity / 2 < expected) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	/**
+	 * 64-bit FNV-1a over the fields' chars, with a separator after each field so that field boundaries are part of
+	 * the hash, finished with the MurmurHash3 mixer so that the low bits used for table slots are well spread.
+	 */
+	private static final class Fingerprint {
+
+		private static final long OFFSET = 0xCBF29CE484222325L;
+		private static final long PRIME = 0x100000001B3L;
+
+		private long hash = OFFSET;
+
+		Fingerprint add(String field) {
+			if (field == null) {
+				mix(0xFFFE);
+			} else {
+				for (int i = 0; i < field.length(); i++) {
+					mix(field.charAt(i));
+				}
+			}
+			mix(0xFFFF);
+			return this;
+		}
+
+		long value() {
+			long h = hash;
+			h ^= h >>> 33;
+			h *= 0xFF51AFD7ED558CCDL;
+			h ^= h >>> 33;
+			h *= 0xC4CEB9FE1A85EC53L;
+			h ^= h >>> 33;
+			return h;
+		}
+
+		private void mix(int c) {
+			hash = (hash ^ (c & 0xFF)) * PRIME;
+			hash = (hash ^ (c >>> 8)) * PRIME;
+		}
+	}
+}
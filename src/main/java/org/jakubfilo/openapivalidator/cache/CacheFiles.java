@@ -0,0 +1,147 @@
+package org.jakubfilo.openapivalidator.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.jakubfilo.openapivalidator.SpecLoader;
+
+/**
+ * File handling shared by the on-disk stores: atomic writes, LRU eviction by modification time and the checks
+ * that invalidate entries.
+ */
+final class CacheFiles {
+
+	private CacheFiles() {
+	}
+
+	/**
+	 * Writes {@code content} to a temp file in {@code directory} and renames it to {@code target}, so concurrent
+	 * readers never see a partial entry.
+	 */
+	static void writeAtomically(Path directory, Path target, byte[] content) throws IOException {
+		Files.createDirectories(directory);
+		Path tmp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+		try {
+			Files.write(tmp, content);
+			try {
+				Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * Marks an entry as recently used.
+	 */
+	static void touch(Path entry) {
+		try {
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException ignored) {
+			// LRU order is best effort
+		}
+	}
+
+	/**
+	 * Deletes the least recently used files ending in {@code suffix} until those left fit into {@code maxBytes}.
+	 *
+	 * @param what names the entries in the error message
+	 */
+	static void evict(Path directory, String suffix, long maxBytes, String what) {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		record Entry(Path path, long size, FileTime lastUsed) {
+		}
+		List<Entry> entries = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				if (file.getFileName().toString().endsWith(suffix)) {
+					try {
+						entries.add(new Entry(file, Files.size(file), Files.getLastModifiedTime(file)));
+					} catch (IOException ignored) {
+						// removed by a concurrent run
+					}
+				}
+			}
+		} catch (IOException ex) {
+			System.err.println("Failed to evict " + what + ": " + ex.getMessage());
+			return;
+		}
+
+		long total = entries.stream().mapToLong(Entry::size).sum();
+		entries.sort(Comparator.comparing(Entry::lastUsed));
+		for (Entry entry : entries) {
+			if (total <= maxBytes) {
+				break;
+			}
+			try {
+				Files.deleteIfExists(entry.path());
+			} catch (IOException ignored) {
+				// best effort
+			}
+			total -= entry.size();
+		}
+	}
+
+	/**
+	 * False if the file holding {@code dependency} is gone or was modified since {@code modifiedMillis}.
+	 */
+	static boolean unchanged(Path dependency, long modifiedMillis) {
+		try {
+			return Files.getLastModifiedTime(SpecLoader.containingFile(dependency)).toMillis() == modifiedMillis;
+		} catch (IOException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the bytes of {@code type}'s class file and the size/mtime of the jar it was loaded from, so a rebuild
+	 * changes the digest even without a version bump.
+	 */
+	static void updateWithCode(MessageDigest sha, Class<?> type) {
+		try (InputStream classFile = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+			if (classFile != null) {
+				sha.update(classFile.readAllBytes());
+			}
+		} catch (IOException ignored) {
+			// class name alone still identifies the code
+		}
+		CodeSource source = type.getProtectionDomain().getCodeSource();
+		if (source != null) {
+			try {
+				Path location = Path.of(source.getLocation().toURI());
+				if (Files.isRegularFile(location)) {
+					sha.update((Files.size(location) + "@" + Files.getLastModifiedTime(location).toMillis())
+							.getBytes(StandardCharsets.UTF_8));
+				}
+			} catch (IOException | URISyntaxException | IllegalArgumentException ignored) {
+				// not a local file
+			}
+		}
+	}
+
+	static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+}
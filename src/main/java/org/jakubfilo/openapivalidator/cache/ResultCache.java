@@ -0,0 +1,159 @@
+package org.jakubfilo.openapivalidator.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jakubfilo.openapivalidator.EngineMode;
+import org.jakubfilo.openapivalidator.ValidationErrorJson;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.config.ConfiguredRule;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * On-disk, content-addressed cache of validation results.
+ * <p>
+ * Entries are keyed by SHA-256 of the rule-set fingerprint, the engine and parse-warnings settings and the raw
+ * spec bytes, so any change to one of them is a miss. Writes go to a temp file in the cache directory and are
+ * atomically renamed into place, which makes concurrent runs sharing one directory safe: the last writer wins with
+ * identical content.
+ * Each entry also records the modification times of the files the spec references through external
+ * {@code $ref}s; an entry whose dependencies changed since is a miss.
+ * Reads refresh the entry's modification time; {@link #evict()} drops least recently used entries
+ * until the directory fits into {@code maxBytes}.
+ */
+public class ResultCache {
+
+	private static final String ENTRY_SUFFIX = ".json";
+	private static final ObjectMapper MAPPER = ValidationErrorJson.MAPPER;
+
+	private final Path directory;
+	private final long maxBytes;
+	private final byte[] ruleSetFingerprint;
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+
+	/**
+	 * @param rules the rules that run in {@code mode}
+	 */
+	public ResultCache(Path directory, long maxBytes, List<Rule> rules, EngineMode mode) {
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		this.ruleSetFingerprint = fingerprint(rules, mode);
+	}
+
+	/**
+	 * {@code $XDG_CACHE_HOME/openapi-validator}, falling back to {@code ~/.cache/openapi-validator}.
+	 */
+	public static Path defaultDirectory() {
+		String xdg = System.getenv("XDG_CACHE_HOME");
+		Path base = (xdg == null || xdg.isBlank())
+				? Path.of(System.getProperty("user.home"), ".cache")
+				: Path.of(xdg);
+		return base.resolve("openapi-validator");
+	}
+
+	public String key(ByteBuffer specBytes) {
+		MessageDigest sha = CacheFiles.sha256();
+		sha.update(ruleSetFingerprint);
+		sha.update(specBytes.duplicate());
+		return HexFormat.of().formatHex(sha.digest());
+	}
+
+	public Optional<List<ValidationError>> get(String key) {
+		Path entry = directory.resolve(key + ENTRY_SUFFIX);
+		try {
+			JsonNode node = MAPPER.readTree(entry.toFile());
+			if (!dependenciesUnchanged(node.get("dependencies"))) {
+				misses.incrementAndGet();
+				return Optional.empty();
+			}
+			List<ValidationError> errors = ValidationErrorJson.fromJson(node.get("errors"));
+			CacheFiles.touch(entry);
+			hits.incrementAndGet();
+			return Optional.of(errors);
+		} catch (IOException | RuntimeException ex) {
+			// Missing, evicted concurrently or unreadable: treat as a miss
+			misses.incrementAndGet();
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @param dependencies external files the result depends on, with the modification time they were read at
+	 */
+	public void put(String key, List<ValidationError> errors, Map<Path, FileTime> dependencies) {
+		ObjectNode node = MAPPER.createObjectNode();
+		ObjectNode dependencyTimes = node.putObject("dependencies");
+		dependencies.forEach((path, modified) -> dependencyTimes.put(path.toString(), modified.toMillis()));
+		node.set("errors", ValidationErrorJson.toJson(errors));
+		try {
+			CacheFiles.writeAtomically(directory, directory.resolve(key + ENTRY_SUFFIX),
+					MAPPER.writeValueAsBytes(node));
+		} catch (IOException ex) {
+			// A cache that cannot be written must never fail validation
+			System.err.println("Failed to write result cache entry: " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Deletes least recently used entries until the cache fits into its size bound.
+	 */
+	public void evict() {
+		CacheFiles.evict(directory, ENTRY_SUFFIX, maxBytes, "result cache entries");
+	}
+
+	public String summary() {
+		return "Result cache: " + hits.get() + " hit(s), " + misses.get() + " miss(es) in " + directory;
+	}
+
+	/**
+	 * False for entries from before dependencies were recorded, and if any dependency is gone or was modified.
+	 */
+	private static boolean dependenciesUnchanged(JsonNode dependencies) {
+		if (dependencies == null || !dependencies.isObject()) {
+			return false;
+		}
+		for (Iterator<Map.Entry<String, JsonNode>> it = dependencies.fields(); it.hasNext(); ) {
+			Map.Entry<String, JsonNode> dependency = it.next();
+			if (!CacheFiles.unchanged(Path.of(dependency.getKey()), dependency.getValue().asLong())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Identifies the rule set: rule ids and classes plus the bytes of each rule's class file and the
+	 * size/mtime of the jar it was loaded from, so a rebuilt rule invalidates old entries even without a version bump.
+	 * Rules from a {@code --rules} file add their JSON definition. The streaming and the model engine see different
+	 * parts of a spec, and parse warnings turn a failure into a result, so both settings are part of it too.
+	 */
+	private static byte[] fingerprint(List<Rule> rules, EngineMode mode) {
+		MessageDigest sha = CacheFiles.sha256();
+		sha.update(("streaming=" + mode.streaming() + "|parseWarnings=" + mode.parseWarnings() + "\n")
+				.getBytes(StandardCharsets.UTF_8));
+		for (Rule rule : rules) {
+			Class<?> type = rule.getClass();
+			sha.update((rule.id() + "|" + type.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+			if (rule instanceof ConfiguredRule configured) {
+				sha.update(configured.definition().getBytes(StandardCharsets.UTF_8));
+			}
+			CacheFiles.updateWithCode(sha, type);
+		}
+		return sha.digest();
+	}
+}
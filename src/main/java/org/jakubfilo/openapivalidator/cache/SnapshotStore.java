@@ -0,0 +1,147 @@
+package org.jakubfilo.openapivalidator.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jakubfilo.openapivalidator.snapshot.SpecSnapshot;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+
+/**
+ * On-disk store of {@link SpecSnapshot}s, so that a spec whose results cannot be reused, e.g. because the rules
+ * changed, still skips parsing when the spec itself did not change.
+ * <p>
+ * Entries are keyed by SHA-256 of the snapshot format, the parse profile, the parser and validator code and the raw
+ * spec bytes. Like {@link ResultCache} entries they record the external files the spec references, are written
+ * atomically and evicted least recently used first; they are read through a memory mapping.
+ * <p>
+ * Entry layout: magic, {@link SpecSnapshot#VERSION}, the dependency count, each dependency's path and
+ * modification time, then the snapshot.
+ */
+public class SnapshotStore {
+
+	private static final String ENTRY_SUFFIX = ".snap";
+	private static final int MAGIC = 0x4F415653;
+
+	private final Path directory;
+	private final long maxBytes;
+	private final byte[] codeFingerprint;
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+
+	/**
+	 * A loaded snapshot and the external files its spec references.
+	 */
+	public record Entry(OpenAPI openAPI, Map<Path, FileTime> dependencies) {
+	}
+
+	public SnapshotStore(Path directory, long maxBytes) {
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		MessageDigest sha = CacheFiles.sha256();
+		CacheFiles.updateWithCode(sha, OpenAPIV3Parser.class);
+		CacheFiles.updateWithCode(sha, SpecSnapshot.class);
+		this.codeFingerprint = sha.digest();
+	}
+
+	public String key(ByteBuffer specBytes, ParseProfile profile) {
+		MessageDigest sha = CacheFiles.sha256();
+		sha.update((SpecSnapshot.VERSION + "|" + profile + "\n").getBytes(StandardCharsets.UTF_8));
+		sha.update(codeFingerprint);
+		sha.update(specBytes.duplicate());
+		return HexFormat.of().formatHex(sha.digest());
+	}
+
+	public Optional<Entry> get(String key) {
+		Path file = directory.resolve(key + ENTRY_SUFFIX);
+		try {
+			ByteBuffer bytes;
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			if (bytes.getInt() != MAGIC || bytes.getInt() != SpecSnapshot.VERSION) {
+				misses.incrementAndGet();
+				return Optional.empty();
+			}
+			int count = bytes.getInt();
+			Map<Path, FileTime> dependencies = new LinkedHashMap<>();
+			for (int i = 0; i < count; i++) {
+				byte[] path = new byte[bytes.getShort() & 0xFFFF];
+				bytes.get(path);
+				Path dependency = Path.of(new String(path, StandardCharsets.UTF_8));
+				long modified = bytes.getLong();
+				if (!CacheFiles.unchanged(dependency, modified)) {
+					misses.incrementAndGet();
+					return Optional.empty();
+				}
+				dependencies.put(dependency, FileTime.fromMillis(modified));
+			}
+			OpenAPI openAPI = SpecSnapshot.read(bytes);
+			CacheFiles.touch(file);
+			hits.incrementAndGet();
+			return Optional.of(new Entry(openAPI, dependencies));
+		} catch (IOException | RuntimeException ex) {
+			// Missing, evicted concurrently, truncated or from another format: treat as a miss
+			misses.incrementAndGet();
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Snapshots {@code openAPI}; a model the format cannot represent is skipped.
+	 *
+	 * @param dependencies external files the model was resolved from, with the modification time they were read at
+	 */
+	public void put(String key, OpenAPI openAPI, Map<Path, FileTime> dependencies) {
+		byte[] snapshot;
+		try {
+			snapshot = SpecSnapshot.write(openAPI);
+		} catch (IllegalArgumentException ex) {
+			return;
+		}
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshot.length + 64);
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(MAGIC);
+			out.writeInt(SpecSnapshot.VERSION);
+			out.writeInt(dependencies.size());
+			for (Map.Entry<Path, FileTime> dependency : dependencies.entrySet()) {
+				byte[] path = dependency.getKey().toString().getBytes(StandardCharsets.UTF_8);
+				out.writeShort(path.length);
+				out.write(path);
+				out.writeLong(dependency.getValue().toMillis());
+			}
+			out.write(snapshot);
+			CacheFiles.writeAtomically(directory, directory.resolve(key + ENTRY_SUFFIX), bytes.toByteArray());
+		} catch (IOException ex) {
+			// A store that cannot be written must never fail validation
+			System.err.println("Failed to write spec snapshot: " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Deletes least recently used snapshots until the store fits into its size bound.
+	 */
+	public void evict() {
+		CacheFiles.evict(directory, ENTRY_SUFFIX, maxBytes, "spec snapshots");
+	}
+
+	public String summary() {
+		return "Spec snapshots: " + hits.get() + " hit(s), " + misses.get() + " miss(es) in " + directory;
+	}
+}
@@ -0,0 +1,57 @@
+package org.jakubfilo.openapivalidator.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.jakubfilo.openapivalidator.CacheSettings;
+import org.jakubfilo.openapivalidator.EngineMode;
+import org.jakubfilo.openapivalidator.SpecResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Thin client that forwards a batch to a running {@link ValidationDaemon}.
+ */
+public final class DaemonClient {
+
+	private DaemonClient() {
+	}
+
+	/**
+	 * Returns empty if no daemon is listening on {@code socketPath}, the daemon runs in a different {@code mode}
+	 * or with different {@code cache} settings, or the exchange fails, in which case the caller validates in-process.
+	 */
+	public static Optional<List<SpecResult>> tryValidate(Path socketPath, List<Path> specs, EngineMode mode,
+			CacheSettings cache) {
+		if (!Files.exists(socketPath)) {
+			return Optional.empty();
+		}
+		try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+			channel.connect(UnixDomainSocketAddress.of(socketPath));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+
+			DaemonProtocol.writeFrame(out, DaemonProtocol.request(specs, mode, cache));
+			JsonNode response = DaemonProtocol.readFrame(in);
+			if (response == null) {
+				throw new IOException("Daemon closed the connection");
+			}
+			return Optional.of(DaemonProtocol.results(response, specs));
+		} catch (IOException ex) {
+			System.err.println("Validator daemon at " + socketPath + " unavailable (" + ex.getMessage()
+					+ "), validating in-process");
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package org.jakubfilo.openapivalidator.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.CacheSettings;
+import org.jakubfilo.openapivalidator.EngineMode;
+import org.jakubfilo.openapivalidator.SpecResult;
+import org.jakubfilo.openapivalidator.ValidationErrorJson;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Wire format between {@link DaemonClient} and {@link ValidationDaemon}: every message is a 4-byte big-endian
+ * length followed by that many bytes of UTF-8 JSON.
+ * <pre>
+ * request:  {"specs": ["/abs/path/a.json", ...],
+ *            "mode": {"streaming": false, "parseWarnings": false, "parallelRules": false, "parseProfile": "AS_WRITTEN"},
+ *            "cache": {"dir": "/abs/cache/dir", "maxBytes": 268435456}}   ("cache": {} for --no-cache)
+ * response: {"results": [{"spec": "...", "failure": null, "errors": [see ValidationErrorJson], "warnings": ["..."]},
+ *            ...]}
+ *        or {"error": "..."} when the daemon cannot serve the request, e.g. because its mode or cache differs
+ * </pre>
+ * Results are returned in request order.
+ */
+final class DaemonProtocol {
+
+	/**
+	 * Guards against reading garbage from a foreign socket as a huge allocation.
+	 */
+	private static final int MAX_FRAME_BYTES = 256 * 1024 * 1024;
+
+	private DaemonProtocol() {
+	}
+
+	static void writeFrame(DataOutputStream out, JsonNode message) throws IOException {
+		byte[] payload = ValidationErrorJson.MAPPER.writeValueAsBytes(message);
+		out.writeInt(payload.length);
+		out.write(payload);
+		out.flush();
+	}
+
+	/**
+	 * Returns null when the peer closed the connection cleanly between frames.
+	 */
+	static JsonNode readFrame(DataInputStream in) throws IOException {
+		int length;
+		try {
+			length = in.readInt();
+		} catch (EOFException ex) {
+			return null;
+		}
+		if (length < 0 || length > MAX_FRAME_BYTES) {
+			throw new IOException("Invalid frame length " + length);
+		}
+		return ValidationErrorJson.MAPPER.readTree(in.readNBytes(length));
+	}
+
+	static ObjectNode request(List<Path> specs, EngineMode mode, CacheSettings cache) {
+		ObjectNode request = ValidationErrorJson.MAPPER.createObjectNode();
+		ArrayNode array = request.putArray("specs");
+		specs.forEach(spec -> array.add(spec.toAbsolutePath().normalize().toString()));
+		request.putObject("mode")
+				.put("streaming", mode.streaming())
+				.put("parseWarnings", mode.parseWarnings())
+				.put("parallelRules", mode.parallelRules())
+				.put("parseProfile", mode.parseProfile().name());
+		ObjectNode settings = request.putObject("cache");
+		if (cache.directory() != null) {
+			settings.put("dir", cache.directory().toString()).put("maxBytes", cache.maxBytes());
+		}
+		return request;
+	}
+
+	/**
+	 * Returns null when the request carries no mode or an unknown parse profile, which no daemon serves.
+	 */
+	static EngineMode mode(JsonNode request) {
+		JsonNode mode = request.path("mode");
+		if (!mode.isObject()) {
+			return null;
+		}
+		ParseProfile profile;
+		try {
+			profile = ParseProfile.valueOf(mode.path("parseProfile").asText());
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+		return new EngineMode(mode.path("streaming").asBoolean(), mode.path("parseWarnings").asBoolean(),
+				mode.path("parallelRules").asBoolean(), profile);
+	}
+
+	/**
+	 * Returns null when the request carries no cache settings, which no daemon serves.
+	 */
+	static CacheSettings cache(JsonNode request) {
+		JsonNode cache = request.path("cache");
+		if (!cache.isObject()) {
+			return null;
+		}
+		return cache.hasNonNull("dir")
+				? new CacheSettings(Path.of(cache.get("dir").asText()), cache.path("maxBytes").asLong())
+				: CacheSettings.DISABLED;
+	}
+
+	static List<Path> specs(JsonNode request) {
+		List<Path> specs = new ArrayList<>();
+		request.path("specs").forEach(spec -> specs.add(Path.of(spec.asText())));
+		return specs;
+	}
+
+	static ObjectNode response(List<SpecResult> results) {
+		ObjectNode response = ValidationErrorJson.MAPPER.createObjectNode();
+		ArrayNode array = response.putArray("results");
+		for (SpecResult result : results) {
+			ObjectNode node = array.addObject();
+			node.put("spec", result.spec().toString());
+			node.put("failure", result.failure());
+			node.set("errors", ValidationErrorJson.toJson(result.errors()));
+			result.warnings().forEach(node.putArray("warnings")::add);
+		}
+		return response;
+	}
+
+	static ObjectNode error(String message) {
+		return ValidationErrorJson.MAPPER.createObjectNode().put("error", message);
+	}
+
+	/**
+	 * Maps results back onto the caller's own (possibly relative) paths, which are in the same order.
+	 *
+	 * @throws IOException if the daemon answered with an error or with results for a different number of specs
+	 */
+	static List<SpecResult> results(JsonNode response, List<Path> specs) throws IOException {
+		if (response.hasNonNull("error")) {
+			throw new IOException(response.get("error").asText());
+		}
+		JsonNode array = response.path("results");
+		if (array.size() != specs.size()) {
+			throw new IOException("Daemon returned " + array.size() + " results for " + specs.size() + " specs");
+		}
+		List<SpecResult> results = new ArrayList<>(specs.size());
+		for (int i = 0; i < specs.size(); i++) {
+			JsonNode node = array.get(i);
+			List<String> warnings = new ArrayList<>();
+			node.path("warnings").forEach(warning -> warnings.add(warning.asText()));
+			results.add(node.hasNonNull("failure")
+					? SpecResult.failed(specs.get(i), node.get("failure").asText())
+					: SpecResult.validated(specs.get(i), ValidationErrorJson.fromJson(node.path("errors")),
+							warnings));
+		}
+		return results;
+	}
+}
@@ -0,0 +1,108 @@
+package org.jakubfilo.openapivalidator.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jakubfilo.openapivalidator.BatchValidator;
+import org.jakubfilo.openapivalidator.CacheSettings;
+import org.jakubfilo.openapivalidator.EngineMode;
+import org.jakubfilo.openapivalidator.SpecResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Resident validator behind a Unix domain socket. The rule set, the swagger parser classes and the JIT stay warm
+ * between requests; each connection is served on its own virtual thread and may send any number of requests.
+ * <p>
+ * The daemon validates with the {@link EngineMode} and {@link CacheSettings} it was started with and rejects
+ * requests for any other mode or cache, which the client then validates in-process.
+ */
+public class ValidationDaemon {
+
+	private final Path socketPath;
+	private final BatchValidator batch;
+
+	public ValidationDaemon(Path socketPath, BatchValidator batch) {
+		this.socketPath = socketPath;
+		this.batch = batch;
+	}
+
+	/**
+	 * Default socket location, next to the result cache.
+	 */
+	public static Path defaultSocket(Path cacheDir) {
+		return cacheDir.resolve("daemon.sock");
+	}
+
+	public void serve() throws IOException {
+		Files.createDirectories(socketPath.toAbsolutePath().getParent());
+		// A socket file left behind by a killed daemon would make bind() fail
+		Files.deleteIfExists(socketPath);
+
+		try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+				ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor()) {
+			server.bind(UnixDomainSocketAddress.of(socketPath));
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					Files.deleteIfExists(socketPath);
+				} catch (IOException ignored) {
+					// nothing left to do on shutdown
+				}
+			}));
+			System.err.println("OpenAPI validator daemon listening on " + socketPath);
+
+			while (server.isOpen()) {
+				SocketChannel client = server.accept();
+				connections.submit(() -> handle(client));
+			}
+		}
+	}
+
+	private void handle(SocketChannel client) {
+		try (client;
+				DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client)));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)))) {
+			JsonNode request;
+			while ((request = DaemonProtocol.readFrame(in)) != null) {
+				EngineMode mode = DaemonProtocol.mode(request);
+				if (!batch.getMode().equals(mode)) {
+					DaemonProtocol.writeFrame(out, DaemonProtocol.error("daemon runs with '" + batch.getMode()
+							+ "', the request needs '" + (mode != null ? mode : "an unknown mode") + "'"));
+					continue;
+				}
+				CacheSettings cache = DaemonProtocol.cache(request);
+				if (!batch.getCacheSettings().equals(cache)) {
+					DaemonProtocol.writeFrame(out, DaemonProtocol.error("daemon runs with '" + batch.getCacheSettings()
+							+ "', the request needs '" + (cache != null ? cache : "unknown cache settings") + "'"));
+					continue;
+				}
+				List<SpecResult> results = batch.validateAll(DaemonProtocol.specs(request));
+				if (batch.getCache() != null) {
+					batch.getCache().evict();
+				}
+				if (batch.getSnapshots() != null) {
+					batch.getSnapshots().evict();
+				}
+				batch.getRefs().clear();
+				DaemonProtocol.writeFrame(out, DaemonProtocol.response(results));
+			}
+		} catch (IOException ex) {
+			System.err.println("Daemon connection failed: " + ex.getMessage());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package org.jakubfilo.openapivalidator.diff;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.PathTrie;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Validates only what changed between a base and a head spec.
+ * <p>
+ * Rules run on the changed units of head and on the base versions of those units; unchanged units are identical
+ * in both specs, so their findings are neither new nor resolved and they are not validated at all. Cost is
+ * therefore proportional to the change, plus one hashing pass over both specs and a trie of their path templates.
+ * <p>
+ * Rules see an index of the changed units only, so a rule that looks across units via
+ * {@link org.jakubfilo.openapivalidator.validation.RuleContext#index()} may miss context in this mode. The one
+ * exception is {@link SpecIndex#paths()}: it holds every template of the whole spec,
+ * {@link PathTrie#focusedOn(java.util.Set) focused} on the changed ones, so a changed path that starts or stops
+ * overlapping an unchanged one is still seen.
+ */
+public class DiffValidator {
+
+	private final OpenApiSpecValidator validator;
+
+	public DiffValidator(OpenApiSpecValidator validator) {
+		this.validator = validator;
+	}
+
+	public DiffResult validate(OpenAPI base, OpenAPI head) {
+		SpecDiff diff = SpecDiff.compute(base, head);
+		List<ValidationError> headErrors = validator.validate(index(diff.getChangedHead(), head));
+		List<ValidationError> baseErrors = validator.validate(index(diff.getChangedBase(), base));
+
+		return new DiffResult(
+				subtract(headErrors, baseErrors),
+				subtract(baseErrors, headErrors),
+				diff.getChangedUnits(),
+				diff.getTotalUnits());
+	}
+
+	private SpecIndex index(OpenAPI changed, OpenAPI whole) {
+		return SpecIndex.of(changed, PathTrie.of(whole).focusedOn(changed.getPaths().keySet()),
+				validator.hasStructuralRules());
+	}
+
+	/**
+	 * Multiset difference, keeping the order of {@code from}.
+	 */
+	public static List<ValidationError> subtract(List<ValidationError> from, List<ValidationError> remove) {
+		Map<ValidationError, Integer> remaining = new HashMap<>();
+		for (ValidationError e : remove) {
+			remaining.merge(e, 1, Integer::sum);
+		}
+		List<ValidationError> result = new ArrayList<>();
+		for (ValidationError e : from) {
+			Integer count = remaining.get(e);
+			if (count == null || count == 0) {
+				result.add(e);
+			} else {
+				remaining.put(e, count - 1);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param introduced violations in head that the base did not have
+	 * @param resolved   violations in base that head no longer has
+	 */
+	public record DiffResult(List<ValidationError> introduced, List<ValidationError> resolved, int changedUnits, int totalUnits) {
+	}
+}
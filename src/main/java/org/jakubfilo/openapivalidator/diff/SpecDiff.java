@@ -0,0 +1,109 @@
+package org.jakubfilo.openapivalidator.diff;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import lombok.Getter;
+
+/**
+ * Structural diff of two specs at the granularity rules work on: path items (with their operations, parameters
+ * and inline schemas) and component schemas (with everything nested in them). Each unit is hashed from its
+ * canonical JSON form; a unit is changed if its hash differs from the base or it does not exist there.
+ */
+@Getter
+public class SpecDiff {
+
+	private static final ObjectMapper CANONICAL = Json.mapper();
+
+	private final OpenAPI changedHead;
+	private final OpenAPI changedBase;
+	private final int changedUnits;
+	private final int totalUnits;
+
+	private SpecDiff(OpenAPI changedHead, OpenAPI changedBase, int changedUnits, int totalUnits) {
+		this.changedHead = changedHead;
+		this.changedBase = changedBase;
+		this.changedUnits = changedUnits;
+		this.totalUnits = totalUnits;
+	}
+
+	/**
+	 * Returns the changed units of {@code head} and the base versions of those same units, each as a partial spec.
+	 */
+	public static SpecDiff compute(OpenAPI base, OpenAPI head) {
+		Map<String, PathItem> headPaths = paths(head);
+		Map<String, PathItem> basePaths = paths(base);
+		Map<String, Schema> headSchemas = schemas(head);
+		Map<String, Schema> baseSchemas = schemas(base);
+
+		Paths changedHeadPaths = new Paths();
+		Paths changedBasePaths = new Paths();
+		headPaths.forEach((path, item) -> {
+			PathItem baseItem = basePaths.get(path);
+			if (baseItem == null || !sameHash(baseItem, item)) {
+				changedHeadPaths.addPathItem(path, item);
+				if (baseItem != null) {
+					changedBasePaths.addPathItem(path, baseItem);
+				}
+			}
+		});
+
+		Map<String, Schema> changedHeadSchemas = new LinkedHashMap<>();
+		Map<String, Schema> changedBaseSchemas = new LinkedHashMap<>();
+		headSchemas.forEach((name, schema) -> {
+			Schema baseSchema = baseSchemas.get(name);
+			if (baseSchema == null || !sameHash(baseSchema, schema)) {
+				changedHeadSchemas.put(name, schema);
+				if (baseSchema != null) {
+					changedBaseSchemas.put(name, baseSchema);
+				}
+			}
+		});
+
+		return new SpecDiff(
+				partial(changedHeadPaths, changedHeadSchemas),
+				partial(changedBasePaths, changedBaseSchemas),
+				changedHeadPaths.size() + changedHeadSchemas.size(),
+				headPaths.size() + headSchemas.size());
+	}
+
+	private static OpenAPI partial(Paths paths, Map<String, Schema> schemas) {
+		return new OpenAPI().paths(paths).components(new Components().schemas(schemas));
+	}
+
+	private static Map<String, PathItem> paths(OpenAPI openAPI) {
+		return openAPI.getPaths() == null ? Map.of() : openAPI.getPaths();
+	}
+
+	private static Map<String, Schema> schemas(OpenAPI openAPI) {
+		return openAPI.getComponents() == null || openAPI.getComponents().getSchemas() == null
+				? Map.of()
+				: openAPI.getComponents().getSchemas();
+	}
+
+	private static boolean sameHash(Object base, Object head) {
+		return Arrays.equals(hash(base), hash(head));
+	}
+
+	static byte[] hash(Object unit) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(CANONICAL.writeValueAsBytes(unit));
+		} catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("Cannot serialize spec unit for hashing", ex);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+}
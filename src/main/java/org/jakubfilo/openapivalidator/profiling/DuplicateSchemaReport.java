@@ -0,0 +1,74 @@
+package org.jakubfilo.openapivalidator.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaDuplicate;
+
+/**
+ * Schema shapes that occur more than once per spec, for the {@code --profile} flag: each is evaluated once by
+ * structural rules, and the most repeated ones are candidates for extraction into {@code components}.
+ * Thread-safe.
+ */
+public class DuplicateSchemaReport {
+
+	private static final int TOP = 20;
+
+	private final List<Shape> shapes = new ArrayList<>();
+	private int specs;
+
+	/**
+	 * @param spec      spec path
+	 * @param canonical location of the first occurrence
+	 * @param schemas   schemas per occurrence
+	 * @param copies    occurrences after the first
+	 */
+	public record Shape(String spec, String canonical, int schemas, int copies) {
+
+		/**
+		 * Schema nodes the copies add to the spec.
+		 */
+		public long redundantSchemas() {
+			return (long) schemas * copies;
+		}
+	}
+
+	public void record(String spec, List<SchemaDuplicate> duplicates) {
+		Map<String, int[]> byCanonical = new LinkedHashMap<>();
+		for (SchemaDuplicate duplicate : duplicates) {
+			int[] shape = byCanonical.computeIfAbsent(duplicate.canonical(), c -> new int[] {duplicate.schemas(), 0});
+			shape[1]++;
+		}
+		synchronized (this) {
+			specs++;
+			byCanonical.forEach((canonical, shape) -> shapes.add(new Shape(spec, canonical, shape[0], shape[1])));
+		}
+	}
+
+	/**
+	 * Shapes sorted by the schema nodes their copies add, largest first.
+	 */
+	public synchronized List<Shape> shapes() {
+		return shapes.stream()
+				.sorted(Comparator.comparingLong(Shape::redundantSchemas).reversed())
+				.toList();
+	}
+
+	public synchronized String toText() {
+		List<Shape> sorted = shapes();
+		long copies = sorted.stream().mapToLong(Shape::copies).sum();
+		long redundant = sorted.stream().mapToLong(Shape::redundantSchemas).sum();
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "Duplicate schemas: %d copies of %d shapes in %d specs, %d schema nodes "
+				+ "evaluated once by structural rules%n", copies, sorted.size(), specs, redundant));
+		for (Shape shape : sorted.subList(0, Math.min(TOP, sorted.size()))) {
+			sb.append(String.format(Locale.ROOT, "%8d copies x %4d schemas  %s: %s%n",
+					shape.copies(), shape.schemas(), shape.spec(), shape.canonical()));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,84 @@
+package org.jakubfilo.openapivalidator.profiling;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-wide cost table aggregated over all specs, for the {@code --profile} flag. Thread-safe.
+ * For the {@link #PARSE} and {@link #STREAMING} rows "visited" is the spec size in bytes.
+ */
+public class ProfileReport {
+
+	public static final String PARSE = "(parse)";
+	public static final String STREAMING = "(streaming validation)";
+
+	private final ConcurrentMap<String, Row> rows = new ConcurrentHashMap<>();
+
+	public void record(String name, long elapsedNanos, long objectsVisited, long errorsEmitted) {
+		Row row = rows.computeIfAbsent(name, Row::new);
+		row.invocations.increment();
+		row.nanos.add(elapsedNanos);
+		row.visited.add(objectsVisited);
+		row.errors.add(errorsEmitted);
+	}
+
+	/**
+	 * Rows sorted by total time, most expensive first.
+	 */
+	public List<Row> rows() {
+		return rows.values().stream()
+				.sorted(Comparator.comparingLong((Row r) -> r.nanos.sum()).reversed())
+				.toList();
+	}
+
+	public String toText() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "%-32s %8s %12s %12s %10s%n", "Rule", "Calls", "Total ms", "Visited", "Errors"));
+		for (Row row : rows()) {
+			sb.append(String.format(Locale.ROOT, "%-32s %8d %12.3f %12d %10d%n",
+					row.name, row.invocations.sum(), row.millis(), row.visited.sum(), row.errors.sum()));
+		}
+		return sb.toString();
+	}
+
+	public String toMarkdown() {
+		StringBuilder md = new StringBuilder();
+		md.append("## OpenAPI validation profile\n\n");
+		md.append("| Rule | Calls | Total ms | Visited | Errors |\n");
+		md.append("|------|------:|---------:|--------:|-------:|\n");
+		for (Row row : rows()) {
+			md.append("| ").append(row.name)
+					.append(" | ").append(row.invocations.sum())
+					.append(" | ").append(String.format(Locale.ROOT, "%.3f", row.millis()))
+					.append(" | ").append(row.visited.sum())
+					.append(" | ").append(row.errors.sum()).append(" |\n");
+		}
+		md.append("\n");
+		return md.toString();
+	}
+
+	public static final class Row {
+
+		private final String name;
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder visited = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+
+		private Row(String name) {
+			this.name = name;
+		}
+
+		public String name() {
+			return name;
+		}
+
+		public double millis() {
+			return nanos.sum() / 1_000_000.0;
+		}
+	}
+}
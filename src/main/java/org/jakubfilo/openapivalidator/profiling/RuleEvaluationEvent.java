@@ -0,0 +1,37 @@
+package org.jakubfilo.openapivalidator.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One rule evaluated against one spec. Record with e.g.
+ * {@code java -XX:StartFlightRecording=filename=validator.jfr -jar openapi-validator-1.0.jar ...}.
+ */
+@Name("org.jakubfilo.openapivalidator.RuleEvaluation")
+@Label("Rule Evaluation")
+@Category({"OpenAPI Validator"})
+@StackTrace(false)
+public class RuleEvaluationEvent extends Event {
+
+	@Label("Rule")
+	public String ruleId;
+
+	@Label("Spec")
+	public String specPath;
+
+	@Label("Elapsed")
+	@Timespan(Timespan.NANOSECONDS)
+	public long elapsedNanos;
+
+	@Label("Objects Visited")
+	@Description("Index entries dispatched to the rule")
+	public long objectsVisited;
+
+	@Label("Errors Emitted")
+	public long errorsEmitted;
+}
@@ -0,0 +1,30 @@
+package org.jakubfilo.openapivalidator.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Parsing of one spec into the swagger OpenAPI model.
+ */
+@Name("org.jakubfilo.openapivalidator.SpecParse")
+@Label("Spec Parse")
+@Category({"OpenAPI Validator"})
+@StackTrace(false)
+public class SpecParseEvent extends Event {
+
+	@Label("Spec")
+	public String specPath;
+
+	@Label("Length")
+	@Description("Spec length in bytes, or in characters when parsed from a string")
+	public long length;
+
+	@Label("Elapsed")
+	@Timespan(Timespan.NANOSECONDS)
+	public long elapsedNanos;
+}
@@ -0,0 +1,102 @@
+package org.jakubfilo.openapivalidator.refs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jakubfilo.openapivalidator.SpecLoader;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.swagger.v3.core.util.Json;
+
+/**
+ * Run-wide cache of documents referenced by external {@code $ref}s, keyed by canonical path and checked against
+ * the file's modification time on every lookup. Concurrent lookups of the same file parse it once; the first one
+ * reads and parses it outside the map's lock and the others wait for that result. 300 specs sharing one
+ * {@code common.json} therefore parse it once per run. The daemon {@link #clear() clears} it after every request,
+ * so it does not grow with all the files its clients ever referenced.
+ * <p>
+ * Cached trees are shared between threads and must not be modified; {@link ExternalRefResolver} copies what it
+ * imports.
+ */
+public class ExternalRefCache {
+
+	private final ConcurrentHashMap<Path, Entry> documents = new ConcurrentHashMap<>();
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	/**
+	 * @param path     canonical path of the document
+	 * @param modified modification time of the file the document was read from
+	 */
+	public record Document(Path path, FileTime modified, JsonNode root) {
+	}
+
+	/**
+	 * One version of a file, completed by the thread that created it. A failed load is removed again, so the
+	 * next lookup retries.
+	 */
+	private record Entry(FileTime modified, CompletableFuture<Document> document) {
+	}
+
+	public Document load(Path file) throws IOException {
+		Path canonical = canonical(file);
+		FileTime modified = Files.getLastModifiedTime(SpecLoader.containingFile(canonical));
+		Entry fresh = new Entry(modified, new CompletableFuture<>());
+		Entry entry = documents.compute(canonical,
+				(path, cached) -> cached != null && cached.modified().equals(modified) ? cached : fresh);
+		if (entry != fresh) {
+			hits.incrementAndGet();
+		} else {
+			loads.incrementAndGet();
+			try {
+				fresh.document().complete(new Document(canonical, modified,
+						Json.mapper().readTree(SpecLoader.open(SpecLoader.read(canonical)))));
+			} catch (IOException | RuntimeException ex) {
+				documents.remove(canonical, fresh);
+				fresh.document().completeExceptionally(ex);
+			}
+		}
+		try {
+			return entry.document().join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof IOException io) {
+				throw io;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Drops every document, e.g. between daemon requests; lookups in progress are not affected.
+	 */
+	public void clear() {
+		documents.clear();
+	}
+
+	public boolean isUsed() {
+		return loads.get() > 0;
+	}
+
+	public String summary() {
+		return "External $ref documents: " + loads.get() + " parsed, " + hits.get() + " reused";
+	}
+
+	/**
+	 * Resolves symbolic links, so that one file reached through different paths is parsed once. Entries of
+	 * {@code .zip} bundles have no real path and are only normalized.
+	 */
+	static Path canonical(Path file) {
+		try {
+			return file.toRealPath();
+		} catch (IOException ex) {
+			return file.toAbsolutePath().normalize();
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package org.jakubfilo.openapivalidator.refs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Rewrites one spec's JSON tree so that it no longer depends on other files, before the swagger deserializer
+ * sees it. Relative file {@code $ref}s are resolved against the file they appear in:
+ * <ul>
+ *   <li>a ref to {@code /components/<type>/<name>} of another file imports that component under its own name,
+ *   suffixed with {@code _1}, {@code _2}, ... on a clash, and becomes a local ref, so rules report it by name;</li>
+ *   <li>any other ref, e.g. to a whole file, is replaced by a copy of its target. A target that refers back to
+ *   itself can only be a schema, so on such a cycle it is imported as a schema component instead.</li>
+ * </ul>
+ * Refs inside imported content are resolved against the file it came from. Refs with a URL scheme are left
+ * unresolved. Referenced documents come from the shared {@link ExternalRefCache}; the files read are recorded as
+ * {@link #dependencies()}.
+ * <p>
+ * One resolver serves one spec and is not thread-safe.
+ */
+public class ExternalRefResolver {
+
+	private static final Pattern COMPONENT = Pattern.compile("/components/([^/]+)/([^/]+)");
+
+	private final ExternalRefCache cache;
+	private final Path spec;
+	private final Map<Path, FileTime> dependencies = new LinkedHashMap<>();
+	/**
+	 * Absolute target ({@code file#pointer}) to the local ref it was imported as.
+	 */
+	private final Map<String, String> imported = new HashMap<>();
+	private final Map<String, Map<String, JsonNode>> pendingComponents = new LinkedHashMap<>();
+	private final Set<String> inlining = new HashSet<>();
+	private ObjectNode root;
+
+	public ExternalRefResolver(ExternalRefCache cache, Path spec) {
+		this.cache = cache;
+		this.spec = spec.toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Rewrites {@code root} in place.
+	 *
+	 * @throws IllegalArgumentException if a ref points at a location that does not exist
+	 */
+	public void resolve(ObjectNode root) throws IOException {
+		this.root = root;
+		rewrite(root, spec);
+		if (pendingComponents.isEmpty()) {
+			return;
+		}
+		ObjectNode components = object(root, "components");
+		pendingComponents.forEach((type, byName) -> object(components, type).setAll(byName));
+	}
+
+	/**
+	 * Every external document the spec was resolved against, with the modification time it was read at.
+	 */
+	public Map<Path, FileTime> dependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * Returns the node to put in place of {@code node}, which is {@code node} unless it was an inlined ref.
+	 */
+	private JsonNode rewrite(JsonNode node, Path file) throws IOException {
+		if (node instanceof ObjectNode object) {
+			JsonNode ref = object.get("$ref");
+			if (ref != null && ref.isTextual()) {
+				return reference(object, ref.asText(), file);
+			}
+			List<String> fields = new ArrayList<>(object.size());
+			object.fieldNames().forEachRemaining(fields::add);
+			for (String field : fields) {
+				JsonNode child = object.get(field);
+				JsonNode replacement = rewrite(child, file);
+				if (replacement != child) {
+					object.set(field, replacement);
+				}
+			}
+		} else if (node instanceof ArrayNode array) {
+			for (int i = 0; i < array.size(); i++) {
+				JsonNode child = array.get(i);
+				JsonNode replacement = rewrite(child, file);
+				if (replacement != child) {
+					array.set(i, replacement);
+				}
+			}
+		}
+		return node;
+	}
+
+	private JsonNode reference(ObjectNode node, String ref, Path file) throws IOException {
+		int hash = ref.indexOf('#');
+		String filePart = hash < 0 ? ref : ref.substring(0, hash);
+		String pointer = hash < 0 ? "" : ref.substring(hash + 1);
+		if (filePart.contains(":")) {
+			return node;
+		}
+		Path target = filePart.isEmpty() ? file : file.resolveSibling(filePart).normalize();
+		if (target.equals(spec)) {
+			if (!filePart.isEmpty()) {
+				node.put("$ref", "#" + pointer);
+			}
+			return node;
+		}
+
+		String key = target + "#" + pointer;
+		String local = imported.get(key);
+		if (local != null) {
+			node.put("$ref", local);
+			return node;
+		}
+
+		JsonNode content = lookup(target, pointer, ref, file);
+		Matcher component = COMPONENT.matcher(pointer);
+		if (component.matches()) {
+			node.put("$ref", importComponent(key, component.group(1), unescape(component.group(2)), content, target));
+			return node;
+		}
+		if (!inlining.add(key)) {
+			node.put("$ref", importComponent(key, "schemas", schemaName(target, pointer), content, target));
+			return node;
+		}
+		try {
+			return rewrite(content.deepCopy(), target);
+		} finally {
+			inlining.remove(key);
+		}
+	}
+
+	private JsonNode lookup(Path target, String pointer, String ref, Path file) throws IOException {
+		ExternalRefCache.Document document = cache.load(target);
+		dependencies.put(document.path(), document.modified());
+		JsonNode content = pointer.isEmpty() ? document.root() : document.root().at(pointer);
+		if (content.isMissingNode()) {
+			throw new IllegalArgumentException("Unresolvable $ref '" + ref + "' in " + file);
+		}
+		return content;
+	}
+
+	/**
+	 * Registers the local ref before rewriting the copy, so refs back to the component inside it stay local.
+	 */
+	private String importComponent(String key, String type, String name, JsonNode content, Path file) throws IOException {
+		Map<String, JsonNode> pending = pendingComponents.computeIfAbsent(type, t -> new LinkedHashMap<>());
+		JsonNode existing = root.path("components").path(type);
+		String unique = name;
+		for (int i = 1; existing.has(unique) || pending.containsKey(unique); i++) {
+			unique = name + "_" + i;
+		}
+		pending.put(unique, NullNode.getInstance());
+		String local = "#/components/" + type + "/" + escape(unique);
+		imported.put(key, local);
+		pending.put(unique, rewrite(content.deepCopy(), file));
+		return local;
+	}
+
+	/**
+	 * The last pointer token, or the file name without its extensions for a whole-file ref.
+	 */
+	private static String schemaName(Path file, String pointer) {
+		if (!pointer.isEmpty()) {
+			return unescape(pointer.substring(pointer.lastIndexOf('/') + 1));
+		}
+		String name = file.getFileName().toString();
+		int dot = name.indexOf('.');
+		return dot > 0 ? name.substring(0, dot) : name;
+	}
+
+	private static ObjectNode object(ObjectNode parent, String field) {
+		return parent.get(field) instanceof ObjectNode existing ? existing : parent.putObject(field);
+	}
+
+	private static String unescape(String token) {
+		return token.replace("~1", "/").replace("~0", "~");
+	}
+
+	private static String escape(String token) {
+		return token.replace("~", "~0").replace("/", "~1");
+	}
+}
@@ -0,0 +1,189 @@
+package org.jakubfilo.openapivalidator.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * GitHub workflow commands, the console output of a run: one per problem or parser warning, which GitHub turns
+ * into an annotation, and a line per passed spec in batch runs.
+ * <p>
+ * GitHub only shows the first few annotations of a step, so after {@code maxAnnotations} the remaining problems
+ * are only counted per code and reported by one warning at the end. The output is buffered and flushed after
+ * each spec.
+ *
+ * @see <a href="https://docs.github.com/en/actions/using-workflows/workflow-commands-for-github-actions">
+ *      Workflow commands</a>
+ */
+public final class GithubAnnotationWriter implements ReportWriter {
+
+	/**
+	 * GitHub shows at most 10 error annotations per step and 50 per job.
+	 */
+	public static final int DEFAULT_MAX_ANNOTATIONS = 50;
+
+	private static final String PARSE_FAILURE = "(could not be validated)";
+	private static final String PARSE_WARNING = "(parser warning)";
+
+	private final Writer out;
+	private final boolean closeOut;
+	private final long maxAnnotations;
+	private final Map<String, long[]> overflow = new HashMap<>();
+
+	private long annotations;
+	private long overflowTotal;
+
+	private GithubAnnotationWriter(Writer out, boolean closeOut, long maxAnnotations) {
+		this.out = out;
+		this.closeOut = closeOut;
+		this.maxAnnotations = maxAnnotations;
+	}
+
+	/**
+	 * Writes to the console; {@link #close()} flushes, but leaves the stream open.
+	 */
+	public static GithubAnnotationWriter console(PrintStream out, long maxAnnotations) {
+		return new GithubAnnotationWriter(new BufferedWriter(new OutputStreamWriter(out, out.charset()), 1 << 16),
+				false, maxAnnotations);
+	}
+
+	public static GithubAnnotationWriter file(Path file, long maxAnnotations) throws IOException {
+		return new GithubAnnotationWriter(Files.newBufferedWriter(file), true, maxAnnotations);
+	}
+
+	@Override
+	public void violation(Path spec, ValidationError error) throws IOException {
+		if (overLimit(error.getCode())) {
+			return;
+		}
+		out.write("::error file=");
+		escape(out, spec.toString(), true);
+		out.write(",title=OpenAPI validation::");
+		escape(out, error.getCode(), false);
+		out.write(" - ");
+		escape(out, error.getLocation(), false);
+		out.write(" - ");
+		escape(out, error.getMessage(), false);
+		out.write('\n');
+	}
+
+	/**
+	 * Counts against the annotation limit like a problem, so warnings cannot crowd errors out of the step.
+	 */
+	@Override
+	public void warning(Path spec, String message) throws IOException {
+		if (overLimit(PARSE_WARNING)) {
+			return;
+		}
+		out.write("::warning file=");
+		escape(out, spec.toString(), true);
+		out.write(",title=OpenAPI parsing::");
+		escape(out, message, false);
+		out.write('\n');
+	}
+
+	@Override
+	public void specFinished(Path spec) throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void specPassed(Path spec) throws IOException {
+		out.write("OpenAPI validation passed: ");
+		out.write(spec.toString());
+		out.write('\n');
+		out.flush();
+	}
+
+	@Override
+	public void specFailed(Path spec, String failure) throws IOException {
+		if (overLimit(PARSE_FAILURE)) {
+			return;
+		}
+		out.write("::error file=");
+		escape(out, spec.toString(), true);
+		out.write(",title=OpenAPI parsing::");
+		escape(out, failure, false);
+		out.write('\n');
+		out.flush();
+	}
+
+	/**
+	 * Summarizes the problems over the annotation limit, most frequent code first.
+	 */
+	@Override
+	public void finish(Summary summary) throws IOException {
+		if (overflowTotal == 0) {
+			return;
+		}
+		StringBuilder message = new StringBuilder()
+				.append(overflowTotal).append(" more problem(s) were not annotated (limit ").append(maxAnnotations)
+				.append("):");
+		overflow.entrySet().stream()
+				.sorted(Map.Entry.<String, long[]>comparingByValue(Comparator.comparingLong(count -> -count[0]))
+						.thenComparing(Map.Entry.comparingByKey()))
+				.forEach(entry -> message.append(' ').append(entry.getKey()).append(" x").append(entry.getValue()[0])
+						.append(','));
+		message.setLength(message.length() - 1);
+		out.write("::warning title=OpenAPI validation::");
+		escape(out, message.toString(), false);
+		out.write('\n');
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closeOut) {
+			out.close();
+		} else {
+			out.flush();
+		}
+	}
+
+	private boolean overLimit(String code) {
+		if (annotations < maxAnnotations) {
+			annotations++;
+			return false;
+		}
+		overflow.computeIfAbsent(code, c -> new long[1])[0]++;
+		overflowTotal++;
+		return true;
+	}
+
+	/**
+	 * Writes {@code value} escaped for a workflow command in one pass: {@code %}, CR and LF everywhere, and also
+	 * {@code :} and {@code ,} in property values.
+	 */
+	static void escape(Writer out, String value, boolean property) throws IOException {
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			String replacement = switch (value.charAt(i)) {
+				case '%' -> "%25";
+				case '\r' -> "%0D";
+				case '\n' -> "%0A";
+				case ':' -> property ? "%3A" : null;
+				case ',' -> property ? "%2C" : null;
+				default -> null;
+			};
+			if (replacement != null) {
+				out.write(value, start, i - start);
+				out.write(replacement);
+				start = i + 1;
+			}
+		}
+		out.write(value, start, value.length() - start);
+	}
+
+	@Override
+	public String toString() {
+		return "GitHub annotations";
+	}
+}
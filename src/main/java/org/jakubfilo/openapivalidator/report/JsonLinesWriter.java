@@ -0,0 +1,64 @@
+package org.jakubfilo.openapivalidator.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jakubfilo.openapivalidator.ValidationErrorJson;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * One JSON object per line and problem: {@code {"spec": ..., "code": ..., "location": ..., "message": ...,
+ * "kind": ..., "segments": [...]}} in the {@link ValidationErrorJson} form, {@code {"spec": ..., "failure": ...}}
+ * for a spec that could not be validated, or {@code {"spec": ..., "warning": ...}} for a parser warning.
+ */
+public final class JsonLinesWriter implements ReportWriter {
+
+	private final Path file;
+	private final JsonGenerator json;
+
+	public JsonLinesWriter(Path file) throws IOException {
+		this.file = file;
+		this.json = ValidationErrorJson.MAPPER.getFactory().createGenerator(Files.newBufferedWriter(file));
+		json.setRootValueSeparator(null);
+	}
+
+	@Override
+	public void violation(Path spec, ValidationError error) throws IOException {
+		json.writeStartObject();
+		json.writeStringField("spec", spec.toString());
+		ValidationErrorJson.writeFields(json, error);
+		json.writeEndObject();
+		json.writeRaw('\n');
+	}
+
+	@Override
+	public void warning(Path spec, String message) throws IOException {
+		json.writeStartObject();
+		json.writeStringField("spec", spec.toString());
+		json.writeStringField("warning", message);
+		json.writeEndObject();
+		json.writeRaw('\n');
+	}
+
+	@Override
+	public void specFailed(Path spec, String failure) throws IOException {
+		json.writeStartObject();
+		json.writeStringField("spec", spec.toString());
+		json.writeStringField("failure", failure);
+		json.writeEndObject();
+		json.writeRaw('\n');
+	}
+
+	@Override
+	public void close() throws IOException {
+		json.close();
+	}
+
+	@Override
+	public String toString() {
+		return "JSON Lines report " + file;
+	}
+}
@@ -0,0 +1,131 @@
+package org.jakubfilo.openapivalidator.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * A markdown table of the problems per spec, appended to a file such as the GitHub step summary. The file is only
+ * opened once there is something to write.
+ * <p>
+ * GitHub rejects step summaries over 1 MiB, so rows stop after about {@link #ROW_BUDGET} characters and the rest
+ * are only counted, which leaves room for the closing notes and the profile table.
+ */
+public final class MarkdownSummaryWriter implements ReportWriter {
+
+	static final long ROW_BUDGET = 900_000;
+
+	private final Path path;
+	private final StringBuilder row = new StringBuilder();
+
+	private BufferedWriter out;
+	private boolean headerWritten;
+	private boolean tableOpen;
+	private long written;
+	private long omitted;
+
+	public MarkdownSummaryWriter(Path path) {
+		this.path = path;
+	}
+
+	@Override
+	public void specStarted(Path spec) throws IOException {
+		if (written >= ROW_BUDGET) {
+			return;
+		}
+		header();
+		tableOpen = true;
+		write("Spec file: `" + spec + "`\n\n| Code | Location | Message |\n|------|----------|---------|\n");
+	}
+
+	@Override
+	public void violation(Path spec, ValidationError error) throws IOException {
+		if (!tableOpen || written >= ROW_BUDGET) {
+			omitted++;
+			return;
+		}
+		row.setLength(0);
+		row.append("| ");
+		cell(row, error.getCode());
+		row.append(" | ");
+		cell(row, error.getLocation());
+		row.append(" | ");
+		cell(row, error.getMessage());
+		row.append(" |\n");
+		write(row);
+	}
+
+	@Override
+	public void specFinished(Path spec) throws IOException {
+		if (tableOpen) {
+			tableOpen = false;
+			write("\n");
+		}
+	}
+
+	@Override
+	public void specFailed(Path spec, String failure) throws IOException {
+		header();
+		write("Spec file: `" + spec + "`\n\nCould not be validated: " + failure + "\n\n");
+	}
+
+	@Override
+	public void finish(Summary summary) throws IOException {
+		if (omitted > 0) {
+			write("_" + omitted + " more violation(s) are not listed, the summary is limited in size._\n\n");
+		}
+		if (summary.limitHit()) {
+			write("_Reached the limit of " + summary.problems() + " problem(s), remaining checks were skipped._\n\n");
+		}
+		if (summary.profile() != null) {
+			write(summary.profile().toMarkdown());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (out != null) {
+			out.close();
+			out = null;
+		}
+	}
+
+	private void header() throws IOException {
+		if (!headerWritten) {
+			headerWritten = true;
+			write("## OpenAPI validation failed\n\n");
+		}
+	}
+
+	private void write(CharSequence markdown) throws IOException {
+		if (out == null) {
+			out = Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		}
+		out.append(markdown);
+		written += markdown.length();
+	}
+
+	/**
+	 * Appends {@code value} as a table cell in one pass: pipes are escaped and line breaks, which would end the
+	 * row, become spaces.
+	 */
+	static void cell(StringBuilder row, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '|' -> row.append("\\|");
+				case '\r', '\n' -> row.append(' ');
+				default -> row.append(c);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "markdown summary " + path;
+	}
+}
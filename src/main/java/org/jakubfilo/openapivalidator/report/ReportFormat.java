@@ -0,0 +1,58 @@
+package org.jakubfilo.openapivalidator.report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formats of {@code --report <format>=<file>}.
+ */
+public enum ReportFormat {
+
+	/** GitHub workflow commands, as printed to the console */
+	GITHUB,
+	/** Markdown tables, as appended to the GitHub step summary */
+	MARKDOWN,
+	/** SARIF 2.1.0, e.g. for GitHub code scanning */
+	SARIF,
+	/** JSON Lines, one problem per line */
+	JSONL;
+
+	/**
+	 * A report requested on the command line.
+	 */
+	public record Target(ReportFormat format, Path file) {
+
+		/**
+		 * @param value {@code <format>=<file>}, e.g. {@code sarif=build/openapi.sarif}
+		 * @throws IllegalArgumentException if the value is malformed or names an unknown format
+		 */
+		public static Target parse(String value) {
+			int separator = value.indexOf('=');
+			if (separator <= 0 || separator == value.length() - 1) {
+				throw new IllegalArgumentException("--report expects <format>=<file>, got '" + value + "'");
+			}
+			String format = value.substring(0, separator);
+			ReportFormat parsed;
+			try {
+				parsed = ReportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException("Unknown report format '" + format + "', expected one of "
+						+ "github, markdown, sarif, jsonl");
+			}
+			return new Target(parsed, Path.of(value.substring(separator + 1)));
+		}
+
+		/**
+		 * Creates or truncates the file; a markdown report is appended to, like the step summary.
+		 */
+		public ReportWriter open(long maxAnnotations) throws IOException {
+			return switch (format) {
+				case GITHUB -> GithubAnnotationWriter.file(file, maxAnnotations);
+				case MARKDOWN -> new MarkdownSummaryWriter(file);
+				case SARIF -> new SarifWriter(file);
+				case JSONL -> new JsonLinesWriter(file);
+			};
+		}
+	}
+}
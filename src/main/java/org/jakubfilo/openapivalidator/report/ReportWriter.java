@@ -0,0 +1,67 @@
+package org.jakubfilo.openapivalidator.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.jakubfilo.openapivalidator.profiling.ProfileReport;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * One output format of a run, written incrementally as problems are reported, so no writer needs the full error
+ * list. Events come from {@link org.jakubfilo.openapivalidator.ErrorReporter} under its lock, so implementations
+ * need not be thread-safe, and one spec at a time, in input order: a spec's events never interleave with
+ * another's.
+ * <p>
+ * A writer that throws is dropped for the rest of the run without affecting the exit code.
+ */
+public interface ReportWriter extends Closeable {
+
+	/**
+	 * Totals of the run, passed to {@link #finish(Summary)}.
+	 *
+	 * @param problems reported violations and unparseable specs
+	 * @param limitHit whether {@code --max-errors} cut the run short
+	 * @param profile  per-rule cost, or null
+	 */
+	record Summary(long problems, boolean limitHit, ProfileReport profile) {
+	}
+
+	/**
+	 * Called before the first violation reported for {@code spec}.
+	 */
+	default void specStarted(Path spec) throws IOException {
+	}
+
+	void violation(Path spec, ValidationError error) throws IOException;
+
+	/**
+	 * A parser message about {@code spec} that {@code --parse-warnings} let through; it is not a problem and
+	 * comes before the spec's other events.
+	 */
+	default void warning(Path spec, String message) throws IOException {
+	}
+
+	/**
+	 * Called after the last violation of a spec that had any.
+	 */
+	default void specFinished(Path spec) throws IOException {
+	}
+
+	/**
+	 * {@code spec} passed; only called when several specs are reported and the run was not cut short.
+	 */
+	default void specPassed(Path spec) throws IOException {
+	}
+
+	/**
+	 * {@code spec} could not be validated, e.g. because it does not parse.
+	 */
+	void specFailed(Path spec, String failure) throws IOException;
+
+	/**
+	 * Writes whatever the format puts after the last problem; {@link #close()} follows.
+	 */
+	default void finish(Summary summary) throws IOException {
+	}
+}
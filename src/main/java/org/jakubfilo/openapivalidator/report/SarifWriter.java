@@ -0,0 +1,181 @@
+package org.jakubfilo.openapivalidator.report;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.ValidationErrorJson;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * A SARIF 2.1.0 log with one run, e.g. for GitHub code scanning. Each violation is a result whose rule is the error
+ * code, located by the spec file, the human-readable location as logical location and the JSON pointer as
+ * property. Where the pointer leads to a node, its line and column in the spec are the result's region; the spec is
+ * read again for that, once for all its violations. Results are streamed as they are reported; specs that could
+ * not be validated are tool execution notifications, written after the results.
+ *
+ * @see <a href="https://docs.oasis-open.org/sarif/sarif/v2.1.0/sarif-v2.1.0.html">SARIF 2.1.0</a>
+ */
+public final class SarifWriter implements ReportWriter {
+
+	private record Failure(String uri, String message) {
+	}
+
+	private final Path file;
+	private final JsonGenerator json;
+	private final List<Failure> failures = new ArrayList<>();
+
+	private Path lastSpec;
+	private String lastUri;
+	/**
+	 * Of the spec being reported, read on its first violation.
+	 */
+	private Path regionsSpec;
+	private SpecRegions regions;
+
+	public SarifWriter(Path file) throws IOException {
+		this.file = file;
+		this.json = ValidationErrorJson.MAPPER.getFactory().createGenerator(Files.newBufferedWriter(file));
+		json.writeStartObject();
+		json.writeStringField("$schema", "https://json.schemastore.org/sarif-2.1.0.json");
+		json.writeStringField("version", "2.1.0");
+		json.writeArrayFieldStart("runs");
+		json.writeStartObject();
+		json.writeObjectFieldStart("tool");
+		json.writeObjectFieldStart("driver");
+		json.writeStringField("name", "openapi-validator");
+		json.writeEndObject();
+		json.writeEndObject();
+		json.writeArrayFieldStart("results");
+	}
+
+	@Override
+	public void violation(Path spec, ValidationError error) throws IOException {
+		json.writeStartObject();
+		json.writeStringField("ruleId", error.getCode());
+		json.writeStringField("level", "error");
+		message(error.getMessage());
+		json.writeArrayFieldStart("locations");
+		json.writeStartObject();
+		String pointer = error.getErrorLocation().toJsonPointer();
+		if (pointer != null && spec != regionsSpec) {
+			regionsSpec = spec;
+			regions = SpecRegions.read(spec);
+		}
+		physicalLocation(cachedUri(spec), pointer == null ? null : regions.at(pointer));
+		json.writeArrayFieldStart("logicalLocations");
+		json.writeStartObject();
+		json.writeStringField("fullyQualifiedName", error.getLocation());
+		json.writeEndObject();
+		json.writeEndArray();
+		if (pointer != null) {
+			json.writeObjectFieldStart("properties");
+			json.writeStringField("jsonPointer", pointer);
+			json.writeEndObject();
+		}
+		json.writeEndObject();
+		json.writeEndArray();
+		json.writeEndObject();
+	}
+
+	@Override
+	public void specFinished(Path spec) {
+		regionsSpec = null;
+		regions = null;
+	}
+
+	@Override
+	public void specFailed(Path spec, String failure) {
+		failures.add(new Failure(cachedUri(spec), failure));
+	}
+
+	@Override
+	public void finish(Summary summary) throws IOException {
+		json.writeEndArray();
+		json.writeArrayFieldStart("invocations");
+		json.writeStartObject();
+		json.writeBooleanField("executionSuccessful", failures.isEmpty());
+		if (!failures.isEmpty()) {
+			json.writeArrayFieldStart("toolExecutionNotifications");
+			for (Failure failure : failures) {
+				json.writeStartObject();
+				json.writeStringField("level", "error");
+				message(failure.message());
+				json.writeArrayFieldStart("locations");
+				json.writeStartObject();
+				physicalLocation(failure.uri(), null);
+				json.writeEndObject();
+				json.writeEndArray();
+				json.writeEndObject();
+			}
+			json.writeEndArray();
+		}
+		json.writeEndObject();
+		json.writeEndArray();
+	}
+
+	/**
+	 * Closes the log; objects still open, e.g. when {@link #finish(Summary)} was not reached, are closed too.
+	 */
+	@Override
+	public void close() throws IOException {
+		json.close();
+	}
+
+	private void message(String text) throws IOException {
+		json.writeObjectFieldStart("message");
+		json.writeStringField("text", text);
+		json.writeEndObject();
+	}
+
+	/**
+	 * @param region null to locate the whole file
+	 */
+	private void physicalLocation(String uri, SpecRegions.Region region) throws IOException {
+		json.writeObjectFieldStart("physicalLocation");
+		json.writeObjectFieldStart("artifactLocation");
+		json.writeStringField("uri", uri);
+		json.writeEndObject();
+		if (region != null) {
+			json.writeObjectFieldStart("region");
+			json.writeNumberField("startLine", region.line());
+			json.writeNumberField("startColumn", region.column());
+			json.writeEndObject();
+		}
+		json.writeEndObject();
+	}
+
+	private String cachedUri(Path spec) {
+		if (spec != lastSpec) {
+			lastSpec = spec;
+			lastUri = uri(spec);
+		}
+		return lastUri;
+	}
+
+	/**
+	 * Relative specs stay relative URI references, so that code scanning resolves them against the repository.
+	 */
+	static String uri(Path spec) {
+		if (spec.isAbsolute()) {
+			return spec.toUri().toString();
+		}
+		String path = spec.toString().replace('\\', '/');
+		try {
+			return new URI(null, null, path, null).toASCIIString();
+		} catch (URISyntaxException ex) {
+			return path;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SARIF report " + file;
+	}
+}
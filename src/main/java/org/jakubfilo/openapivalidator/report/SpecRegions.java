@@ -0,0 +1,93 @@
+package org.jakubfilo.openapivalidator.report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.SpecLoader;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Where the objects and arrays of one spec start in its source, keyed by RFC 6901 pointer, so that a report can
+ * point at a line. A member of an object starts at its name. Scalars are left out, as no location points at one.
+ */
+final class SpecRegions {
+
+	record Region(int line, int column) {
+	}
+
+	private static final SpecRegions NONE = new SpecRegions(Map.of());
+
+	private final Map<String, Region> regions;
+
+	private SpecRegions(Map<String, Region> regions) {
+		this.regions = regions;
+	}
+
+	/**
+	 * Streams {@code spec} once. A spec that cannot be read, e.g. because it changed since it was validated, has no
+	 * regions.
+	 */
+	static SpecRegions read(Path spec) {
+		Map<String, Region> regions = new HashMap<>();
+		StringBuilder pointer = new StringBuilder();
+		// Per open container: where its pointer ends, and the next index for an array, -1 for an object
+		Deque<int[]> open = new ArrayDeque<>();
+		JsonLocation member = null;
+		try (JsonParser parser = OpenApiParserUtil.createParser(SpecLoader.read(spec))) {
+			for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+				int[] container = open.peek();
+				if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+					open.pop();
+					continue;
+				}
+				if (token == JsonToken.FIELD_NAME) {
+					pointer.setLength(container[0]);
+					append(pointer.append('/'), parser.currentName());
+					member = parser.currentTokenLocation();
+					continue;
+				}
+				JsonLocation start = parser.currentTokenLocation();
+				if (container != null && container[1] >= 0) {
+					pointer.setLength(container[0]);
+					pointer.append('/').append(container[1]++);
+				} else if (member != null) {
+					start = member;
+				}
+				member = null;
+				if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+					regions.put(pointer.toString(), new Region(start.getLineNr(), start.getColumnNr()));
+					open.push(new int[] {pointer.length(), token == JsonToken.START_ARRAY ? 0 : -1});
+				}
+			}
+		} catch (IOException ex) {
+			return NONE;
+		}
+		return new SpecRegions(regions);
+	}
+
+	/**
+	 * @return null if nothing starts at {@code pointer}
+	 */
+	Region at(String pointer) {
+		return regions.get(pointer);
+	}
+
+	private static void append(StringBuilder pointer, String token) {
+		for (int i = 0; i < token.length(); i++) {
+			char c = token.charAt(i);
+			switch (c) {
+				case '~' -> pointer.append("~0");
+				case '/' -> pointer.append("~1");
+				default -> pointer.append(c);
+			}
+		}
+	}
+}
@@ -0,0 +1,720 @@
+package org.jakubfilo.openapivalidator.snapshot;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+/**
+ * Compact binary form of the parts of an {@link OpenAPI} model that rules read, so that an unchanged spec can be
+ * loaded without tokenizing JSON and running the swagger deserializer again.
+ * <p>
+ * Kept are the paths with their summary, description, parameters and operations; operation id, summary,
+ * description, tags, deprecation, parameters, request body and responses; parameter name, location, description,
+ * required and deprecated flags and schema; descriptions and media type schemas of request bodies and responses;
+ * component schemas; and for every schema its {@code $ref}, type, format, title, description, deprecation, enum
+ * values, properties, {@code items}, {@code allOf}, {@code anyOf}, {@code oneOf}, {@code not} and
+ * {@code additionalProperties}. Everything else, e.g. examples, defaults or validation keywords, is dropped; rules
+ * that read more must not declare {@link org.jakubfilo.openapivalidator.validation.Rule#isSnapshotSafe()}.
+ * Schemas and parameters keep their model class, so e.g. enum values of an {@code IntegerSchema} stay numbers.
+ * <p>
+ * Layout: a table of every distinct string, the model classes of all schemas, the document, then the schema bodies.
+ * Strings, including property and path names, are stored once and referenced by index, so the loaded model shares
+ * one instance per distinct string. Schemas are numbered in order of first reference and referenced by number,
+ * which preserves shared and cyclic schemas of resolved models. Integers are unsigned LEB128 varints, floating
+ * point enum values 8 little-endian bytes, and references and sizes are offset by one so that 0 stands for null.
+ */
+public final class SpecSnapshot {
+
+	/**
+	 * Changes with every incompatible change of the layout.
+	 */
+	public static final int VERSION = 1;
+
+	private static final byte NULL = 0;
+	private static final byte FALSE = 1;
+	private static final byte TRUE = 2;
+	private static final byte STRING = 3;
+	private static final byte INT = 4;
+	private static final byte LONG = 5;
+	private static final byte DECIMAL = 6;
+	private static final byte BIG_INTEGER = 7;
+	private static final byte DOUBLE = 8;
+	private static final byte FLOAT = 9;
+	private static final byte SCHEMA = 10;
+	private static final byte UUID_VALUE = 11;
+
+	private static final PathItem.HttpMethod[] METHODS = PathItem.HttpMethod.values();
+
+	private SpecSnapshot() {
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the model holds values the format cannot represent, e.g. date enums
+	 */
+	public static byte[] write(OpenAPI openAPI) {
+		return new Writer().write(openAPI);
+	}
+
+	/**
+	 * Reads a snapshot from the buffer's position; the buffer may be a mapping of the snapshot file.
+	 *
+	 * @throws IllegalArgumentException if the bytes are not a snapshot of this {@link #VERSION}
+	 */
+	public static OpenAPI read(ByteBuffer bytes) {
+		try {
+			return new Reader(bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN)).read();
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException ex) {
+			throw new IllegalArgumentException("Corrupt spec snapshot", ex);
+		}
+	}
+
+	/**
+	 * A growable byte array.
+	 */
+	private static final class Bytes {
+
+		private byte[] data = new byte[1 << 12];
+		private int size;
+
+		void put(byte b) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = b;
+		}
+
+		void put(byte[] bytes, int length) {
+			if (size + length > data.length) {
+				data = Arrays.copyOf(data, Math.max(size * 2, size + length));
+			}
+			System.arraycopy(bytes, 0, data, size, length);
+			size += length;
+		}
+
+		void put(Bytes bytes) {
+			put(bytes.data, bytes.size);
+		}
+
+		void varint(long value) {
+			while ((value & ~0x7FL) != 0) {
+				put((byte) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			put((byte) value);
+		}
+
+		void fixed64(long value) {
+			for (int shift = 0; shift < 64; shift += 8) {
+				put((byte) (value >>> shift));
+			}
+		}
+
+		byte[] toArray() {
+			return Arrays.copyOf(data, size);
+		}
+	}
+
+	private static final class Writer {
+
+		private final Map<String, Integer> strings = new LinkedHashMap<>();
+		private final Map<Schema<?>, Integer> schemaIds = new IdentityHashMap<>();
+		private final List<Schema<?>> schemas = new ArrayList<>();
+
+		byte[] write(OpenAPI openAPI) {
+			Bytes document = new Bytes();
+			string(document, openAPI.getOpenapi());
+			string(document, openAPI.getSpecVersion() == null ? null : openAPI.getSpecVersion().name());
+			Paths paths = openAPI.getPaths();
+			size(document, paths);
+			if (paths != null) {
+				paths.forEach((path, pathItem) -> {
+					string(document, path);
+					pathItem(document, pathItem);
+				});
+			}
+			Components components = openAPI.getComponents();
+			document.put(components == null ? NULL : TRUE);
+			if (components != null) {
+				schemaMap(document, components.getSchemas());
+			}
+
+			// Bodies may reference schemas not numbered yet, which are appended and written in turn
+			Bytes classes = new Bytes();
+			Bytes bodies = new Bytes();
+			for (int i = 0; i < schemas.size(); i++) {
+				Schema<?> schema = schemas.get(i);
+				string(classes, schema.getClass().getName());
+				schemaBody(bodies, schema);
+			}
+
+			Bytes out = new Bytes();
+			out.varint(strings.size());
+			for (String string : strings.keySet()) {
+				byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+				out.varint(utf8.length);
+				out.put(utf8, utf8.length);
+			}
+			out.varint(schemas.size());
+			out.put(classes);
+			out.put(document);
+			out.put(bodies);
+			return out.toArray();
+		}
+
+		private void pathItem(Bytes out, PathItem pathItem) {
+			out.put(pathItem == null ? NULL : TRUE);
+			if (pathItem == null) {
+				return;
+			}
+			string(out, pathItem.get$ref());
+			string(out, pathItem.getSummary());
+			string(out, pathItem.getDescription());
+			parameters(out, pathItem.getParameters());
+			Map<PathItem.HttpMethod, Operation> operations = pathItem.readOperationsMap();
+			for (PathItem.HttpMethod method : METHODS) {
+				operation(out, operations.get(method));
+			}
+		}
+
+		private void operation(Bytes out, Operation operation) {
+			out.put(operation == null ? NULL : TRUE);
+			if (operation == null) {
+				return;
+			}
+			string(out, operation.getOperationId());
+			string(out, operation.getSummary());
+			string(out, operation.getDescription());
+			bool(out, operation.getDeprecated());
+			strings(out, operation.getTags());
+			parameters(out, operation.getParameters());
+			RequestBody requestBody = operation.getRequestBody();
+			out.put(requestBody == null ? NULL : TRUE);
+			if (requestBody != null) {
+				string(out, requestBody.get$ref());
+				string(out, requestBody.getDescription());
+				bool(out, requestBody.getRequired());
+				content(out, requestBody.getContent());
+			}
+			ApiResponses responses = operation.getResponses();
+			size(out, responses);
+			if (responses != null) {
+				responses.forEach((code, response) -> {
+					string(out, code);
+					out.put(response == null ? NULL : TRUE);
+					if (response != null) {
+						string(out, response.get$ref());
+						string(out, response.getDescription());
+						content(out, response.getContent());
+					}
+				});
+			}
+		}
+
+		private void parameters(Bytes out, List<Parameter> parameters) {
+			size(out, parameters);
+			if (parameters == null) {
+				return;
+			}
+			for (Parameter parameter : parameters) {
+				out.put(parameter == null ? NULL : TRUE);
+				if (parameter != null) {
+					string(out, parameter.getClass().getName());
+					string(out, parameter.get$ref());
+					string(out, parameter.getName());
+					string(out, parameter.getIn());
+					string(out, parameter.getDescription());
+					bool(out, parameter.getRequired());
+					bool(out, parameter.getDeprecated());
+					schema(out, parameter.getSchema());
+				}
+			}
+		}
+
+		private void content(Bytes out, Content content) {
+			size(out, content);
+			if (content != null) {
+				content.forEach((mediaType, media) -> {
+					string(out, mediaType);
+					out.put(media == null ? NULL : TRUE);
+					if (media != null) {
+						schema(out, media.getSchema());
+					}
+				});
+			}
+		}
+
+		private void schemaBody(Bytes out, Schema<?> schema) {
+			string(out, schema.get$ref());
+			string(out, schema.getType());
+			strings(out, schema.getTypes());
+			string(out, schema.getFormat());
+			string(out, schema.getTitle());
+			string(out, schema.getDescription());
+			string(out, schema.getSpecVersion() == null ? null : schema.getSpecVersion().name());
+			bool(out, schema.getDeprecated());
+			List<?> enumValues = schema.getEnum();
+			size(out, enumValues);
+			if (enumValues != null) {
+				for (Object value : enumValues) {
+					value(out, value);
+				}
+			}
+			schemaMap(out, schema.getProperties());
+			schema(out, schema.getItems());
+			schemaList(out, schema.getAllOf());
+			schemaList(out, schema.getAnyOf());
+			schemaList(out, schema.getOneOf());
+			schema(out, schema.getNot());
+			value(out, schema.getAdditionalProperties());
+		}
+
+		@SuppressWarnings("rawtypes")
+		private void schemaMap(Bytes out, Map<String, Schema> schemas) {
+			size(out, schemas);
+			if (schemas != null) {
+				schemas.forEach((name, schema) -> {
+					string(out, name);
+					schema(out, schema);
+				});
+			}
+		}
+
+		@SuppressWarnings("rawtypes")
+		private void schemaList(Bytes out, List<Schema> schemas) {
+			size(out, schemas);
+			if (schemas != null) {
+				for (Schema schema : schemas) {
+					schema(out, schema);
+				}
+			}
+		}
+
+		private void schema(Bytes out, Schema<?> schema) {
+			if (schema == null) {
+				out.varint(0);
+				return;
+			}
+			Integer id = schemaIds.get(schema);
+			if (id == null) {
+				id = schemas.size();
+				schemaIds.put(schema, id);
+				schemas.add(schema);
+			}
+			out.varint(id + 1L);
+		}
+
+		private void value(Bytes out, Object value) {
+			switch (value) {
+				case null -> out.put(NULL);
+				case Boolean bool -> out.put(bool ? TRUE : FALSE);
+				case String string -> {
+					out.put(STRING);
+					string(out, string);
+				}
+				case Integer number -> {
+					out.put(INT);
+					out.varint(zigzag(number));
+				}
+				case Long number -> {
+					out.put(LONG);
+					out.varint(zigzag(number));
+				}
+				case BigDecimal number -> {
+					out.put(DECIMAL);
+					string(out, number.toString());
+				}
+				case BigInteger number -> {
+					out.put(BIG_INTEGER);
+					string(out, number.toString());
+				}
+				case Double number -> {
+					out.put(DOUBLE);
+					out.fixed64(Double.doubleToRawLongBits(number));
+				}
+				case Float number -> {
+					out.put(FLOAT);
+					out.fixed64(Float.floatToRawIntBits(number));
+				}
+				case UUID uuid -> {
+					out.put(UUID_VALUE);
+					string(out, uuid.toString());
+				}
+				case Schema<?> schema -> {
+					out.put(SCHEMA);
+					schema(out, schema);
+				}
+				default -> throw new IllegalArgumentException("Values of type " + value.getClass().getName()
+						+ " cannot be snapshotted");
+			}
+		}
+
+		private void strings(Bytes out, Collection<String> values) {
+			size(out, values);
+			if (values != null) {
+				for (String value : values) {
+					string(out, value);
+				}
+			}
+		}
+
+		private void string(Bytes out, String value) {
+			if (value == null) {
+				out.varint(0);
+				return;
+			}
+			Integer index = strings.get(value);
+			if (index == null) {
+				index = strings.size();
+				strings.put(value, index);
+			}
+			out.varint(index + 1L);
+		}
+
+		private static void bool(Bytes out, Boolean value) {
+			out.put(value == null ? NULL : value ? TRUE : FALSE);
+		}
+
+		private static void size(Bytes out, Map<?, ?> map) {
+			out.varint(map == null ? 0 : map.size() + 1L);
+		}
+
+		private static void size(Bytes out, Collection<?> collection) {
+			out.varint(collection == null ? 0 : collection.size() + 1L);
+		}
+
+		private static long zigzag(long value) {
+			return (value << 1) ^ (value >> 63);
+		}
+	}
+
+	private static final class Reader {
+
+		private final ByteBuffer in;
+		private final Map<String, Constructor<?>> constructors = new HashMap<>();
+		private String[] strings;
+		private Schema<?>[] schemas;
+
+		Reader(ByteBuffer in) {
+			this.in = in;
+		}
+
+		OpenAPI read() {
+			strings = new String[count()];
+			byte[] scratch = new byte[256];
+			for (int i = 0; i < strings.length; i++) {
+				int length = count();
+				if (length > scratch.length) {
+					scratch = new byte[Math.max(length, scratch.length * 2)];
+				}
+				in.get(scratch, 0, length);
+				strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+			}
+			schemas = new Schema<?>[count()];
+			for (int i = 0; i < schemas.length; i++) {
+				schemas[i] = instance(string(), Schema.class);
+			}
+
+			OpenAPI openAPI = new OpenAPI();
+			openAPI.setOpenapi(string());
+			String specVersion = string();
+			if (specVersion != null) {
+				openAPI.setSpecVersion(SpecVersion.valueOf(specVersion));
+			}
+			int paths = count() - 1;
+			if (paths >= 0) {
+				Paths map = new Paths();
+				for (int i = 0; i < paths; i++) {
+					map.put(string(), pathItem());
+				}
+				openAPI.setPaths(map);
+			}
+			if (in.get() != NULL) {
+				Components components = new Components();
+				components.setSchemas(schemaMap());
+				openAPI.setComponents(components);
+			}
+
+			for (Schema<?> schema : schemas) {
+				schemaBody(schema);
+			}
+			return openAPI;
+		}
+
+		private PathItem pathItem() {
+			if (in.get() == NULL) {
+				return null;
+			}
+			PathItem pathItem = new PathItem();
+			pathItem.set$ref(string());
+			pathItem.setSummary(string());
+			pathItem.setDescription(string());
+			pathItem.setParameters(parameters());
+			for (PathItem.HttpMethod method : METHODS) {
+				Operation operation = operation();
+				if (operation != null) {
+					pathItem.operation(method, operation);
+				}
+			}
+			return pathItem;
+		}
+
+		private Operation operation() {
+			if (in.get() == NULL) {
+				return null;
+			}
+			Operation operation = new Operation();
+			operation.setOperationId(string());
+			operation.setSummary(string());
+			operation.setDescription(string());
+			operation.setDeprecated(bool());
+			operation.setTags(strings());
+			operation.setParameters(parameters());
+			if (in.get() != NULL) {
+				RequestBody requestBody = new RequestBody();
+				requestBody.set$ref(string());
+				requestBody.setDescription(string());
+				requestBody.setRequired(bool());
+				requestBody.setContent(content());
+				operation.setRequestBody(requestBody);
+			}
+			int responses = count() - 1;
+			if (responses >= 0) {
+				ApiResponses map = new ApiResponses();
+				for (int i = 0; i < responses; i++) {
+					String code = string();
+					ApiResponse response = null;
+					if (in.get() != NULL) {
+						response = new ApiResponse();
+						response.set$ref(string());
+						response.setDescription(string());
+						response.setContent(content());
+					}
+					map.put(code, response);
+				}
+				operation.setResponses(map);
+			}
+			return operation;
+		}
+
+		private List<Parameter> parameters() {
+			int size = count() - 1;
+			if (size < 0) {
+				return null;
+			}
+			List<Parameter> parameters = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				if (in.get() == NULL) {
+					parameters.add(null);
+					continue;
+				}
+				Parameter parameter = instance(string(), Parameter.class);
+				parameter.set$ref(string());
+				parameter.setName(string());
+				parameter.setIn(string());
+				parameter.setDescription(string());
+				parameter.setRequired(bool());
+				parameter.setDeprecated(bool());
+				parameter.setSchema(schema());
+				parameters.add(parameter);
+			}
+			return parameters;
+		}
+
+		private Content content() {
+			int size = count() - 1;
+			if (size < 0) {
+				return null;
+			}
+			Content content = new Content();
+			for (int i = 0; i < size; i++) {
+				String mediaType = string();
+				MediaType media = null;
+				if (in.get() != NULL) {
+					media = new MediaType();
+					media.setSchema(schema());
+				}
+				content.put(mediaType, media);
+			}
+			return content;
+		}
+
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		private void schemaBody(Schema schema) {
+			schema.set$ref(string());
+			schema.setType(string());
+			List<String> types = strings();
+			schema.setTypes(types == null ? null : new LinkedHashSet<>(types));
+			schema.setFormat(string());
+			schema.setTitle(string());
+			schema.setDescription(string());
+			String specVersion = string();
+			if (specVersion != null) {
+				schema.setSpecVersion(SpecVersion.valueOf(specVersion));
+			}
+			schema.setDeprecated(bool());
+			int enumValues = count() - 1;
+			if (enumValues >= 0) {
+				List<Object> values = new ArrayList<>(enumValues);
+				for (int i = 0; i < enumValues; i++) {
+					values.add(value());
+				}
+				schema.setEnum(values);
+			} else {
+				schema.setEnum(null);
+			}
+			schema.setProperties(schemaMap());
+			schema.setItems(schema());
+			schema.setAllOf(schemaList());
+			schema.setAnyOf(schemaList());
+			schema.setOneOf(schemaList());
+			schema.setNot(schema());
+			schema.setAdditionalProperties(value());
+		}
+
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		private Map<String, Schema> schemaMap() {
+			int size = count() - 1;
+			if (size < 0) {
+				return null;
+			}
+			Map<String, Schema> map = new LinkedHashMap<>();
+			for (int i = 0; i < size; i++) {
+				map.put(string(), schema());
+			}
+			return map;
+		}
+
+		@SuppressWarnings("rawtypes")
+		private List<Schema> schemaList() {
+			int size = count() - 1;
+			if (size < 0) {
+				return null;
+			}
+			List<Schema> list = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				list.add(schema());
+			}
+			return list;
+		}
+
+		private Schema<?> schema() {
+			int id = count();
+			return id == 0 ? null : schemas[id - 1];
+		}
+
+		private Object value() {
+			byte tag = in.get();
+			return switch (tag) {
+				case NULL -> null;
+				case FALSE -> Boolean.FALSE;
+				case TRUE -> Boolean.TRUE;
+				case STRING -> string();
+				case INT -> (int) unzigzag(varint());
+				case LONG -> unzigzag(varint());
+				case DECIMAL -> new BigDecimal(string());
+				case BIG_INTEGER -> new BigInteger(string());
+				case DOUBLE -> Double.longBitsToDouble(in.getLong());
+				case FLOAT -> Float.intBitsToFloat((int) in.getLong());
+				case UUID_VALUE -> UUID.fromString(string());
+				case SCHEMA -> schema();
+				default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+			};
+		}
+
+		private List<String> strings() {
+			int size = count() - 1;
+			if (size < 0) {
+				return null;
+			}
+			List<String> list = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				list.add(string());
+			}
+			return list;
+		}
+
+		private String string() {
+			int index = count();
+			return index == 0 ? null : strings[index - 1];
+		}
+
+		private Boolean bool() {
+			byte value = in.get();
+			return value == NULL ? null : value == TRUE;
+		}
+
+		private int count() {
+			long value = varint();
+			if (value < 0 || value > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Corrupt spec snapshot");
+			}
+			return (int) value;
+		}
+
+		private long varint() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = in.get();
+				value |= (long) (b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Corrupt spec snapshot");
+		}
+
+		private static long unzigzag(long value) {
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		/**
+		 * Only subclasses of {@code base} are instantiated, so a tampered snapshot cannot load arbitrary classes.
+		 */
+		private <T> T instance(String className, Class<T> base) {
+			Constructor<?> constructor = constructors.computeIfAbsent(className, name -> {
+				try {
+					Class<?> type = Class.forName(name, false, base.getClassLoader());
+					if (!base.isAssignableFrom(type)) {
+						throw new IllegalArgumentException(name + " is not a " + base.getSimpleName());
+					}
+					return type.getDeclaredConstructor();
+				} catch (ReflectiveOperationException ex) {
+					throw new IllegalArgumentException("Cannot instantiate " + name, ex);
+				}
+			});
+			try {
+				return base.cast(constructor.newInstance());
+			} catch (ReflectiveOperationException ex) {
+				throw new IllegalArgumentException("Cannot instantiate " + className, ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,304 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import io.swagger.v3.oas.models.PathItem;
+
+/**
+ * Where an error was found: a node kind plus the raw parts of its location, e.g. {@code [GET, /users]} for an
+ * operation or {@code [User.properties.address, street_name]} for a property. The parts are the strings the index
+ * already holds, so building a location allocates one small array; the human-readable string and the
+ * RFC 6901 JSON pointer are only formatted when output is rendered.
+ * <p>
+ * Locations are values: two are equal when kind and parts are equal.
+ */
+public final class ErrorLocation {
+
+	private static final List<String> SCHEMA_KEYWORDS = List.of(
+			"properties.", "items", "additionalProperties", "allOf[", "anyOf[", "oneOf[", "content.");
+
+	/**
+	 * Null for {@link #literal(String)} locations.
+	 */
+	private final NodeKind kind;
+	private final String[] segments;
+	private String formatted;
+
+	private ErrorLocation(NodeKind kind, String... segments) {
+		this.kind = kind;
+		this.segments = segments;
+	}
+
+	public static ErrorLocation operation(String path, PathItem.HttpMethod method) {
+		return new ErrorLocation(NodeKind.OPERATION, method.name(), path);
+	}
+
+	/**
+	 * An operation whose path overlaps {@code otherPath}. Rendered and pointed to like
+	 * {@link #operation(String, PathItem.HttpMethod)}; the other path tells apart the overlaps of one operation.
+	 */
+	public static ErrorLocation route(String path, PathItem.HttpMethod method, String otherPath) {
+		return new ErrorLocation(NodeKind.OPERATION, method.name(), path, otherPath);
+	}
+
+	/**
+	 * @param method null for path-level parameters
+	 */
+	public static ErrorLocation parameter(String path, PathItem.HttpMethod method, String name, String in) {
+		return new ErrorLocation(NodeKind.PARAMETER, method == null ? null : method.name(), path, name, in);
+	}
+
+	/**
+	 * @param schemaLocation a {@link SpecIndex.SchemaRef#name()}
+	 */
+	public static ErrorLocation schema(String schemaLocation) {
+		return new ErrorLocation(NodeKind.SCHEMA, schemaLocation);
+	}
+
+	public static ErrorLocation property(String schemaLocation, String propertyName) {
+		return new ErrorLocation(NodeKind.PROPERTY, schemaLocation, propertyName);
+	}
+
+	/**
+	 * Enum values are reported against their owning schema; the value tells apart the findings of one schema.
+	 */
+	public static ErrorLocation enumValue(String schemaLocation, String value) {
+		return new ErrorLocation(NodeKind.ENUM_VALUE, schemaLocation, value);
+	}
+
+	/**
+	 * A preformatted location without structure; it has no kind and no JSON pointer.
+	 */
+	public static ErrorLocation literal(String location) {
+		return new ErrorLocation(null, location);
+	}
+
+	/**
+	 * Rebuilds a location from {@link #kind()} and {@link #segments()}, e.g. after deserialization.
+	 */
+	public static ErrorLocation of(NodeKind kind, List<String> segments) {
+		return new ErrorLocation(kind, segments.toArray(String[]::new));
+	}
+
+	/**
+	 * Null for literal locations.
+	 */
+	public NodeKind kind() {
+		return kind;
+	}
+
+	public List<String> segments() {
+		return Arrays.asList(segments);
+	}
+
+	/**
+	 * This location copied from the schema subtree at {@code from} to a structurally identical subtree at
+	 * {@code to}: a schema, property or enum value location at or below {@code from} is rebased onto {@code to}.
+	 * Any other location is returned as is.
+	 */
+	public ErrorLocation relocate(String from, String to) {
+		if (kind != NodeKind.SCHEMA && kind != NodeKind.PROPERTY && kind != NodeKind.ENUM_VALUE) {
+			return this;
+		}
+		String schemaLocation = segments[0];
+		if (schemaLocation == null || !schemaLocation.startsWith(from)) {
+			return this;
+		}
+		if (schemaLocation.length() > from.length()) {
+			char next = schemaLocation.charAt(from.length());
+			if (next != '.' && next != '[') {
+				return this;
+			}
+		}
+		String[] relocated = segments.clone();
+		relocated[0] = to + schemaLocation.substring(from.length());
+		return new ErrorLocation(kind, relocated);
+	}
+
+	/**
+	 * RFC 6901 pointer into the spec document, e.g. {@code /paths/~1users/get}, or null for literal locations.
+	 * <p>
+	 * The model identifies parameters by name rather than array index, so pointers into parameters stop at the
+	 * {@code parameters} array, and enum values point at the owning schema's {@code enum}.
+	 */
+	public String toJsonPointer() {
+		if (kind == null) {
+			return null;
+		}
+		StringBuilder pointer = new StringBuilder();
+		switch (kind) {
+			case OPERATION -> operationPointer(pointer, segments[1], segments[0]);
+			case PARAMETER -> operationPointer(pointer, segments[1], segments[0]).append("/parameters");
+			case SCHEMA -> schemaPointer(pointer, segments[0]);
+			case PROPERTY -> {
+				if (schemaPointer(pointer, segments[0])) {
+					token(token(pointer, "properties"), segments[1]);
+				}
+			}
+			case ENUM_VALUE -> {
+				if (schemaPointer(pointer, segments[0])) {
+					token(pointer, "enum");
+				}
+			}
+		}
+		return pointer.toString();
+	}
+
+	/**
+	 * The human-readable form, e.g. {@code GET /users} or {@code schema User.properties.lastName}.
+	 */
+	@Override
+	public String toString() {
+		String result = formatted;
+		if (result == null) {
+			result = format();
+			formatted = result;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof ErrorLocation other && kind == other.kind && Arrays.equals(segments, other.segments);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (kind == null ? 0 : kind.hashCode()) + Arrays.hashCode(segments);
+	}
+
+	private String format() {
+		if (kind == null) {
+			return segments[0];
+		}
+		return switch (kind) {
+			case OPERATION -> segments[0] + " " + segments[1];
+			case PARAMETER -> (segments[0] == null ? "" : segments[0] + " ") + segments[1]
+					+ " param '" + segments[2] + "' in " + segments[3];
+			case SCHEMA, ENUM_VALUE -> "schema " + segments[0];
+			case PROPERTY -> "schema " + segments[0] + ".properties." + segments[1];
+		};
+	}
+
+	private static StringBuilder operationPointer(StringBuilder pointer, String path, String method) {
+		token(token(pointer, "paths"), path);
+		return method == null ? pointer : token(pointer, method.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Translates a {@link SpecWalker} schema location back into pointer tokens. Returns false if the pointer had to
+	 * stop early at a parameter or at a part it does not recognize.
+	 */
+	private static boolean schemaPointer(StringBuilder pointer, String location) {
+		int pos;
+		int space = location.indexOf(' ');
+		boolean inline = location.startsWith("/") || (space > 0 && isMethod(location.substring(0, space)));
+		if (!inline) {
+			pos = nextSegment(location, 0);
+			token(token(token(pointer, "components"), "schemas"), location.substring(0, pos));
+		} else {
+			String method = location.startsWith("/") ? null : location.substring(0, space);
+			int pathStart = method == null ? 0 : space + 1;
+			int rest = firstOf(location, pathStart, " parameters.", " requestBody", " responses.");
+			if (rest < 0) {
+				return false;
+			}
+			operationPointer(pointer, location.substring(pathStart, rest), method);
+			pos = rest + 1;
+			if (location.startsWith("parameters.", pos)) {
+				token(pointer, "parameters");
+				return false;
+			} else if (location.startsWith("requestBody", pos)) {
+				token(pointer, "requestBody");
+				pos += "requestBody".length();
+			} else {
+				int codeStart = pos + "responses.".length();
+				int codeEnd = nextSegment(location, codeStart);
+				token(token(pointer, "responses"), location.substring(codeStart, codeEnd));
+				pos = codeEnd;
+			}
+		}
+
+		while (pos < location.length()) {
+			pos++; // the '.' before the keyword
+			if (location.startsWith("properties.", pos)) {
+				int end = nextSegment(location, pos + "properties.".length());
+				token(token(pointer, "properties"), location.substring(pos + "properties.".length(), end));
+				pos = end;
+			} else if (location.startsWith("content.", pos)) {
+				int end = nextSegment(location, pos + "content.".length());
+				token(token(token(pointer, "content"), location.substring(pos + "content.".length(), end)), "schema");
+				pos = end;
+			} else if (location.startsWith("items", pos) || location.startsWith("additionalProperties", pos)) {
+				int end = nextSegment(location, pos);
+				token(pointer, location.substring(pos, end));
+				pos = end;
+			} else if (location.startsWith("allOf[", pos) || location.startsWith("anyOf[", pos)
+					|| location.startsWith("oneOf[", pos)) {
+				int close = location.indexOf(']', pos);
+				if (close < 0) {
+					return false;
+				}
+				token(token(pointer, location.substring(pos, pos + 5)), location.substring(pos + 6, close));
+				pos = close + 1;
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Index of the next {@code '.'} that starts a schema keyword, or the end of the location. Names may contain
+	 * dots, e.g. {@code com.example.User} or {@code application/vnd.api+json}.
+	 */
+	private static int nextSegment(String location, int from) {
+		for (int i = location.indexOf('.', from); i >= 0; i = location.indexOf('.', i + 1)) {
+			for (String keyword : SCHEMA_KEYWORDS) {
+				if (location.startsWith(keyword, i + 1)) {
+					int after = i + 1 + keyword.length();
+					boolean bare = !keyword.endsWith(".") && !keyword.endsWith("[");
+					if (!bare || after == location.length() || location.charAt(after) == '.') {
+						return i;
+					}
+				}
+			}
+		}
+		return location.length();
+	}
+
+	private static int firstOf(String location, int from, String... markers) {
+		int first = -1;
+		for (String marker : markers) {
+			int i = location.indexOf(marker, from);
+			if (i >= 0 && (first < 0 || i < first)) {
+				first = i;
+			}
+		}
+		return first;
+	}
+
+	private static boolean isMethod(String word) {
+		for (PathItem.HttpMethod method : PathItem.HttpMethod.values()) {
+			if (method.name().equals(word)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static StringBuilder token(StringBuilder pointer, String token) {
+		pointer.append('/');
+		for (int i = 0; i < token.length(); i++) {
+			char c = token.charAt(i);
+			switch (c) {
+				case '~' -> pointer.append("~0");
+				case '/' -> pointer.append("~1");
+				default -> pointer.append(c);
+			}
+		}
+		return pointer;
+	}
+}
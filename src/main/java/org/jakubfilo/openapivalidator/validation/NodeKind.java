@@ -0,0 +1,12 @@
+package org.jakubfilo.openapivalidator.validation;
+
+/**
+ * Kinds of spec nodes a {@link Rule} can subscribe to, in the order the engine dispatches them.
+ */
+public enum NodeKind {
+	OPERATION,
+	PARAMETER,
+	SCHEMA,
+	PROPERTY,
+	ENUM_VALUE
+}
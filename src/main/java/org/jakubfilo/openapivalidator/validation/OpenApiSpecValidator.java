@@ -1,25 +1,367 @@
 package org.jakubfilo.openapivalidator.validation;
 
-import static org.jakubfilo.openapivalidator.validation.rules.RulesFacade.validateEnumsAsUpperSnakeCase;
-import static org.jakubfilo.openapivalidator.validation.rules.RulesFacade.validateLowerCamelCaseSchemaProperties;
-import static org.jakubfilo.openapivalidator.validation.rules.RulesFacade.validateNoGenericIdParameterNames;
-import static org.jakubfilo.openapivalidator.validation.rules.RulesFacade.validateOperationDescriptions;
-import static org.jakubfilo.openapivalidator.validation.rules.RulesFacade.validatePostEndpointsUseCreated;
-
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.jakubfilo.openapivalidator.profiling.ProfileReport;
+import org.jakubfilo.openapivalidator.profiling.RuleEvaluationEvent;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaDuplicate;
 
 import io.swagger.v3.oas.models.OpenAPI;
 
 public class OpenApiSpecValidator {
 
+	/**
+	 * Index entries below which a range is evaluated on the current worker instead of being split further.
+	 */
+	static final int PARALLEL_CHUNK = 512;
+
+	private final List<Rule> rules;
+	private final ParseProfile parseProfile;
+	private final boolean structural;
+	private final ProfileReport profile;
+	private final ForkJoinPool pool;
+
+	public OpenApiSpecValidator() {
+		this(RuleLoader.load());
+	}
+
+	public OpenApiSpecValidator(List<Rule> rules) {
+		this(rules, null);
+	}
+
+	/**
+	 * @param profile receives per-rule cost when not null
+	 */
+	public OpenApiSpecValidator(List<Rule> rules, ProfileReport profile) {
+		this(rules, profile, null);
+	}
+
+	/**
+	 * @param profile receives per-rule cost when not null
+	 * @param pool    evaluates rules and chunks of the index in parallel when not null; the result is identical to
+	 *                the sequential one
+	 */
+	public OpenApiSpecValidator(List<Rule> rules, ProfileReport profile, ForkJoinPool pool) {
+		this.rules = List.copyOf(rules);
+		this.parseProfile = ParseProfile.cheapest(this.rules);
+		this.structural = this.rules.stream().anyMatch(Rule::isStructural);
+		this.profile = profile;
+		this.pool = pool;
+	}
+
+	public List<Rule> getRules() {
+		return rules;
+	}
+
+	/**
+	 * The cheapest parse profile that satisfies every rule; specs should be parsed with it.
+	 */
+	public ParseProfile getParseProfile() {
+		return parseProfile;
+	}
+
+	/**
+	 * Whether a rule is {@link Rule#isStructural() structural}, i.e. whether the indexes this validator runs on
+	 * need their schema shapes.
+	 */
+	public boolean hasStructuralRules() {
+		return structural;
+	}
+
 	public List<ValidationError> validate(OpenAPI openAPI) {
+		return validate(SpecIndex.of(openAPI, null, structural));
+	}
+
+	public List<ValidationError> validate(SpecIndex index) {
+		return validate(index, null);
+	}
+
+	/**
+	 * Runs every rule against a prebuilt index. Errors are grouped by rule, in rule order.
+	 * Each rule evaluation emits a {@link RuleEvaluationEvent} tagged with {@code specPath}.
+	 */
+	public List<ValidationError> validate(SpecIndex index, String specPath) {
 		List<ValidationError> errors = new ArrayList<>();
-		validateOperationDescriptions(openAPI, errors);
-		validateLowerCamelCaseSchemaProperties(openAPI, errors);
-		validatePostEndpointsUseCreated(openAPI, errors);
-		validateNoGenericIdParameterNames(openAPI, errors);
-		validateEnumsAsUpperSnakeCase(openAPI, errors);
+		validate(index, specPath, errors::add);
 		return errors;
 	}
+
+	/**
+	 * Like {@link #validate(SpecIndex, String)}, but errors go to {@code sink} as they are found. Traversal stops
+	 * as soon as the sink is done.
+	 */
+	public void validate(SpecIndex index, String specPath, ValidationSink sink) {
+		if (pool != null) {
+			validateParallel(index, specPath, sink);
+			return;
+		}
+		for (Rule rule : rules) {
+			if (sink.isDone()) {
+				return;
+			}
+			RuleEvaluationEvent event = new RuleEvaluationEvent();
+			event.begin();
+			long start = System.nanoTime();
+			RuleContext context = new RuleContext(index, sink);
+
+			long visited = runRule(rule, index, context);
+
+			record(rule, specPath, event, System.nanoTime() - start, visited, context.reported());
+		}
+	}
+
+	/**
+	 * One task per rule, each splitting its node kinds into ranges of at most {@link #PARALLEL_CHUNK} entries.
+	 * Every range reports into its own buffer and buffers are passed to the sink in index order, so the output
+	 * equals the sequential one. A done sink stops ranges between entries. Each rule's cost is recorded in the
+	 * {@link ProfileReport} here, once its task has been joined, rather than on the worker.
+	 */
+	private void validateParallel(SpecIndex index, String specPath, ValidationSink sink) {
+		List<RuleTask> tasks = new ArrayList<>(rules.size());
+		for (Rule rule : rules) {
+			RuleTask task = new RuleTask(rule, index, specPath, sink);
+			tasks.add(task);
+			pool.execute(task);
+		}
+		for (RuleTask task : tasks) {
+			List<ValidationError> errors = task.join();
+			if (profile != null) {
+				profile.record(task.rule.id(), task.elapsed, task.visited, errors.size());
+			}
+			for (ValidationError error : errors) {
+				if (sink.isDone()) {
+					tasks.forEach(t -> t.cancel(false));
+					return;
+				}
+				sink.accept(error);
+			}
+		}
+	}
+
+	private void record(Rule rule, String specPath, RuleEvaluationEvent event, long elapsed, long visited, int emitted) {
+		commit(rule, specPath, event, elapsed, visited, emitted);
+		if (profile != null) {
+			profile.record(rule.id(), elapsed, visited, emitted);
+		}
+	}
+
+	private static void commit(Rule rule, String specPath, RuleEvaluationEvent event, long elapsed, long visited,
+			int emitted) {
+		if (event.shouldCommit()) {
+			event.ruleId = rule.id();
+			event.specPath = specPath;
+			event.elapsedNanos = elapsed;
+			event.objectsVisited = visited;
+			event.errorsEmitted = emitted;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Returns the number of index entries dispatched to the rule.
+	 */
+	private static long runRule(Rule rule, SpecIndex index, RuleContext context) {
+		long visited = 0;
+		for (NodeKind kind : NodeKind.values()) {
+			if (!rule.nodeKinds().contains(kind)) {
+				continue;
+			}
+			visited += dispatch(rule, kind, index, 0, index.count(kind), context);
+		}
+		return visited;
+	}
+
+	/**
+	 * Dispatches entries {@code [from, to)} of one node kind to the rule, stopping early once the context's sink
+	 * is done. Returns the number of entries dispatched.
+	 */
+	private static int dispatch(Rule rule, NodeKind kind, SpecIndex index, int from, int to, RuleContext context) {
+		if (from == 0 && to == index.count(kind) && oncePerShape(rule, kind, index)) {
+			return dispatchOncePerShape(rule, kind, index, context);
+		}
+		int i = from;
+		for (; i < to && !context.isDone(); i++) {
+			dispatchOne(rule, kind, index, i, context);
+		}
+		return i - from;
+	}
+
+	private static void dispatchOne(Rule rule, NodeKind kind, SpecIndex index, int i, RuleContext context) {
+		switch (kind) {
+			case OPERATION -> rule.onOperation(index.operations().get(i), context);
+			case PARAMETER -> rule.onParameter(index.parameters().get(i), context);
+			case SCHEMA -> rule.onSchema(index.schemas().get(i), context);
+			case PROPERTY -> rule.onProperty(index.properties().get(i), context);
+			case ENUM_VALUE -> rule.onEnumValue(index.enumValues().get(i), context);
+		}
+	}
+
+	private static boolean oncePerShape(Rule rule, NodeKind kind, SpecIndex index) {
+		return rule.isStructural() && !index.duplicateSchemas().isEmpty()
+				&& (kind == NodeKind.SCHEMA || kind == NodeKind.PROPERTY || kind == NodeKind.ENUM_VALUE);
+	}
+
+	/**
+	 * Dispatches all entries of one node kind to a structural rule, except entries of duplicate schema subtrees:
+	 * those receive the findings on the corresponding entry of the first occurrence, relocated. The corresponding
+	 * entry always comes earlier, so its findings are known by then. Returns the number of entries dispatched.
+	 */
+	private static int dispatchOncePerShape(Rule rule, NodeKind kind, SpecIndex index, RuleContext context) {
+		EntrySink entries = new EntrySink(context);
+		RuleContext recording = new RuleContext(index, entries);
+		int dispatched = 0;
+		for (int i = 0; i < index.count(kind) && !context.isDone(); i++) {
+			entries.entry = i;
+			int canonical = index.canonicalEntry(kind, i);
+			if (canonical < 0) {
+				dispatchOne(rule, kind, index, i, recording);
+				dispatched++;
+				continue;
+			}
+			List<ValidationError> found = entries.found.get(canonical);
+			if (found != null) {
+				SchemaDuplicate duplicate = index.duplicateAt(kind, i);
+				for (ValidationError error : found) {
+					recording.report(new ValidationError(error.getCode(),
+							error.getErrorLocation().relocate(duplicate.canonical(), duplicate.location()),
+							error.getMessage()));
+				}
+			}
+		}
+		return dispatched;
+	}
+
+	/**
+	 * Passes findings through to the rule's context and remembers which entry produced them.
+	 */
+	private static final class EntrySink implements ValidationSink {
+
+		private final RuleContext context;
+		private final Map<Integer, List<ValidationError>> found = new HashMap<>();
+		private int entry;
+
+		EntrySink(RuleContext context) {
+			this.context = context;
+		}
+
+		@Override
+		public void accept(ValidationError error) {
+			found.computeIfAbsent(entry, e -> new ArrayList<>(1)).add(error);
+			context.report(error);
+		}
+
+		@Override
+		public boolean isDone() {
+			return context.isDone();
+		}
+	}
+
+	/**
+	 * Evaluates one rule; its cost is read by the joining thread.
+	 */
+	private static final class RuleTask extends RecursiveTask<List<ValidationError>> {
+
+		private final Rule rule;
+		private final SpecIndex index;
+		private final String specPath;
+		private final ValidationSink sink;
+		private long elapsed;
+		private long visited;
+
+		RuleTask(Rule rule, SpecIndex index, String specPath, ValidationSink sink) {
+			this.rule = rule;
+			this.index = index;
+			this.specPath = specPath;
+			this.sink = sink;
+		}
+
+		@Override
+		protected List<ValidationError> compute() {
+			RuleEvaluationEvent event = new RuleEvaluationEvent();
+			event.begin();
+			long start = System.nanoTime();
+
+			List<RangeTask> ranges = new ArrayList<>();
+			for (NodeKind kind : NodeKind.values()) {
+				if (rule.nodeKinds().contains(kind)) {
+					ranges.add(new RangeTask(rule, kind, index, 0, index.count(kind), sink));
+					visited += index.count(kind);
+				}
+			}
+			ForkJoinTask.invokeAll(ranges);
+			List<ValidationError> errors = new ArrayList<>();
+			for (RangeTask range : ranges) {
+				errors.addAll(range.join());
+			}
+
+			elapsed = System.nanoTime() - start;
+			commit(rule, specPath, event, elapsed, visited, errors.size());
+			return errors;
+		}
+	}
+
+	/**
+	 * Keeps a range's findings for the joining thread, and is done when the caller's sink is.
+	 */
+	private static final class BufferSink implements ValidationSink {
+
+		private final ValidationSink sink;
+		private final List<ValidationError> errors = new ArrayList<>();
+
+		BufferSink(ValidationSink sink) {
+			this.sink = sink;
+		}
+
+		@Override
+		public void accept(ValidationError error) {
+			errors.add(error);
+		}
+
+		@Override
+		public boolean isDone() {
+			return sink.isDone();
+		}
+	}
+
+	private static final class RangeTask extends RecursiveTask<List<ValidationError>> {
+
+		private final Rule rule;
+		private final NodeKind kind;
+		private final SpecIndex index;
+		private final int from;
+		private final int to;
+		private final ValidationSink sink;
+
+		RangeTask(Rule rule, NodeKind kind, SpecIndex index, int from, int to, ValidationSink sink) {
+			this.rule = rule;
+			this.kind = kind;
+			this.index = index;
+			this.from = from;
+			this.to = to;
+			this.sink = sink;
+		}
+
+		@Override
+		protected List<ValidationError> compute() {
+			// Once-per-shape dispatch reads findings of earlier entries, so it is not split
+			if (to - from <= PARALLEL_CHUNK || oncePerShape(rule, kind, index)) {
+				BufferSink buffer = new BufferSink(sink);
+				dispatch(rule, kind, index, from, to, new RuleContext(index, buffer));
+				return buffer.errors;
+			}
+			int middle = (from + to) >>> 1;
+			RangeTask left = new RangeTask(rule, kind, index, from, middle, sink);
+			left.fork();
+			List<ValidationError> right = new RangeTask(rule, kind, index, middle, to, sink).compute();
+			List<ValidationError> errors = left.join();
+			errors.addAll(right);
+			return errors;
+		}
+	}
 }
@@ -0,0 +1,86 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.util.Collection;
+import java.util.List;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.util.InlineModelResolver;
+import io.swagger.v3.parser.util.ResolverFully;
+
+/**
+ * How much work the swagger parser does after deserializing a spec, in order of cost. Each {@link Rule} declares
+ * the profile it needs, and the engine parses with the cheapest profile that {@link #satisfies satisfies} all
+ * active rules.
+ * <p>
+ * External file refs are resolved before deserialization under every profile; these profiles concern the
+ * in-document work on the model.
+ */
+public enum ParseProfile {
+
+	/**
+	 * The model as written, with {@code $ref}s left in place. Enough for rules that look at names and descriptions.
+	 */
+	AS_WRITTEN,
+
+	/**
+	 * Refs to parameters, responses, request bodies and other non-schema components replaced by their targets.
+	 */
+	RESOLVED,
+
+	/**
+	 * {@link #RESOLVED}, with inline object schemas moved into named components.
+	 */
+	FLATTENED,
+
+	/**
+	 * {@link #RESOLVED}, with schema refs replaced by their targets as well. Component locations and
+	 * {@code $ref} names are lost.
+	 */
+	RESOLVED_FULLY;
+
+	/**
+	 * The cheapest profile that satisfies every rule.
+	 *
+	 * @throws IllegalArgumentException if the rules need profiles that exclude each other
+	 */
+	public static ParseProfile cheapest(Collection<Rule> rules) {
+		List<ParseProfile> needed = rules.stream().map(Rule::parseProfile).distinct().toList();
+		for (ParseProfile candidate : values()) {
+			if (needed.stream().allMatch(candidate::satisfies)) {
+				return candidate;
+			}
+		}
+		throw new IllegalArgumentException("Rules need conflicting parse profiles " + needed);
+	}
+
+	/**
+	 * Whether a model parsed with this profile can serve a rule that needs {@code needed}. Flattening and full
+	 * resolution undo each other, so neither satisfies the other.
+	 */
+	public boolean satisfies(ParseProfile needed) {
+		return switch (needed) {
+			case AS_WRITTEN -> true;
+			case RESOLVED -> this != AS_WRITTEN;
+			case FLATTENED, RESOLVED_FULLY -> this == needed;
+		};
+	}
+
+	/**
+	 * Applies this profile to a freshly deserialized model; may modify it in place.
+	 */
+	public OpenAPI apply(OpenAPI openAPI) {
+		if (this == AS_WRITTEN) {
+			return openAPI;
+		}
+		OpenAPI resolved = new OpenAPIResolver(openAPI, List.of(), null).resolve();
+		switch (this) {
+			case FLATTENED -> new InlineModelResolver().flatten(resolved);
+			case RESOLVED_FULLY -> new ResolverFully().resolveFully(resolved);
+			default -> {
+				// resolved is all there is to do
+			}
+		}
+		return resolved;
+	}
+}
@@ -0,0 +1,329 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+
+/**
+ * Segment trie of a spec's path templates, as a router sees them: literal segments are hash map edges and every
+ * node has at most one parameter edge, shared by all templates with a parameter at that position whatever it is
+ * named. {@code /users/{userId}} and {@code /users/{id}} therefore end at the same node.
+ * <p>
+ * A segment that mixes literal text and parameters, e.g. {@code {name}.json}, is a literal edge keyed by its text
+ * with the parameter names dropped; it overlaps the parameter edge but is not matched against other literals or
+ * request segments. A parameter never matches an empty segment, e.g. the one a trailing slash adds.
+ * <p>
+ * {@link #overlaps()} walks pairs of nodes that some request path reaches both of, so it costs time proportional
+ * to the number of segments plus the overlapping pairs rather than comparing every pair of templates. Built once
+ * per {@link SpecIndex}; safe for concurrent use once built.
+ * <p>
+ * A {@link #focusedOn(Set) focused} view serves an index of some of a spec's path items, as {@code --base} builds:
+ * it keeps the whole spec's templates but only the overlaps that involve one of the focused templates.
+ */
+public final class PathTrie {
+
+	public enum OverlapKind {
+		/** Both templates match exactly the same requests; only parameter names differ */
+		DUPLICATE,
+		/** Every request to the more specific template also matches the other one */
+		SHADOWED,
+		/** Some requests match both templates and neither is more specific */
+		AMBIGUOUS
+	}
+
+	/**
+	 * A path template and the HTTP methods declared on it.
+	 *
+	 * @param order position of the template among all templates, in declaration order
+	 */
+	public record Route(String template, int order, Set<PathItem.HttpMethod> methods) {
+	}
+
+	/**
+	 * Two templates that match a common request path, for the methods both declare.
+	 *
+	 * @param first    the template declared first
+	 * @param second   the template declared later, which introduced the overlap
+	 * @param specific for {@link OverlapKind#SHADOWED}, the template with a literal where the other has a
+	 *                 parameter; null otherwise
+	 */
+	public record Overlap(Route first, Route second, OverlapKind kind, Route specific,
+			Set<PathItem.HttpMethod> methods) {
+	}
+
+	private static final class Node {
+
+		private final Map<String, Node> literals = new HashMap<>(4);
+		private Node parameter;
+		/**
+		 * Templates ending here, in declaration order; null if none.
+		 */
+		private List<Route> routes;
+	}
+
+	private final Node root;
+	private final List<Route> routes;
+	private volatile List<Overlap> overlaps;
+	private volatile Map<String, List<Overlap>> overlapsByRoute;
+	/**
+	 * Templates whose overlaps {@link #overlapsOf(String)} returns, or null for all.
+	 */
+	private final Set<String> focus;
+
+	private PathTrie(Node root, List<Route> routes, Set<String> focus) {
+		this.root = root;
+		this.routes = routes;
+		this.focus = focus;
+	}
+
+	/**
+	 * The trie of the templates of every operation in {@code openAPI}, without indexing anything else.
+	 */
+	public static PathTrie of(OpenAPI openAPI) {
+		Builder builder = new Builder();
+		if (openAPI.getPaths() != null) {
+			openAPI.getPaths().forEach((template, item) ->
+					item.readOperationsMap().keySet().forEach(method -> builder.add(template, method)));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * A view of this trie whose {@link #overlapsOf(String)} keeps only the overlaps involving at least one of
+	 * {@code templates}, each attributed to the later of its templates among them. An overlap between a focused
+	 * template and a later one outside the focus is then still attributed to a focused template, which is the only
+	 * kind a rule on the focused path items gets to see.
+	 */
+	public PathTrie focusedOn(Set<String> templates) {
+		return new PathTrie(root, routes, Set.copyOf(templates));
+	}
+
+	/**
+	 * All templates, in declaration order.
+	 */
+	public List<Route> routes() {
+		return routes;
+	}
+
+	/**
+	 * Templates matching the concrete request path, literal segments preferred over parameters at each position
+	 * as most routers do; the first one is the route such a router picks.
+	 */
+	public List<Route> match(String requestPath) {
+		List<Route> matches = new ArrayList<>(1);
+		match(root, segments(requestPath), 0, matches);
+		return matches;
+	}
+
+	private static void match(Node node, String[] segments, int depth, List<Route> matches) {
+		if (depth == segments.length) {
+			if (node.routes != null) {
+				matches.addAll(node.routes);
+			}
+			return;
+		}
+		Node literal = node.literals.get(segments[depth]);
+		if (literal != null) {
+			match(literal, segments, depth + 1, matches);
+		}
+		if (node.parameter != null && !segments[depth].isEmpty()) {
+			match(node.parameter, segments, depth + 1, matches);
+		}
+	}
+
+	/**
+	 * Every pair of templates that overlap for at least one method, ordered by the later template, then by the
+	 * earlier one.
+	 */
+	public List<Overlap> overlaps() {
+		List<Overlap> result = overlaps;
+		if (result == null) {
+			List<Overlap> found = new ArrayList<>();
+			within(root, found);
+			found.sort(Comparator.comparingInt((Overlap overlap) -> overlap.second().order())
+					.thenComparingInt(overlap -> overlap.first().order()));
+			result = Collections.unmodifiableList(found);
+			overlaps = result;
+		}
+		return result;
+	}
+
+	/**
+	 * The overlaps {@code template} introduced, i.e. those where it is the {@link Overlap#second() later}
+	 * template, so that each overlap is attributed to one template only. In a {@link #focusedOn(Set) focused}
+	 * view, {@code template} may also be the {@link Overlap#first() earlier} one.
+	 */
+	public List<Overlap> overlapsOf(String template) {
+		Map<String, List<Overlap>> byRoute = overlapsByRoute;
+		if (byRoute == null) {
+			Map<String, List<Overlap>> grouped = new HashMap<>();
+			for (Overlap overlap : overlaps()) {
+				String owner = focus == null || focus.contains(overlap.second().template())
+						? overlap.second().template()
+						: focus.contains(overlap.first().template()) ? overlap.first().template() : null;
+				if (owner != null) {
+					grouped.computeIfAbsent(owner, k -> new ArrayList<>(1)).add(overlap);
+				}
+			}
+			grouped.replaceAll((key, list) -> List.copyOf(list));
+			byRoute = Collections.unmodifiableMap(grouped);
+			overlapsByRoute = byRoute;
+		}
+		return byRoute.getOrDefault(template, List.of());
+	}
+
+	/**
+	 * Overlaps among the templates below one node: duplicates ending at the node, then pairs reaching a literal
+	 * edge and the parameter edge.
+	 */
+	private static void within(Node node, List<Overlap> found) {
+		if (node.routes != null) {
+			for (int i = 0; i < node.routes.size(); i++) {
+				for (int j = i + 1; j < node.routes.size(); j++) {
+					add(node.routes.get(i), node.routes.get(j), OverlapKind.DUPLICATE, null, found);
+				}
+			}
+		}
+		for (Map.Entry<String, Node> literal : node.literals.entrySet()) {
+			within(literal.getValue(), found);
+			if (node.parameter != null && !literal.getKey().isEmpty()) {
+				between(literal.getValue(), node.parameter, true, false, found);
+			}
+		}
+		if (node.parameter != null) {
+			within(node.parameter, found);
+		}
+	}
+
+	/**
+	 * Overlaps between the templates below {@code a} and those below {@code b}, two distinct nodes at the same
+	 * depth that a common request prefix reaches.
+	 *
+	 * @param aSpecific whether {@code a}'s side took a literal edge where {@code b}'s took a parameter on the way
+	 * @param bSpecific the other way round
+	 */
+	private static void between(Node a, Node b, boolean aSpecific, boolean bSpecific, List<Overlap> found) {
+		if (a.routes != null && b.routes != null) {
+			OverlapKind kind = aSpecific && bSpecific ? OverlapKind.AMBIGUOUS : OverlapKind.SHADOWED;
+			for (Route first : a.routes) {
+				for (Route second : b.routes) {
+					Route specific = kind == OverlapKind.AMBIGUOUS ? null : aSpecific ? first : second;
+					add(first, second, kind, specific, found);
+				}
+			}
+		}
+		// Join the literal edges through the smaller map
+		boolean aSmaller = a.literals.size() <= b.literals.size();
+		for (Map.Entry<String, Node> edge : (aSmaller ? a.literals : b.literals).entrySet()) {
+			Node other = (aSmaller ? b.literals : a.literals).get(edge.getKey());
+			if (other != null) {
+				between(aSmaller ? edge.getValue() : other, aSmaller ? other : edge.getValue(), aSpecific, bSpecific,
+						found);
+			}
+		}
+		if (b.parameter != null) {
+			for (Map.Entry<String, Node> literal : a.literals.entrySet()) {
+				if (!literal.getKey().isEmpty()) {
+					between(literal.getValue(), b.parameter, true, bSpecific, found);
+				}
+			}
+		}
+		if (a.parameter != null) {
+			for (Map.Entry<String, Node> literal : b.literals.entrySet()) {
+				if (!literal.getKey().isEmpty()) {
+					between(a.parameter, literal.getValue(), aSpecific, true, found);
+				}
+			}
+			if (b.parameter != null) {
+				between(a.parameter, b.parameter, aSpecific, bSpecific, found);
+			}
+		}
+	}
+
+	private static void add(Route a, Route b, OverlapKind kind, Route specific, List<Overlap> found) {
+		Set<PathItem.HttpMethod> methods = EnumSet.noneOf(PathItem.HttpMethod.class);
+		methods.addAll(a.methods());
+		methods.retainAll(b.methods());
+		if (methods.isEmpty()) {
+			return;
+		}
+		boolean aFirst = a.order() < b.order();
+		found.add(new Overlap(aFirst ? a : b, aFirst ? b : a, kind, specific, Collections.unmodifiableSet(methods)));
+	}
+
+	/**
+	 * Splits a path after its leading slash, so {@code /} is one empty segment and a trailing slash adds one.
+	 */
+	private static String[] segments(String path) {
+		return (path.startsWith("/") ? path.substring(1) : path).split("/", -1);
+	}
+
+	/**
+	 * Collects templates and their methods, then builds the trie.
+	 */
+	public static final class Builder {
+
+		private final Map<String, Set<PathItem.HttpMethod>> templates = new LinkedHashMap<>();
+
+		public Builder add(String template, PathItem.HttpMethod method) {
+			templates.computeIfAbsent(template, k -> EnumSet.noneOf(PathItem.HttpMethod.class)).add(method);
+			return this;
+		}
+
+		public PathTrie build() {
+			Node root = new Node();
+			List<Route> routes = new ArrayList<>(templates.size());
+			for (Map.Entry<String, Set<PathItem.HttpMethod>> template : templates.entrySet()) {
+				Route route = new Route(template.getKey(), routes.size(),
+						Collections.unmodifiableSet(template.getValue()));
+				routes.add(route);
+				Node node = root;
+				for (String segment : segments(route.template())) {
+					node = isParameter(segment)
+							? (node.parameter != null ? node.parameter : (node.parameter = new Node()))
+							: node.literals.computeIfAbsent(normalize(segment), k -> new Node());
+				}
+				if (node.routes == null) {
+					node.routes = new ArrayList<>(1);
+				}
+				node.routes.add(route);
+			}
+			return new PathTrie(root, List.copyOf(routes), null);
+		}
+
+		private static boolean isParameter(String segment) {
+			return segment.length() > 2 && segment.charAt(0) == '{' && segment.indexOf('}') == segment.length() - 1;
+		}
+
+		/**
+		 * Drops parameter names from a segment that mixes literal text and parameters.
+		 */
+		private static String normalize(String segment) {
+			int open = segment.indexOf('{');
+			if (open < 0) {
+				return segment;
+			}
+			StringBuilder normalized = new StringBuilder(segment.length());
+			int pos = 0;
+			while (open >= 0) {
+				int close = segment.indexOf('}', open);
+				if (close < 0) {
+					break;
+				}
+				normalized.append(segment, pos, open).append("{}");
+				pos = close + 1;
+				open = segment.indexOf('{', pos);
+			}
+			return normalized.append(segment, pos, segment.length()).toString();
+		}
+	}
+}
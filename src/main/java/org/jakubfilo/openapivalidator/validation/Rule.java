@@ -0,0 +1,80 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.SpecIndex.EnumValueRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.ParameterRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.PropertyRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaRef;
+
+/**
+ * A validation rule. Implementations are discovered with {@link java.util.ServiceLoader}
+ * (META-INF/services/org.jakubfilo.openapivalidator.validation.Rule) and must be stateless:
+ * one instance is shared by every validation run.
+ * <p>
+ * The engine feeds each rule only the {@link SpecIndex} entries of the kinds it subscribes to;
+ * rules may query the rest of the index through {@link RuleContext#index()}.
+ */
+public interface Rule {
+
+	/**
+	 * Stable identifier, e.g. {@code operation-description}.
+	 */
+	String id();
+
+	Set<NodeKind> nodeKinds();
+
+	/**
+	 * How far the spec must be resolved for this rule; the engine parses with the cheapest profile that
+	 * satisfies all rules.
+	 */
+	default ParseProfile parseProfile() {
+		return ParseProfile.AS_WRITTEN;
+	}
+
+	/**
+	 * Whether this rule's findings on a schema, property or enum value depend only on that schema subtree, not on
+	 * its location or the rest of the index. The engine then evaluates each distinct schema shape once and
+	 * relocates the findings to every {@link SpecIndex#duplicateSchemas() copy}; messages must not mention the
+	 * location.
+	 */
+	default boolean isStructural() {
+		return false;
+	}
+
+	/**
+	 * Whether this rule reads only the parts of the model that
+	 * {@link org.jakubfilo.openapivalidator.snapshot.SpecSnapshot} keeps: names, types, descriptions, enums,
+	 * operations, parameters, request bodies, responses and schema composition. Specs are loaded from snapshots
+	 * only when every rule opts in.
+	 */
+	default boolean isSnapshotSafe() {
+		return false;
+	}
+
+	/**
+	 * Whether this rule can run under {@code --streaming}: it reads only the fields
+	 * {@link org.jakubfilo.openapivalidator.validation.streaming.StreamingSpecValidator} materializes and neither
+	 * {@link RuleContext#index()} nor the schema of a {@link SchemaRef} or {@link PropertyRef}. Other rules are
+	 * skipped in that mode rather than run against missing data.
+	 */
+	default boolean isStreamable() {
+		return false;
+	}
+
+	default void onOperation(OperationRef operation, RuleContext context) {
+	}
+
+	default void onParameter(ParameterRef parameter, RuleContext context) {
+	}
+
+	default void onSchema(SchemaRef schema, RuleContext context) {
+	}
+
+	default void onProperty(PropertyRef property, RuleContext context) {
+	}
+
+	default void onEnumValue(EnumValueRef enumValue, RuleContext context) {
+	}
+}
@@ -0,0 +1,36 @@
+package org.jakubfilo.openapivalidator.validation;
+
+/**
+ * Per-rule view of a validation run: the shared index plus the sink the rule reports into.
+ */
+public final class RuleContext {
+
+	private final SpecIndex index;
+	private final ValidationSink sink;
+	private int reported;
+
+	public RuleContext(SpecIndex index, ValidationSink sink) {
+		this.index = index;
+		this.sink = sink;
+	}
+
+	public SpecIndex index() {
+		return index;
+	}
+
+	public void report(ValidationError error) {
+		reported++;
+		sink.accept(error);
+	}
+
+	/**
+	 * Number of errors reported through this context.
+	 */
+	int reported() {
+		return reported;
+	}
+
+	boolean isDone() {
+		return sink.isDone();
+	}
+}
@@ -0,0 +1,37 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import org.jakubfilo.openapivalidator.validation.config.RuleConfig;
+
+public final class RuleLoader {
+
+	private RuleLoader() {
+	}
+
+	/**
+	 * Loads all rules registered on the class path, in service-file order (built-in rules first).
+	 */
+	public static List<Rule> load() {
+		return load(RuleLoader.class.getClassLoader());
+	}
+
+	/**
+	 * Loads the registered rules and merges the rule configuration file into them, see {@link RuleConfig}.
+	 *
+	 * @param config null for the registered rules only
+	 * @throws IllegalArgumentException if the file is not a valid rule configuration
+	 */
+	public static List<Rule> load(Path config) throws IOException {
+		return config == null ? load() : RuleConfig.load(config).apply(load());
+	}
+
+	public static List<Rule> load(ClassLoader classLoader) {
+		return ServiceLoader.load(Rule.class, classLoader).stream()
+				.map(ServiceLoader.Provider::get)
+				.toList();
+	}
+}
@@ -0,0 +1,260 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * Canonical structural hash of {@link Schema} subtrees: two subtrees hash alike when they declare the same keywords
+ * with the same values, properties in the same order and structurally equal children, wherever they appear.
+ * Each schema instance is hashed once, bottom up, and children contribute their memoized hash, so hashing every
+ * subtree of a spec is linear in its size.
+ * <p>
+ * The hash is 64-bit FNV-1a over the keyword values' chars, with a tag per keyword so that values cannot shift
+ * between keywords. Equal hashes only make two subtrees candidates: {@link #same} compares them keyword by keyword
+ * before they are treated as one shape. A schema reached again while its own hash is being computed (a cycle in a
+ * resolved model) contributes a fixed value.
+ * Not thread-safe; one instance serves one index build.
+ */
+final class SchemaHash {
+
+	private static final long OFFSET = 0xCBF29CE484222325L;
+	private static final long PRIME = 0x100000001B3L;
+	private static final long NULL = 0x9E3779B97F4A7C15L;
+	private static final long CYCLE = 0xC2B2AE3D27D4EB4FL;
+
+	private final Map<Schema<?>, Long> hashes = new IdentityHashMap<>();
+
+	long of(Schema<?> schema) {
+		if (schema == null) {
+			return NULL;
+		}
+		Long known = hashes.get(schema);
+		if (known != null) {
+			return known;
+		}
+		hashes.put(schema, CYCLE);
+		long hash = compute(schema);
+		hashes.put(schema, hash);
+		return hash;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private long compute(Schema<?> schema) {
+		long h = OFFSET;
+		h = text(h, 1, schema.get$ref());
+		h = text(h, 2, schema.getType());
+		h = value(h, 3, schema.getTypes());
+		h = text(h, 4, schema.getFormat());
+		h = text(h, 5, schema.getTitle());
+		h = text(h, 6, schema.getDescription());
+		h = value(h, 7, schema.getEnum());
+		h = value(h, 8, schema.getDefault());
+		h = value(h, 9, schema.getConst());
+		h = value(h, 10, schema.getExample());
+		h = value(h, 11, schema.getNullable());
+		h = value(h, 12, schema.getRequired());
+		h = text(h, 13, schema.getPattern());
+		h = value(h, 14, schema.getMinLength());
+		h = value(h, 15, schema.getMaxLength());
+		h = value(h, 16, schema.getMinimum());
+		h = value(h, 17, schema.getMaximum());
+		h = value(h, 18, schema.getExclusiveMinimum());
+		h = value(h, 19, schema.getExclusiveMaximum());
+		h = value(h, 20, schema.getMultipleOf());
+		h = value(h, 21, schema.getMinItems());
+		h = value(h, 22, schema.getMaxItems());
+		h = value(h, 23, schema.getUniqueItems());
+		h = value(h, 24, schema.getMinProperties());
+		h = value(h, 25, schema.getMaxProperties());
+		h = value(h, 26, schema.getReadOnly());
+		h = value(h, 27, schema.getWriteOnly());
+		h = value(h, 28, schema.getDeprecated());
+		h = value(h, 29, schema.getDiscriminator());
+		h = value(h, 30, schema.getXml());
+		h = value(h, 31, schema.getExternalDocs());
+		h = value(h, 32, schema.getExtensions());
+
+		Map<String, Schema> properties = schema.getProperties();
+		h = tag(h, 33);
+		if (properties != null) {
+			for (Map.Entry<String, Schema> property : properties.entrySet()) {
+				h = text(h, 34, property.getKey());
+				h = child(h, of(property.getValue()));
+			}
+		}
+		h = child(tag(h, 35), of(schema.getItems()));
+		h = schemas(h, 36, (List) schema.getAllOf());
+		h = schemas(h, 37, (List) schema.getAnyOf());
+		h = schemas(h, 38, (List) schema.getOneOf());
+		h = child(tag(h, 39), of(schema.getNot()));
+		Object additional = schema.getAdditionalProperties();
+		h = tag(h, 40);
+		h = additional instanceof Schema<?> additionalSchema ? child(h, of(additionalSchema)) : value(h, 41, additional);
+		return h;
+	}
+
+	/**
+	 * Whether two subtrees declare the same keywords with equal values, properties in the same order and
+	 * structurally equal children. Children whose hashes differ are told apart without descending; a pair reached
+	 * again while it is being compared (a cycle) is taken as equal.
+	 */
+	boolean same(Schema<?> a, Schema<?> b) {
+		return same(a, b, new IdentityHashMap<>());
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private boolean same(Schema<?> a, Schema<?> b, Map<Schema<?>, Schema<?>> comparing) {
+		if (a == b) {
+			return true;
+		}
+		if (a == null || b == null || of(a) != of(b)) {
+			return false;
+		}
+		if (comparing.putIfAbsent(a, b) == b) {
+			return true;
+		}
+		boolean same = Objects.equals(a.get$ref(), b.get$ref())
+				&& Objects.equals(a.getType(), b.getType())
+				&& Objects.equals(a.getTypes(), b.getTypes())
+				&& Objects.equals(a.getFormat(), b.getFormat())
+				&& Objects.equals(a.getTitle(), b.getTitle())
+				&& Objects.equals(a.getDescription(), b.getDescription())
+				&& Objects.equals(a.getEnum(), b.getEnum())
+				&& Objects.equals(a.getDefault(), b.getDefault())
+				&& Objects.equals(a.getConst(), b.getConst())
+				&& Objects.equals(a.getExample(), b.getExample())
+				&& Objects.equals(a.getNullable(), b.getNullable())
+				&& Objects.equals(a.getRequired(), b.getRequired())
+				&& Objects.equals(a.getPattern(), b.getPattern())
+				&& Objects.equals(a.getMinLength(), b.getMinLength())
+				&& Objects.equals(a.getMaxLength(), b.getMaxLength())
+				&& Objects.equals(a.getMinimum(), b.getMinimum())
+				&& Objects.equals(a.getMaximum(), b.getMaximum())
+				&& Objects.equals(a.getExclusiveMinimum(), b.getExclusiveMinimum())
+				&& Objects.equals(a.getExclusiveMaximum(), b.getExclusiveMaximum())
+				&& Objects.equals(a.getMultipleOf(), b.getMultipleOf())
+				&& Objects.equals(a.getMinItems(), b.getMinItems())
+				&& Objects.equals(a.getMaxItems(), b.getMaxItems())
+				&& Objects.equals(a.getUniqueItems(), b.getUniqueItems())
+				&& Objects.equals(a.getMinProperties(), b.getMinProperties())
+				&& Objects.equals(a.getMaxProperties(), b.getMaxProperties())
+				&& Objects.equals(a.getReadOnly(), b.getReadOnly())
+				&& Objects.equals(a.getWriteOnly(), b.getWriteOnly())
+				&& Objects.equals(a.getDeprecated(), b.getDeprecated())
+				&& Objects.equals(a.getDiscriminator(), b.getDiscriminator())
+				&& Objects.equals(a.getXml(), b.getXml())
+				&& Objects.equals(a.getExternalDocs(), b.getExternalDocs())
+				&& Objects.equals(a.getExtensions(), b.getExtensions())
+				&& sameProperties(a.getProperties(), b.getProperties(), comparing)
+				&& same(a.getItems(), b.getItems(), comparing)
+				&& sameSchemas((List) a.getAllOf(), (List) b.getAllOf(), comparing)
+				&& sameSchemas((List) a.getAnyOf(), (List) b.getAnyOf(), comparing)
+				&& sameSchemas((List) a.getOneOf(), (List) b.getOneOf(), comparing)
+				&& same(a.getNot(), b.getNot(), comparing)
+				&& (a.getAdditionalProperties() instanceof Schema<?> additional
+						? b.getAdditionalProperties() instanceof Schema<?> other && same(additional, other, comparing)
+						: Objects.equals(a.getAdditionalProperties(), b.getAdditionalProperties()));
+		comparing.remove(a);
+		return same;
+	}
+
+	@SuppressWarnings("rawtypes")
+	private boolean sameProperties(Map<String, Schema> a, Map<String, Schema> b,
+			Map<Schema<?>, Schema<?>> comparing) {
+		if (a == null || b == null) {
+			return a == b;
+		}
+		if (a.size() != b.size()) {
+			return false;
+		}
+		Iterator<Map.Entry<String, Schema>> others = b.entrySet().iterator();
+		for (Map.Entry<String, Schema> property : a.entrySet()) {
+			Map.Entry<String, Schema> other = others.next();
+			if (!property.getKey().equals(other.getKey()) || !same(property.getValue(), other.getValue(), comparing)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean sameSchemas(List<Schema<?>> a, List<Schema<?>> b, Map<Schema<?>, Schema<?>> comparing) {
+		if (a == null || b == null) {
+			return a == b;
+		}
+		if (a.size() != b.size()) {
+			return false;
+		}
+		for (int i = 0; i < a.size(); i++) {
+			if (!same(a.get(i), b.get(i), comparing)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private long schemas(long h, int tag, List<Schema<?>> schemas) {
+		h = tag(h, tag);
+		if (schemas != null) {
+			for (Schema<?> schema : schemas) {
+				h = child(h, of(schema));
+			}
+		}
+		return h;
+	}
+
+	/**
+	 * Collections and maps are hashed element by element, prefixed with their size, so that {@code ["a, b"]}
+	 * and {@code ["a", "b"]} differ; other values by type and string form.
+	 */
+	private static long value(long h, int tag, Object value) {
+		h = tag(h, tag);
+		switch (value) {
+			case null -> h = child(h, NULL);
+			case Collection<?> collection -> {
+				h = child(h, collection.size());
+				for (Object element : collection) {
+					h = value(h, 0, element);
+				}
+			}
+			case Map<?, ?> map -> {
+				h = child(h, map.size());
+				for (Map.Entry<?, ?> entry : map.entrySet()) {
+					h = value(h, 0, entry.getKey());
+					h = value(h, 0, entry.getValue());
+				}
+			}
+			default -> h = text(text(h, 0, value.getClass().getName()), 0, value.toString());
+		}
+		return h;
+	}
+
+	private static long text(long h, int tag, String text) {
+		h = tag(h, tag);
+		if (text == null) {
+			return child(h, NULL);
+		}
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			h = (h ^ (c & 0xFF)) * PRIME;
+			h = (h ^ (c >>> 8)) * PRIME;
+		}
+		return h;
+	}
+
+	private static long tag(long h, int tag) {
+		return (h ^ (0x100 | tag)) * PRIME;
+	}
+
+	private static long child(long h, long child) {
+		for (int shift = 0; shift < 64; shift += 8) {
+			h = (h ^ ((child >>> shift) & 0xFF)) * PRIME;
+		}
+		return h;
+	}
+}
@@ -0,0 +1,396 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+/**
+ * Immutable, flat view of an OpenAPI model, built with a single {@link SpecWalker} pass and shared by all rules.
+ * Every array keeps the order in which the walker visited the nodes.
+ * <p>
+ * The build also hash-conses schema subtrees: each subtree's structural hash is computed bottom up once, and a
+ * subtree whose shape was seen before is recorded as a {@link SchemaDuplicate} whose entries map onto those of the
+ * first occurrence, so the engine can evaluate {@link Rule#isStructural() structural} rules once per shape. It
+ * hashes every schema, so it can be left out when no rule is structural and nobody reports the duplicates.
+ */
+public final class SpecIndex {
+
+	/**
+	 * An operation together with its effective parameters (path-level ones merged with operation-level overrides).
+	 */
+	public record OperationRef(String path, PathItem.HttpMethod method, Operation operation, List<Parameter> parameters) {
+	}
+
+	/**
+	 * A parameter as declared in the spec; {@code method} is null for path-level parameters.
+	 */
+	public record ParameterRef(String path, PathItem.HttpMethod method, Parameter parameter) {
+	}
+
+	/**
+	 * A visited schema; {@code name} is its location, see {@link SpecVisitor}.
+	 */
+	public record SchemaRef(String name, Schema<?> schema) {
+	}
+
+	public record PropertyRef(SchemaRef owner, String name, Schema<?> schema) {
+	}
+
+	public record EnumValueRef(SchemaRef owner, Object value) {
+	}
+
+	/**
+	 * A schema subtree with the same {@link SchemaHash structure} as one visited earlier, e.g. a pagination
+	 * envelope inlined into many responses.
+	 *
+	 * @param location  root location of this copy
+	 * @param canonical root location of the first occurrence
+	 * @param schemas   number of schemas in the subtree, its root included
+	 */
+	public record SchemaDuplicate(String location, String canonical, int schemas) {
+	}
+
+	private final OperationRef[] operations;
+	private final ParameterRef[] parameters;
+	private final SchemaRef[] schemas;
+	private final PropertyRef[] properties;
+	private final EnumValueRef[] enumValues;
+	private final Map<String, List<SchemaRef>> propertyOwners;
+	private final Map<String, List<String>> references;
+	private final List<SchemaDuplicate> duplicates;
+	private final PathTrie paths;
+	/**
+	 * Per {@link NodeKind} ordinal, for the schema, property and enum value entries: the corresponding entry of the
+	 * first occurrence, or -1, and the duplicate the entry belongs to. Null when the spec has no duplicates.
+	 */
+	private final int[][] canonicalEntries = new int[NodeKind.values().length][];
+	private final SchemaDuplicate[][] duplicateEntries = new SchemaDuplicate[NodeKind.values().length][];
+
+	private SpecIndex(Builder builder, PathTrie paths) {
+		this.operations = builder.operations.toArray(OperationRef[]::new);
+		this.parameters = builder.parameters.toArray(ParameterRef[]::new);
+		this.schemas = builder.schemas.toArray(SchemaRef[]::new);
+		this.properties = builder.properties.toArray(PropertyRef[]::new);
+		this.enumValues = builder.enumValues.toArray(EnumValueRef[]::new);
+		this.paths = paths != null ? paths : builder.paths.build();
+
+		Map<String, List<SchemaRef>> owners = new HashMap<>();
+		for (PropertyRef property : properties) {
+			owners.computeIfAbsent(property.name(), k -> new ArrayList<>(1)).add(property.owner());
+		}
+		owners.replaceAll((name, list) -> List.copyOf(list));
+		this.propertyOwners = Collections.unmodifiableMap(owners);
+
+		builder.references.replaceAll((target, sites) -> List.copyOf(sites));
+		this.references = Collections.unmodifiableMap(builder.references);
+
+		for (NodeKind kind : builder.copies.isEmpty() ? List.<NodeKind>of()
+				: List.of(NodeKind.SCHEMA, NodeKind.PROPERTY, NodeKind.ENUM_VALUE)) {
+			int[] canonical = new int[count(kind)];
+			Arrays.fill(canonical, -1);
+			canonicalEntries[kind.ordinal()] = canonical;
+			duplicateEntries[kind.ordinal()] = new SchemaDuplicate[canonical.length];
+		}
+		List<SchemaDuplicate> duplicates = new ArrayList<>(builder.copies.size());
+		for (Builder.Copy copy : builder.copies) {
+			duplicates.add(copy.duplicate());
+			mark(NodeKind.SCHEMA, copy.range().schemas(), copy.first().schemas(), copy.duplicate());
+			mark(NodeKind.PROPERTY, copy.range().properties(), copy.first().properties(), copy.duplicate());
+			mark(NodeKind.ENUM_VALUE, copy.range().enumValues(), copy.first().enumValues(), copy.duplicate());
+		}
+		this.duplicates = List.copyOf(duplicates);
+	}
+
+	private void mark(NodeKind kind, Builder.Range copy, Builder.Range first, SchemaDuplicate duplicate) {
+		for (int k = 0; k < copy.count(); k++) {
+			canonicalEntries[kind.ordinal()][copy.start() + k] = first.start() + k;
+			duplicateEntries[kind.ordinal()][copy.start() + k] = duplicate;
+		}
+	}
+
+	public static SpecIndex of(OpenAPI openAPI) {
+		return of(openAPI, null, true);
+	}
+
+	/**
+	 * @param paths  answers {@link #paths()}, e.g. a trie of the whole spec when {@code openAPI} holds only some of
+	 *               its path items; null for the trie of {@code openAPI}'s own templates
+	 * @param shapes whether to hash-cons schema subtrees; without it {@link #duplicateSchemas()} is empty
+	 */
+	public static SpecIndex of(OpenAPI openAPI, PathTrie paths, boolean shapes) {
+		Builder builder = new Builder(shapes);
+		SpecWalker.walk(openAPI, List.of(builder));
+		return new SpecIndex(builder, paths);
+	}
+
+	public List<OperationRef> operations() {
+		return view(operations);
+	}
+
+	public List<ParameterRef> parameters() {
+		return view(parameters);
+	}
+
+	public List<SchemaRef> schemas() {
+		return view(schemas);
+	}
+
+	public List<PropertyRef> properties() {
+		return view(properties);
+	}
+
+	public List<EnumValueRef> enumValues() {
+		return view(enumValues);
+	}
+
+	/**
+	 * The path templates of all operations, for rules about routing.
+	 */
+	public PathTrie paths() {
+		return paths;
+	}
+
+	/**
+	 * Schemas declaring a property with the given name, in visit order.
+	 */
+	public List<SchemaRef> schemasWithProperty(String propertyName) {
+		return propertyOwners.getOrDefault(propertyName, List.of());
+	}
+
+	/**
+	 * Locations where the schema at {@code schemaLocation} (e.g. a component name) is reachable without
+	 * being walked again: {@code $ref}s to it and repeated references to the same instance.
+	 * Findings on that schema apply to all of them.
+	 */
+	public List<String> referencesTo(String schemaLocation) {
+		return references.getOrDefault(schemaLocation, List.of());
+	}
+
+	/**
+	 * Schema subtrees that repeat an earlier one, outermost copies only, in visit order.
+	 */
+	public List<SchemaDuplicate> duplicateSchemas() {
+		return duplicates;
+	}
+
+	/**
+	 * For a schema, property or enum value entry inside a {@link #duplicateSchemas() duplicate}, the index of the
+	 * corresponding entry of the first occurrence, which is always lower; -1 for any other entry.
+	 */
+	public int canonicalEntry(NodeKind kind, int index) {
+		int[] canonical = canonicalEntries[kind.ordinal()];
+		return canonical == null ? -1 : canonical[index];
+	}
+
+	/**
+	 * The duplicate that entry {@code index} belongs to, or null; see {@link #canonicalEntry}.
+	 */
+	public SchemaDuplicate duplicateAt(NodeKind kind, int index) {
+		SchemaDuplicate[] duplicate = duplicateEntries[kind.ordinal()];
+		return duplicate == null ? null : duplicate[index];
+	}
+
+	public int count(NodeKind kind) {
+		return switch (kind) {
+			case OPERATION -> operations.length;
+			case PARAMETER -> parameters.length;
+			case SCHEMA -> schemas.length;
+			case PROPERTY -> properties.length;
+			case ENUM_VALUE -> enumValues.length;
+		};
+	}
+
+	private static <T> List<T> view(T[] array) {
+		return Collections.unmodifiableList(Arrays.asList(array));
+	}
+
+	private static final class Builder implements SpecVisitor {
+
+		private final List<OperationRef> operations = new ArrayList<>();
+		private final List<ParameterRef> parameters = new ArrayList<>();
+		private final List<SchemaRef> schemas = new ArrayList<>();
+		private final List<PropertyRef> properties = new ArrayList<>();
+		private final List<EnumValueRef> enumValues = new ArrayList<>();
+		private final PathTrie.Builder paths = new PathTrie.Builder();
+		private final boolean hashShapes;
+
+		private final Map<String, List<String>> references = new HashMap<>();
+
+		private String currentPath;
+		private final List<Parameter> pathParameters = new ArrayList<>();
+		private final Map<String, SchemaRef> schemasByLocation = new HashMap<>();
+
+		private final SchemaHash hash = new SchemaHash();
+		private long[] schemaHashes = new long[64];
+		private final ArrayDeque<int[]> openSchemas = new ArrayDeque<>();
+		/**
+		 * First occurrence of each shape, by hash; distinct shapes whose hashes collide share a bucket.
+		 */
+		private final Map<Long, List<Subtree>> shapes = new HashMap<>();
+		private final List<Copy> copies = new ArrayList<>();
+
+		/**
+		 * Entries {@code [start, start + count)} of one node kind.
+		 */
+		private record Range(int start, int count) {
+		}
+
+		/**
+		 * The schema, property and enum value entries a schema subtree produced.
+		 */
+		private record Subtree(Range schemas, Range properties, Range enumValues) {
+		}
+
+		private record Copy(Subtree range, Subtree first, SchemaDuplicate duplicate) {
+		}
+
+		Builder(boolean hashShapes) {
+			this.hashShapes = hashShapes;
+		}
+
+		@Override
+		public void onOperation(String path, PathItem.HttpMethod method, Operation operation) {
+			enterPath(path);
+			operations.add(new OperationRef(path, method, operation, mergeParameters(operation.getParameters())));
+			paths.add(path, method);
+		}
+
+		@Override
+		public void onParameter(String path, PathItem.HttpMethod method, Parameter parameter) {
+			enterPath(path);
+			if (method == null) {
+				pathParameters.add(parameter);
+			}
+			parameters.add(new ParameterRef(path, method, parameter));
+		}
+
+		@Override
+		public void onSchema(String location, Schema<?> schema) {
+			SchemaRef ref = new SchemaRef(location, schema);
+			schemasByLocation.put(location, ref);
+			if (!hashShapes) {
+				schemas.add(ref);
+				return;
+			}
+			if (schemas.size() == schemaHashes.length) {
+				schemaHashes = Arrays.copyOf(schemaHashes, schemaHashes.length * 2);
+			}
+			schemaHashes[schemas.size()] = hash.of(schema);
+			openSchemas.push(new int[] {schemas.size(), properties.size(), enumValues.size()});
+			schemas.add(ref);
+		}
+
+		/**
+		 * Registers the subtree's shape on its first occurrence; a later subtree that is structurally equal and has
+		 * the same entries becomes a copy of it, replacing the copies recorded for its own descendants.
+		 */
+		@Override
+		public void onSchemaEnd(String location, Schema<?> schema) {
+			if (!hashShapes) {
+				return;
+			}
+			int[] start = openSchemas.pop();
+			Subtree subtree = new Subtree(new Range(start[0], schemas.size() - start[0]),
+					new Range(start[1], properties.size() - start[1]),
+					new Range(start[2], enumValues.size() - start[2]));
+			List<Subtree> bucket = shapes.computeIfAbsent(schemaHashes[start[0]], k -> new ArrayList<>(1));
+			Subtree first = null;
+			for (Subtree candidate : bucket) {
+				if (hash.same(schemas.get(candidate.schemas().start()).schema(), schema)) {
+					first = candidate;
+					break;
+				}
+			}
+			if (first == null) {
+				bucket.add(subtree);
+				return;
+			}
+			if (!sameEntries(first, subtree)) {
+				return;
+			}
+			while (!copies.isEmpty() && copies.getLast().range().schemas().start() >= start[0]) {
+				copies.removeLast();
+			}
+			String canonical = schemas.get(first.schemas().start()).name();
+			copies.add(new Copy(subtree, first,
+					new SchemaDuplicate(location, canonical, subtree.schemas().count())));
+		}
+
+		/**
+		 * Equal structure does not guarantee equal walks: an instance already visited elsewhere is not walked again.
+		 * The walks are equal when both visited the same locations relative to their roots.
+		 */
+		private boolean sameEntries(Subtree first, Subtree copy) {
+			if (first.schemas().count() != copy.schemas().count()
+					|| first.properties().count() != copy.properties().count()
+					|| first.enumValues().count() != copy.enumValues().count()) {
+				return false;
+			}
+			int firstRoot = schemas.get(first.schemas().start()).name().length();
+			int copyRoot = schemas.get(copy.schemas().start()).name().length();
+			for (int k = 0; k < copy.schemas().count(); k++) {
+				int i = first.schemas().start() + k;
+				int j = copy.schemas().start() + k;
+				String a = schemas.get(i).name();
+				String b = schemas.get(j).name();
+				if (schemaHashes[i] != schemaHashes[j] || a.length() - firstRoot != b.length() - copyRoot
+						|| !a.regionMatches(firstRoot, b, copyRoot, a.length() - firstRoot)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void onProperty(String schemaLocation, String propertyName, Schema<?> property) {
+			properties.add(new PropertyRef(schemasByLocation.get(schemaLocation), propertyName, property));
+		}
+
+		@Override
+		public void onEnumValue(String schemaLocation, Object value) {
+			enumValues.add(new EnumValueRef(schemasByLocation.get(schemaLocation), value));
+		}
+
+		@Override
+		public void onSchemaReference(String location, String target) {
+			references.computeIfAbsent(target, k -> new ArrayList<>()).add(location);
+		}
+
+		private void enterPath(String path) {
+			if (!path.equals(currentPath)) {
+				currentPath = path;
+				pathParameters.clear();
+			}
+		}
+
+		/**
+		 * Operation-level parameters override path-level ones with the same name and location.
+		 */
+		private List<Parameter> mergeParameters(List<Parameter> operationParameters) {
+			if (operationParameters == null || operationParameters.isEmpty()) {
+				return List.copyOf(pathParameters);
+			}
+			Map<String, Parameter> merged = new LinkedHashMap<>();
+			for (Parameter p : pathParameters) {
+				merged.put(p.getIn() + ":" + p.getName(), p);
+			}
+			for (Parameter p : operationParameters) {
+				if (p != null) {
+					merged.put(p.getIn() + ":" + p.getName(), p);
+				}
+			}
+			return List.copyOf(merged.values());
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+/**
+ * Typed callbacks fired by {@link SpecWalker} while it walks an OpenAPI model.
+ * All callbacks default to no-ops, so a visitor only overrides what it inspects.
+ * <p>
+ * Schemas are identified by a human-readable location: a component name ({@code User}), a nested position
+ * ({@code User.properties.address.items}) or an inline position
+ * ({@code POST /users requestBody.content.application/json}).
+ */
+public interface SpecVisitor {
+
+	/**
+	 * Called once per operation, in path order and then in {@link PathItem#readOperationsMap()} order.
+	 */
+	default void onOperation(String path, PathItem.HttpMethod method, Operation operation) {
+	}
+
+	/**
+	 * Called for path-level parameters ({@code method} is null) and then for operation-level parameters.
+	 */
+	default void onParameter(String path, PathItem.HttpMethod method, Parameter parameter) {
+	}
+
+	/**
+	 * Called once per distinct schema: component schemas and every schema nested in them or inlined in operations.
+	 */
+	default void onSchema(String location, Schema<?> schema) {
+	}
+
+	/**
+	 * Called after the subtree of a schema passed to {@link #onSchema} has been walked, so every node between the
+	 * two calls belongs to that subtree.
+	 */
+	default void onSchemaEnd(String location, Schema<?> schema) {
+	}
+
+	/**
+	 * Called once per property of a visited schema, before the property's own schema is visited.
+	 */
+	default void onProperty(String schemaLocation, String propertyName, Schema<?> property) {
+	}
+
+	/**
+	 * Called once per enum value of a visited schema.
+	 */
+	default void onEnumValue(String schemaLocation, Object value) {
+	}
+
+	/**
+	 * Called where a schema is reached that is not walked again: a {@code $ref} (target is the component name)
+	 * or an already visited schema instance (target is the location it was first visited at).
+	 */
+	default void onSchemaReference(String location, String target) {
+	}
+}
@@ -0,0 +1,192 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+/**
+ * Walks an OpenAPI model exactly once and dispatches every node to all registered visitors.
+ * <p>
+ * Paths are visited first. For each path: path-level parameters and their schemas, then each operation followed by
+ * its parameters, parameter schemas, request body schemas and response schemas. Component schemas follow.
+ * Schemas are walked depth first: the schema, its enum values, then each property (followed by the property's
+ * schema), {@code items}, {@code allOf}, {@code anyOf}, {@code oneOf} and {@code additionalProperties}.
+ * <p>
+ * Every distinct schema is visited once. {@code $ref}s are not followed (their targets are visited as components)
+ * and a schema instance reached a second time, e.g. through a cycle in a resolved model, is not walked again;
+ * both are reported through {@link SpecVisitor#onSchemaReference(String, String)} instead.
+ */
+public final class SpecWalker {
+
+	private static final String COMPONENT_SCHEMA_PREFIX = "#/components/schemas/";
+
+	private final List<? extends SpecVisitor> visitors;
+	private final Map<Schema<?>, String> visited = new IdentityHashMap<>();
+
+	private SpecWalker(List<? extends SpecVisitor> visitors) {
+		this.visitors = visitors;
+	}
+
+	public static void walk(OpenAPI openAPI, List<? extends SpecVisitor> visitors) {
+		if (openAPI == null || visitors.isEmpty()) {
+			return;
+		}
+		SpecWalker walker = new SpecWalker(visitors);
+		if (openAPI.getPaths() != null) {
+			openAPI.getPaths().forEach(walker::walkPath);
+		}
+		if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
+			openAPI.getComponents().getSchemas().forEach(walker::walkSchema);
+		}
+	}
+
+	private void walkPath(String path, PathItem pathItem) {
+		if (pathItem == null) {
+			return;
+		}
+
+		walkParameters(pathItem.getParameters(), path, null);
+
+		// readOperationsMap() allocates a fresh map, so it is read once per path for all visitors
+		Map<PathItem.HttpMethod, Operation> operations = pathItem.readOperationsMap();
+		if (operations == null) {
+			return;
+		}
+
+		operations.forEach((method, operation) -> {
+			if (operation == null) {
+				return;
+			}
+			for (SpecVisitor visitor : visitors) {
+				visitor.onOperation(path, method, operation);
+			}
+			walkParameters(operation.getParameters(), path, method);
+
+			String prefix = method + " " + path + " ";
+			RequestBody requestBody = operation.getRequestBody();
+			if (requestBody != null) {
+				walkContent(requestBody.getContent(), prefix + "requestBody");
+			}
+			if (operation.getResponses() != null) {
+				operation.getResponses().forEach((code, response) -> walkResponse(response, prefix + "responses." + code));
+			}
+		});
+	}
+
+	private void walkResponse(ApiResponse response, String location) {
+		if (response != null) {
+			walkContent(response.getContent(), location);
+		}
+	}
+
+	private void walkContent(Content content, String location) {
+		if (content == null) {
+			return;
+		}
+		content.forEach((mediaType, media) -> {
+			if (media != null) {
+				walkSchema(location + ".content." + mediaType, media.getSchema());
+			}
+		});
+	}
+
+	private void walkParameters(List<Parameter> params, String path, PathItem.HttpMethod method) {
+		if (params == null || params.isEmpty()) {
+			return;
+		}
+		for (Parameter p : params) {
+			if (p == null) {
+				continue;
+			}
+			for (SpecVisitor visitor : visitors) {
+				visitor.onParameter(path, method, p);
+			}
+		}
+		String prefix = (method == null ? "" : method + " ") + path + " parameters.";
+		for (Parameter p : params) {
+			if (p != null && p.getName() != null) {
+				walkSchema(prefix + p.getName(), p.getSchema());
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void walkSchema(String location, Schema schema) {
+		if (schema == null) {
+			return;
+		}
+		if (schema.get$ref() != null) {
+			reference(location, targetName(schema.get$ref()));
+			return;
+		}
+		String firstSeenAt = visited.putIfAbsent(schema, location);
+		if (firstSeenAt != null) {
+			reference(location, firstSeenAt);
+			return;
+		}
+
+		for (SpecVisitor visitor : visitors) {
+			visitor.onSchema(location, schema);
+		}
+		List<?> enumValues = schema.getEnum();
+		if (enumValues != null) {
+			for (Object value : enumValues) {
+				for (SpecVisitor visitor : visitors) {
+					visitor.onEnumValue(location, value);
+				}
+			}
+		}
+
+		Map<String, Schema> properties = schema.getProperties();
+		if (properties != null) {
+			properties.forEach((propName, propSchema) -> {
+				if (propName == null) {
+					return;
+				}
+				for (SpecVisitor visitor : visitors) {
+					visitor.onProperty(location, propName, propSchema);
+				}
+				walkSchema(location + ".properties." + propName, propSchema);
+			});
+		}
+
+		walkSchema(location + ".items", schema.getItems());
+		walkSchemas(location + ".allOf", schema.getAllOf());
+		walkSchemas(location + ".anyOf", schema.getAnyOf());
+		walkSchemas(location + ".oneOf", schema.getOneOf());
+		if (schema.getAdditionalProperties() instanceof Schema additional) {
+			walkSchema(location + ".additionalProperties", additional);
+		}
+		for (SpecVisitor visitor : visitors) {
+			visitor.onSchemaEnd(location, schema);
+		}
+	}
+
+	private void walkSchemas(String location, List<Schema> schemas) {
+		if (schemas == null) {
+			return;
+		}
+		for (int i = 0; i < schemas.size(); i++) {
+			walkSchema(location + "[" + i + "]", schemas.get(i));
+		}
+	}
+
+	private void reference(String location, String target) {
+		for (SpecVisitor visitor : visitors) {
+			visitor.onSchemaReference(location, target);
+		}
+	}
+
+	private static String targetName(String ref) {
+		return ref.startsWith(COMPONENT_SCHEMA_PREFIX) ? ref.substring(COMPONENT_SCHEMA_PREFIX.length()) : ref;
+	}
+}
@@ -1,18 +1,45 @@
 package org.jakubfilo.openapivalidator.validation;
 
-import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+/**
+ * A rule violation. Errors are values: two are equal when code, location and message are equal, so dedup and
+ * baseline matching compare the structured location rather than its rendered string.
+ */
 @Getter
-@AllArgsConstructor
-public class ValidationError {
+@EqualsAndHashCode
+public final class ValidationError {
 
 	private final String code;
-	private final String location; // Human-readable location, e.g. "GET /users" or "schema User.properties.lastName"
+	private final ErrorLocation errorLocation;
 	private final String message;
 
+	public ValidationError(String code, ErrorLocation errorLocation, String message) {
+		this.code = code;
+		this.errorLocation = errorLocation;
+		this.message = message;
+	}
+
+	/**
+	 * An error at a preformatted location, as reported before locations were structured. It has no JSON pointer.
+	 *
+	 * @deprecated use {@link #ValidationError(String, ErrorLocation, String)}
+	 */
+	@Deprecated
+	public ValidationError(String code, String location, String message) {
+		this(code, ErrorLocation.literal(location), message);
+	}
+
+	/**
+	 * Human-readable location, e.g. "GET /users" or "schema User.properties.lastName", formatted on first use.
+	 */
+	public String getLocation() {
+		return errorLocation.toString();
+	}
+
 	@Override
 	public String toString() {
-		return code + " at " + location + ": " + message;
+		return code + " at " + errorLocation + ": " + message;
 	}
 }
@@ -0,0 +1,25 @@
+package org.jakubfilo.openapivalidator.validation;
+
+/**
+ * Receives errors as rules report them. A sink that {@link #isDone() is done} cancels the rest of the traversal,
+ * which is how {@code --max-errors} and {@code --fail-fast} stop early.
+ */
+@FunctionalInterface
+public interface ValidationSink {
+
+	void accept(ValidationError error);
+
+	/**
+	 * Checked between index entries; once true, no further rules or entries are evaluated.
+	 */
+	default boolean isDone() {
+		return false;
+	}
+
+	/**
+	 * A parser message that {@code --parse-warnings} let through; unlike an error it does not fail the spec.
+	 * Arrives before any error of the same spec. Ignored by default.
+	 */
+	default void warning(String message) {
+	}
+}
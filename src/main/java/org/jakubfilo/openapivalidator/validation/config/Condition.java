@@ -0,0 +1,243 @@
+package org.jakubfilo.openapivalidator.validation.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.rules.NameCase;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A compiled test of one field of a spec node, e.g. {@code {"field": "name", "casing": "LOWER_CAMEL"}}. Every
+ * predicate key of the JSON object must hold:
+ * <ul>
+ *   <li>{@code required}: true if the value must be present, i.e. not null, not blank and not an empty map or list;
+ *   false if it must be absent</li>
+ *   <li>{@code casing}: a {@link NameCase} or a list of them, one of which the value must follow</li>
+ *   <li>{@code pattern}: a regular expression the whole value must match</li>
+ *   <li>{@code oneOf} / {@code noneOf}: literals the value must / must not equal, optionally with
+ *   {@code ignoreCase} and {@code trim}; a missing value is in no set</li>
+ *   <li>{@code containsKeys}: keys a map value, such as {@code responses}, must contain</li>
+ *   <li>{@code type}: {@code string}, {@code number}, {@code boolean}, {@code object} or {@code array}</li>
+ * </ul>
+ * Everything is resolved when the condition is compiled: literal sets become hash sets, casings a
+ * {@link NameCase#classify} bit mask and patterns a {@link Pattern}, so a test allocates nothing beyond what
+ * {@link String#trim()} or {@link String#toLowerCase(Locale)} need for values that actually change.
+ */
+final class Condition {
+
+	private static final Set<String> KEYS = Set.of("field", "required", "casing", "pattern", "oneOf", "noneOf",
+			"ignoreCase", "trim", "containsKeys", "type");
+
+	private final Function<Object, Object> selector;
+	private final Predicate<Object> test;
+	private final boolean structural;
+	private final boolean streamable;
+
+	private Condition(Function<Object, Object> selector, Predicate<Object> test, boolean structural,
+			boolean streamable) {
+		this.structural = structural;
+		this.streamable = streamable;
+		this.selector = selector;
+		this.test = test;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the condition uses an unknown key, field, casing or type
+	 */
+	static Condition compile(NodeKind target, JsonNode json) {
+		if (json == null || !json.isObject()) {
+			throw new IllegalArgumentException("A condition must be an object, got " + json);
+		}
+		for (Iterator<String> names = json.fieldNames(); names.hasNext(); ) {
+			String name = names.next();
+			if (!KEYS.contains(name)) {
+				throw new IllegalArgumentException("Unknown condition key '" + name + "', expected one of " + KEYS);
+			}
+		}
+		String field = text(json, "field");
+		Function<Object, Object> selector = Fields.selector(target, field);
+
+		boolean ignoreCase = json.path("ignoreCase").asBoolean(false);
+		boolean trim = json.path("trim").asBoolean(false);
+		List<Predicate<Object>> tests = new ArrayList<>();
+		if (json.has("required")) {
+			tests.add(json.get("required").asBoolean() ? Condition::isPresent : value -> !isPresent(value));
+		}
+		if (json.has("casing")) {
+			int mask = 0;
+			for (String casing : strings(json.get("casing"))) {
+				try {
+					mask |= NameCase.valueOf(casing).mask();
+				} catch (IllegalArgumentException ex) {
+					throw new IllegalArgumentException("Unknown casing '" + casing + "', expected one of "
+							+ List.of(NameCase.values()));
+				}
+			}
+			int casings = mask;
+			tests.add(value -> value instanceof CharSequence name && (NameCase.classify(name) & casings) != 0);
+		}
+		if (json.has("pattern")) {
+			Pattern pattern;
+			try {
+				pattern = Pattern.compile(text(json, "pattern"));
+			} catch (PatternSyntaxException ex) {
+				throw new IllegalArgumentException("Invalid pattern of field '" + field + "': " + ex.getMessage());
+			}
+			tests.add(value -> value instanceof CharSequence text && pattern.matcher(text).matches());
+		}
+		if (json.has("oneOf")) {
+			Set<String> literals = literals(json.get("oneOf"), ignoreCase, trim);
+			tests.add(value -> value != null && literals.contains(key(value, ignoreCase, trim)));
+		}
+		if (json.has("noneOf")) {
+			Set<String> literals = literals(json.get("noneOf"), ignoreCase, trim);
+			tests.add(value -> value == null || !literals.contains(key(value, ignoreCase, trim)));
+		}
+		if (json.has("containsKeys")) {
+			List<String> keys = strings(json.get("containsKeys"));
+			tests.add(value -> value instanceof Map<?, ?> map && containsAll(map, keys));
+		}
+		if (json.has("type")) {
+			tests.add(type(text(json, "type")));
+		}
+		if (tests.isEmpty()) {
+			throw new IllegalArgumentException("Condition on field '" + field + "' tests nothing");
+		}
+		return new Condition(selector, all(tests), !Fields.isLocation(target, field),
+				Fields.isStreamable(target, field));
+	}
+
+	/**
+	 * Whether the condition reads the content of a schema, property or enum value node rather than its location.
+	 */
+	boolean isStructural() {
+		return structural;
+	}
+
+	/**
+	 * Whether the condition's field is available under {@code --streaming}.
+	 */
+	boolean isStreamable() {
+		return streamable;
+	}
+
+	Object select(Object node) {
+		return selector.apply(node);
+	}
+
+	boolean test(Object value) {
+		return test.test(value);
+	}
+
+	boolean matches(Object node) {
+		return test.test(selector.apply(node));
+	}
+
+	/**
+	 * A single test is used as is; several are checked in a loop over an array rather than a chain of
+	 * {@link Predicate#and} wrappers.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Predicate<Object> all(List<Predicate<Object>> tests) {
+		if (tests.size() == 1) {
+			return tests.getFirst();
+		}
+		Predicate<Object>[] array = tests.toArray(Predicate[]::new);
+		return value -> {
+			for (Predicate<Object> test : array) {
+				if (!test.test(value)) {
+					return false;
+				}
+			}
+			return true;
+		};
+	}
+
+	private static boolean isPresent(Object value) {
+		return switch (value) {
+			case null -> false;
+			case CharSequence text -> !text.toString().isBlank();
+			case Map<?, ?> map -> !map.isEmpty();
+			case Collection<?> collection -> !collection.isEmpty();
+			default -> true;
+		};
+	}
+
+	private static boolean containsAll(Map<?, ?> map, List<String> keys) {
+		for (String key : keys) {
+			if (!map.containsKey(key)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Predicate<Object> type(String type) {
+		return switch (type) {
+			case "string" -> value -> value instanceof CharSequence;
+			case "number" -> value -> value instanceof Number;
+			case "boolean" -> value -> value instanceof Boolean;
+			case "object" -> value -> value instanceof Map;
+			case "array" -> value -> value instanceof Collection;
+			default -> throw new IllegalArgumentException("Unknown type '" + type
+					+ "', expected string, number, boolean, object or array");
+		};
+	}
+
+	private static Set<String> literals(JsonNode json, boolean ignoreCase, boolean trim) {
+		Set<String> literals = new HashSet<>();
+		for (String literal : strings(json)) {
+			literals.add(key(literal, ignoreCase, trim));
+		}
+		return Set.copyOf(literals);
+	}
+
+	/**
+	 * Enum constants such as {@link io.swagger.v3.oas.models.PathItem.HttpMethod} compare by name, everything else
+	 * by its string form.
+	 */
+	private static String key(Object value, boolean ignoreCase, boolean trim) {
+		String key = value instanceof Enum<?> constant ? constant.name() : value.toString();
+		if (trim) {
+			key = key.trim();
+		}
+		return ignoreCase ? key.toLowerCase(Locale.ROOT) : key;
+	}
+
+	static String text(JsonNode json, String key) {
+		JsonNode value = json.get(key);
+		if (value == null || !value.isTextual()) {
+			throw new IllegalArgumentException("Missing string '" + key + "' in " + json);
+		}
+		return value.asText();
+	}
+
+	/**
+	 * A string or an array of scalars.
+	 */
+	private static List<String> strings(JsonNode json) {
+		if (json.isValueNode()) {
+			return List.of(json.asText());
+		}
+		List<String> strings = new ArrayList<>();
+		for (JsonNode element : json) {
+			if (!element.isValueNode()) {
+				throw new IllegalArgumentException("Expected a list of literals, got " + json);
+			}
+			strings.add(element.asText());
+		}
+		return strings;
+	}
+}
@@ -0,0 +1,207 @@
+package org.jakubfilo.openapivalidator.validation.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.EnumValueRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.ParameterRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.PropertyRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A rule compiled from a {@link RuleConfig} entry. A node of the target kind is checked only if it matches every
+ * {@code when} condition; then the {@code checks} run in order and the first failing one is reported, so a rule
+ * reports at most one violation per node, like the built-in rules.
+ */
+public final class ConfiguredRule implements Rule {
+
+	private final String id;
+	private final NodeKind target;
+	private final ParseProfile parseProfile;
+	private final Condition[] when;
+	private final Check[] checks;
+	private final Function<Object, ErrorLocation> location;
+	private final String definition;
+
+	/**
+	 * @param code    error code
+	 * @param message the message split around {@code {value}} placeholders, which receive the asserted value
+	 */
+	private record Check(String code, Condition condition, String[] message) {
+	}
+
+	private ConfiguredRule(String id, NodeKind target, ParseProfile parseProfile, Condition[] when, Check[] checks,
+			String definition) {
+		this.id = id;
+		this.target = target;
+		this.parseProfile = parseProfile;
+		this.when = when;
+		this.checks = checks;
+		this.location = Fields.location(target);
+		this.definition = definition;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the definition is incomplete or names unknown kinds, fields or predicates
+	 */
+	static ConfiguredRule compile(JsonNode json) {
+		String id = Condition.text(json, "id");
+		try {
+			NodeKind target = NodeKind.valueOf(Condition.text(json, "target"));
+			ParseProfile parseProfile = json.has("parseProfile")
+					? ParseProfile.valueOf(Condition.text(json, "parseProfile"))
+					: ParseProfile.AS_WRITTEN;
+
+			List<Condition> when = new ArrayList<>();
+			for (JsonNode condition : json.path("when")) {
+				when.add(Condition.compile(target, condition));
+			}
+			List<Check> checks = new ArrayList<>();
+			for (JsonNode check : json.path("checks")) {
+				checks.add(new Check(Condition.text(check, "code"), Condition.compile(target, check.get("assert")),
+						Condition.text(check, "message").split("\\{value}", -1)));
+			}
+			if (checks.isEmpty()) {
+				throw new IllegalArgumentException("no checks");
+			}
+			return new ConfiguredRule(id, target, parseProfile, when.toArray(Condition[]::new),
+					checks.toArray(Check[]::new), json.toString());
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Rule " + id + ": " + ex.getMessage(), ex);
+		}
+	}
+
+	@Override
+	public String id() {
+		return id;
+	}
+
+	@Override
+	public Set<NodeKind> nodeKinds() {
+		return Set.of(target);
+	}
+
+	@Override
+	public ParseProfile parseProfile() {
+		return parseProfile;
+	}
+
+	/**
+	 * True unless a condition selects the schema location ({@code name} of a schema, {@code schema} of a property
+	 * or enum value); operation and parameter rules are never structural.
+	 */
+	@Override
+	public boolean isStructural() {
+		for (Condition condition : when) {
+			if (!condition.isStructural()) {
+				return false;
+			}
+		}
+		for (Check check : checks) {
+			if (!check.condition().isStructural()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Every {@link Fields field} a condition can select is kept in snapshots.
+	 */
+	@Override
+	public boolean isSnapshotSafe() {
+		return true;
+	}
+
+	/**
+	 * True if every condition selects a {@link Fields#isStreamable streamable} field.
+	 */
+	@Override
+	public boolean isStreamable() {
+		for (Condition condition : when) {
+			if (!condition.isStreamable()) {
+				return false;
+			}
+		}
+		for (Check check : checks) {
+			if (!check.condition().isStreamable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The JSON this rule was compiled from, which identifies it for the result cache.
+	 */
+	public String definition() {
+		return definition;
+	}
+
+	@Override
+	public void onOperation(OperationRef operation, RuleContext context) {
+		evaluate(operation, context);
+	}
+
+	@Override
+	public void onParameter(ParameterRef parameter, RuleContext context) {
+		evaluate(parameter, context);
+	}
+
+	@Override
+	public void onSchema(SchemaRef schema, RuleContext context) {
+		evaluate(schema, context);
+	}
+
+	@Override
+	public void onProperty(PropertyRef property, RuleContext context) {
+		evaluate(property, context);
+	}
+
+	@Override
+	public void onEnumValue(EnumValueRef enumValue, RuleContext context) {
+		evaluate(enumValue, context);
+	}
+
+	private void evaluate(Object node, RuleContext context) {
+		for (Condition condition : when) {
+			if (!condition.matches(node)) {
+				return;
+			}
+		}
+		for (Check check : checks) {
+			Object value = check.condition().select(node);
+			if (!check.condition().test(value)) {
+				context.report(new ValidationError(check.code(), location.apply(node), message(check.message(), value)));
+				return;
+			}
+		}
+	}
+
+	private static String message(String[] parts, Object value) {
+		if (parts.length == 1) {
+			return parts[0];
+		}
+		StringBuilder message = new StringBuilder(parts[0]);
+		for (int i = 1; i < parts.length; i++) {
+			message.append(value).append(parts[i]);
+		}
+		return message.toString();
+	}
+
+	@Override
+	public String toString() {
+		return "ConfiguredRule[" + id + "]";
+	}
+}
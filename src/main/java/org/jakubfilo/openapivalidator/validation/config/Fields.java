@@ -0,0 +1,158 @@
+package org.jakubfilo.openapivalidator.validation.config;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.EnumValueRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.ParameterRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.PropertyRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaRef;
+
+/**
+ * The fields a configured rule can select on each {@link NodeKind}, and where its violations are reported.
+ * Selectors are resolved once per condition, so evaluating one is a direct accessor call.
+ * <p>
+ * Under {@code --streaming} only the fields the built-in rules read are available (operation {@code path},
+ * {@code method}, {@code description} and {@code responses}, parameter {@code path}, {@code method}, {@code name}
+ * and {@code in}, schema and property names and enum values, see {@link #isStreamable}); rules selecting others
+ * are skipped in that mode.
+ */
+final class Fields {
+
+	private static final List<String> OPERATION = List.of("path", "method", "operationId", "summary", "description",
+			"deprecated", "tags", "responses", "requestBody");
+	private static final List<String> PARAMETER = List.of("path", "method", "name", "in", "description", "required",
+			"deprecated");
+	private static final List<String> SCHEMA = List.of("name", "type", "format", "description", "properties");
+	private static final List<String> PROPERTY = List.of("schema", "name", "type", "format", "description");
+	private static final List<String> ENUM_VALUE = List.of("schema", "value");
+
+	private Fields() {
+	}
+
+	/**
+	 * @throws IllegalArgumentException if {@code target} has no such field
+	 */
+	static Function<Object, Object> selector(NodeKind target, String field) {
+		Function<Object, Object> selector = switch (target) {
+			case OPERATION -> switch (field) {
+				case "path" -> node -> ((OperationRef) node).path();
+				case "method" -> node -> ((OperationRef) node).method();
+				case "operationId" -> node -> ((OperationRef) node).operation().getOperationId();
+				case "summary" -> node -> ((OperationRef) node).operation().getSummary();
+				case "description" -> node -> ((OperationRef) node).operation().getDescription();
+				case "deprecated" -> node -> ((OperationRef) node).operation().getDeprecated();
+				case "tags" -> node -> ((OperationRef) node).operation().getTags();
+				case "responses" -> node -> ((OperationRef) node).operation().getResponses();
+				case "requestBody" -> node -> ((OperationRef) node).operation().getRequestBody();
+				default -> null;
+			};
+			case PARAMETER -> switch (field) {
+				case "path" -> node -> ((ParameterRef) node).path();
+				case "method" -> node -> ((ParameterRef) node).method();
+				case "name" -> node -> ((ParameterRef) node).parameter().getName();
+				case "in" -> node -> ((ParameterRef) node).parameter().getIn();
+				case "description" -> node -> ((ParameterRef) node).parameter().getDescription();
+				case "required" -> node -> ((ParameterRef) node).parameter().getRequired();
+				case "deprecated" -> node -> ((ParameterRef) node).parameter().getDeprecated();
+				default -> null;
+			};
+			case SCHEMA -> switch (field) {
+				case "name" -> node -> ((SchemaRef) node).name();
+				case "type" -> node -> ((SchemaRef) node).schema() == null ? null
+						: ((SchemaRef) node).schema().getType();
+				case "format" -> node -> ((SchemaRef) node).schema() == null ? null
+						: ((SchemaRef) node).schema().getFormat();
+				case "description" -> node -> ((SchemaRef) node).schema() == null ? null
+						: ((SchemaRef) node).schema().getDescription();
+				case "properties" -> node -> ((SchemaRef) node).schema() == null ? null
+						: ((SchemaRef) node).schema().getProperties();
+				default -> null;
+			};
+			case PROPERTY -> switch (field) {
+				case "schema" -> node -> ((PropertyRef) node).owner().name();
+				case "name" -> node -> ((PropertyRef) node).name();
+				case "type" -> node -> ((PropertyRef) node).schema() == null ? null
+						: ((PropertyRef) node).schema().getType();
+				case "format" -> node -> ((PropertyRef) node).schema() == null ? null
+						: ((PropertyRef) node).schema().getFormat();
+				case "description" -> node -> ((PropertyRef) node).schema() == null ? null
+						: ((PropertyRef) node).schema().getDescription();
+				default -> null;
+			};
+			case ENUM_VALUE -> switch (field) {
+				case "schema" -> node -> ((EnumValueRef) node).owner().name();
+				case "value" -> node -> ((EnumValueRef) node).value();
+				default -> null;
+			};
+		};
+		if (selector == null) {
+			throw new IllegalArgumentException("Unknown field '" + field + "' of " + target + ", expected one of "
+					+ names(target));
+		}
+		return selector;
+	}
+
+	/**
+	 * Whether the field selects the node's location rather than its content.
+	 */
+	static boolean isLocation(NodeKind target, String field) {
+		return switch (target) {
+			case SCHEMA -> "name".equals(field);
+			case PROPERTY, ENUM_VALUE -> "schema".equals(field);
+			default -> true;
+		};
+	}
+
+	/**
+	 * Whether the streaming engine materializes the field.
+	 */
+	static boolean isStreamable(NodeKind target, String field) {
+		return switch (target) {
+			case OPERATION -> List.of("path", "method", "description", "responses").contains(field);
+			case PARAMETER -> List.of("path", "method", "name", "in").contains(field);
+			case SCHEMA -> "name".equals(field);
+			case PROPERTY -> "schema".equals(field) || "name".equals(field);
+			case ENUM_VALUE -> true;
+		};
+	}
+
+	/**
+	 * The location the hand-written rules use for a node of this kind.
+	 */
+	static Function<Object, ErrorLocation> location(NodeKind target) {
+		return switch (target) {
+			case OPERATION -> node -> {
+				OperationRef ref = (OperationRef) node;
+				return ErrorLocation.operation(ref.path(), ref.method());
+			};
+			case PARAMETER -> node -> {
+				ParameterRef ref = (ParameterRef) node;
+				return ErrorLocation.parameter(ref.path(), ref.method(), ref.parameter().getName(),
+						ref.parameter().getIn());
+			};
+			case SCHEMA -> node -> ErrorLocation.schema(((SchemaRef) node).name());
+			case PROPERTY -> node -> {
+				PropertyRef ref = (PropertyRef) node;
+				return ErrorLocation.property(ref.owner().name(), ref.name());
+			};
+			case ENUM_VALUE -> node -> {
+				EnumValueRef ref = (EnumValueRef) node;
+				return ErrorLocation.enumValue(ref.owner().name(), String.valueOf(ref.value()));
+			};
+		};
+	}
+
+	private static List<String> names(NodeKind target) {
+		return switch (target) {
+			case OPERATION -> OPERATION;
+			case PARAMETER -> PARAMETER;
+			case SCHEMA -> SCHEMA;
+			case PROPERTY -> PROPERTY;
+			case ENUM_VALUE -> ENUM_VALUE;
+		};
+	}
+}
@@ -0,0 +1,135 @@
+package org.jakubfilo.openapivalidator.validation.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.Rule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.swagger.v3.core.util.Json;
+
+/**
+ * Rules declared in a JSON file ({@code --rules}) instead of Java, compiled once when the file is loaded:
+ * <pre>
+ * { "rules": [
+ *   { "id": "generic-id-parameter", "target": "PARAMETER",
+ *     "when": [ { "field": "in", "oneOf": ["path", "query"] } ],
+ *     "checks": [ { "code": "GENERIC_ID_PARAMETER_NAME",
+ *                   "assert": { "field": "name", "noneOf": ["id"], "ignoreCase": true, "trim": true },
+ *                   "message": "Parameter '{value}' must have a specific name" } ] },
+ *   { "id": "post-created-response", "severity": "off" }
+ * ] }
+ * </pre>
+ * {@code target} is a {@link org.jakubfilo.openapivalidator.validation.NodeKind}, see {@link Condition} for the
+ * predicates and {@link Fields} for the fields of each kind. An optional {@code parseProfile} names the
+ * {@link org.jakubfilo.openapivalidator.validation.ParseProfile} the rule needs.
+ * <p>
+ * A configured rule with the id of a registered rule replaces it in place, other ids are appended, and
+ * {@code "severity": "off"} removes the rule with that id. {@value #BUILT_IN} declares the built-in rules this way
+ * and is a starting point for tuning them; only {@code ambiguous-route}, which compares path templates with each
+ * other, cannot be expressed as conditions and can only be turned off.
+ */
+public final class RuleConfig {
+
+	/**
+	 * Class path resource declaring the five built-in rules expressible as conditions.
+	 */
+	public static final String BUILT_IN = "rules/built-in-rules.json";
+
+	private final Map<String, ConfiguredRule> rules;
+	private final Set<String> disabled;
+
+	private RuleConfig(Map<String, ConfiguredRule> rules, Set<String> disabled) {
+		this.rules = rules;
+		this.disabled = disabled;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the file is not a valid rule configuration
+	 */
+	public static RuleConfig load(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			return parse(in);
+		}
+	}
+
+	/**
+	 * The built-in rules as declared in {@value #BUILT_IN}, i.e. all but {@code ambiguous-route}.
+	 */
+	public static RuleConfig builtIn() {
+		try (InputStream in = RuleConfig.class.getClassLoader().getResourceAsStream(BUILT_IN)) {
+			if (in == null) {
+				throw new IllegalStateException(BUILT_IN + " is missing from the class path");
+			}
+			return parse(in);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	public static RuleConfig parse(InputStream in) throws IOException {
+		JsonNode root;
+		try {
+			root = Json.mapper().readTree(in);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("Invalid rule configuration: " + ex.getOriginalMessage(), ex);
+		}
+		if (root == null || !root.path("rules").isArray()) {
+			throw new IllegalArgumentException("A rule configuration needs a \"rules\" array");
+		}
+
+		Map<String, ConfiguredRule> rules = new LinkedHashMap<>();
+		Set<String> disabled = new HashSet<>();
+		for (JsonNode json : root.get("rules")) {
+			String id = Condition.text(json, "id");
+			if (rules.containsKey(id) || disabled.contains(id)) {
+				throw new IllegalArgumentException("Rule " + id + " is configured twice");
+			}
+			switch (json.path("severity").asText("error")) {
+				case "error" -> rules.put(id, ConfiguredRule.compile(json));
+				case "off" -> disabled.add(id);
+				default -> throw new IllegalArgumentException("Rule " + id + ": unknown severity '"
+						+ json.get("severity").asText() + "', expected error or off");
+			}
+		}
+		return new RuleConfig(rules, disabled);
+	}
+
+	public List<ConfiguredRule> getRules() {
+		return List.copyOf(rules.values());
+	}
+
+	/**
+	 * Merges this configuration into {@code registered}, keeping the order of the registered rules.
+	 */
+	public List<Rule> apply(List<Rule> registered) {
+		List<Rule> result = new ArrayList<>(registered.size() + rules.size());
+		Set<String> replaced = new HashSet<>();
+		for (Rule rule : registered) {
+			ConfiguredRule configured = rules.get(rule.id());
+			if (configured != null) {
+				result.add(configured);
+				replaced.add(rule.id());
+			} else if (!disabled.contains(rule.id())) {
+				result.add(rule);
+			}
+		}
+		for (ConfiguredRule rule : rules.values()) {
+			if (!replaced.contains(rule.id())) {
+				result.add(rule);
+			}
+		}
+		return result;
+	}
+}
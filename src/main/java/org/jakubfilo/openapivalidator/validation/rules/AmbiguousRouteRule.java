@@ -0,0 +1,70 @@
+package org.jakubfilo.openapivalidator.validation.rules;
+
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.PathTrie;
+import org.jakubfilo.openapivalidator.validation.PathTrie.Overlap;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * Rule: no two path templates may match the same request for the same HTTP method, e.g. {@code /users/{userId}}
+ * and {@code /users/me}, or {@code /a/{x}/b} and {@code /a/{y}/b}. Each overlap is reported once, on the operation
+ * of the template declared later, see {@link PathTrie#overlapsOf(String)}.
+ * <p>
+ * The overlaps come from {@link RuleContext#index()}, which the token stream does not have, so this rule is not
+ * {@link #isStreamable() streamable} and only runs with the model engine.
+ */
+public class AmbiguousRouteRule implements Rule {
+
+	@Override
+	public String id() {
+		return "ambiguous-route";
+	}
+
+	@Override
+	public Set<NodeKind> nodeKinds() {
+		return Set.of(NodeKind.OPERATION);
+	}
+
+	@Override
+	public boolean isSnapshotSafe() {
+		return true;
+	}
+
+	@Override
+	public void onOperation(OperationRef operation, RuleContext context) {
+		for (Overlap overlap : context.index().paths().overlapsOf(operation.path())) {
+			if (!overlap.methods().contains(operation.method())) {
+				continue;
+			}
+			// A focused trie may attribute an overlap to the earlier template
+			String other = (overlap.second().template().equals(operation.path()) ? overlap.first() : overlap.second())
+					.template();
+			ErrorLocation location = ErrorLocation.route(operation.path(), operation.method(), other);
+			context.report(switch (overlap.kind()) {
+				case DUPLICATE -> new ValidationError(
+						"DUPLICATE_ROUTE",
+						location,
+						"Path matches the same requests as '" + other + "'; only the parameter names differ"
+				);
+				case SHADOWED -> new ValidationError(
+						"SHADOWED_ROUTE",
+						location,
+						"Every request to '" + overlap.specific().template() + "' also matches '"
+								+ (overlap.specific().template().equals(other) ? operation.path() : other)
+								+ "'; routers that do not prefer literal segments never reach it"
+				);
+				case AMBIGUOUS -> new ValidationError(
+						"AMBIGUOUS_ROUTE",
+						location,
+						"Some requests match both this path and '" + other + "', and neither is more specific"
+				);
+			});
+		}
+	}
+}
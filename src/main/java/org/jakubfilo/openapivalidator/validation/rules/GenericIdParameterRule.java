@@ -0,0 +1,64 @@
+package org.jakubfilo.openapivalidator.validation.rules;
+
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.ParameterRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+/**
+ * Rule:
+ *  - Any path or query parameter named exactly "id" (case-insensitive) is invalid.
+ *  - Callers should use more specific names, e.g. userId, orderId, personId, resourceId, etc.
+ */
+public class GenericIdParameterRule implements Rule {
+
+	@Override
+	public String id() {
+		return "generic-id-parameter";
+	}
+
+	@Override
+	public Set<NodeKind> nodeKinds() {
+		return Set.of(NodeKind.PARAMETER);
+	}
+
+	@Override
+	public boolean isSnapshotSafe() {
+		return true;
+	}
+
+	@Override
+	public boolean isStreamable() {
+		return true;
+	}
+
+	@Override
+	public void onParameter(ParameterRef ref, RuleContext context) {
+		Parameter p = ref.parameter();
+		String in = p.getIn();
+		String name = p.getName();
+		if (in == null || name == null) {
+			return;
+		}
+
+		// We only care about path/query parameters
+		if (!"path".equals(in) && !"query".equals(in)) {
+			return;
+		}
+
+		if ("id".equalsIgnoreCase(name.trim())) {
+			context.report(new ValidationError(
+					"GENERIC_ID_PARAMETER_NAME",
+					ErrorLocation.parameter(ref.path(), ref.method(), name, in),
+					"Path and query parameters representing identifiers must be specific, "
+							+ "e.g. userId or resourceId instead of just 'id'"
+			));
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package org.jakubfilo.openapivalidator.validation.rules;
+
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.PropertyRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * Rule: all schema property names must be lowerCamelCase, including properties of nested and inline schemas.
+ */
+public class LowerCamelCasePropertyRule implements Rule {
+
+	@Override
+	public String id() {
+		return "property-lower-camel-case";
+	}
+
+	@Override
+	public Set<NodeKind> nodeKinds() {
+		return Set.of(NodeKind.PROPERTY);
+	}
+
+	@Override
+	public boolean isStructural() {
+		return true;
+	}
+
+	@Override
+	public boolean isSnapshotSafe() {
+		return true;
+	}
+
+	@Override
+	public boolean isStreamable() {
+		return true;
+	}
+
+	@Override
+	public void onProperty(PropertyRef property, RuleContext context) {
+		if (!NameCase.LOWER_CAMEL.matches(property.name())) {
+			context.report(new ValidationError(
+					"INVALID_PROPERTY_NAME_CASE",
+					ErrorLocation.property(property.owner().name(), property.name()),
+					"Property name must be lowerCamelCase"
+			));
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package org.jakubfilo.openapivalidator.validation.rules;
+
+import java.util.List;
+
+/**
+ * Identifier casing conventions, detected with a single allocation-free scan over the characters.
+ * <p>
+ * {@link #classify(CharSequence)} returns a bit mask because one name can satisfy several conventions
+ * ({@code "name"} is lowerCamel, snake and kebab case at once); test it with {@link #in(int)}.
+ * Only ASCII letters, digits, {@code _} and {@code -} are accepted; anything else matches no convention.
+ */
+public enum NameCase {
+
+	/**
+	 * {@code ^[a-z][a-zA-Z0-9]*$}, e.g. {@code firstName}.
+	 */
+	LOWER_CAMEL,
+
+	/**
+	 * {@code ^[A-Z][a-zA-Z0-9]*$}, e.g. {@code FirstName}.
+	 */
+	UPPER_CAMEL,
+
+	/**
+	 * {@code ^[A-Z0-9]+(?:_[A-Z0-9]+)*$}, e.g. {@code DARK_GREEN}.
+	 */
+	UPPER_SNAKE,
+
+	/**
+	 * {@code ^[a-z][a-z0-9]*(?:_[a-z0-9]+)*$}, e.g. {@code first_name}.
+	 */
+	SNAKE,
+
+	/**
+	 * {@code ^[a-z][a-z0-9]*(?:-[a-z0-9]+)*$}, e.g. {@code first-name}.
+	 */
+	KEBAB;
+
+	private final int mask = 1 << ordinal();
+
+	public int mask() {
+		return mask;
+	}
+
+	public boolean in(int classification) {
+		return (classification & mask) != 0;
+	}
+
+	public boolean matches(CharSequence name) {
+		return in(classify(name));
+	}
+
+	/**
+	 * Bit mask of every convention {@code name} follows; 0 if none (including empty or null names).
+	 */
+	public static int classify(CharSequence name) {
+		int length = name == null ? 0 : name.length();
+		if (length == 0) {
+			return 0;
+		}
+
+		boolean hasLower = false;
+		boolean hasUpper = false;
+		boolean hasUnderscore = false;
+		boolean hasHyphen = false;
+		boolean adjacentSeparators = false;
+		boolean previousWasSeparator = false;
+
+		for (int i = 0; i < length; i++) {
+			char c = name.charAt(i);
+			if (c >= 'a' && c <= 'z') {
+				hasLower = true;
+				previousWasSeparator = false;
+			} else if (c >= 'A' && c <= 'Z') {
+				hasUpper = true;
+				previousWasSeparator = false;
+			} else if (c >= '0' && c <= '9') {
+				previousWasSeparator = false;
+			} else if (c == '_' || c == '-') {
+				if (c == '_') {
+					hasUnderscore = true;
+				} else {
+					hasHyphen = true;
+				}
+				adjacentSeparators |= previousWasSeparator;
+				previousWasSeparator = true;
+			} else {
+				return 0;
+			}
+		}
+
+		char first = name.charAt(0);
+		boolean startsLower = first >= 'a' && first <= 'z';
+		boolean startsUpper = first >= 'A' && first <= 'Z';
+		boolean startsWithSeparator = first == '_' || first == '-';
+		boolean separatorsOk = !startsWithSeparator && !previousWasSeparator && !adjacentSeparators;
+		boolean noSeparators = !hasUnderscore && !hasHyphen;
+
+		int result = 0;
+		if (startsLower && noSeparators) {
+			result |= LOWER_CAMEL.mask;
+		}
+		if (startsUpper && noSeparators) {
+			result |= UPPER_CAMEL.mask;
+		}
+		if (!hasLower && !hasHyphen && separatorsOk) {
+			result |= UPPER_SNAKE.mask;
+		}
+		if (startsLower && !hasUpper && !hasHyphen && separatorsOk) {
+			result |= SNAKE.mask;
+		}
+		if (startsLower && !hasUpper && !hasUnderscore && separatorsOk) {
+			result |= KEBAB.mask;
+		}
+		return result;
+	}
+
+	/**
+	 * Classifies a batch of names into a caller-provided array, so repeated batches allocate nothing.
+	 *
+	 * @param masks receives {@code classify(names.get(i))} at index i; must be at least {@code names.size()} long
+	 */
+	public static void classifyAll(List<? extends CharSequence> names, int[] masks) {
+		if (masks.length < names.size()) {
+			throw new IllegalArgumentException("Expected room for " + names.size() + " results, got " + masks.length);
+		}
+		for (int i = 0; i < names.size(); i++) {
+			masks[i] = classify(names.get(i));
+		}
+	}
+}
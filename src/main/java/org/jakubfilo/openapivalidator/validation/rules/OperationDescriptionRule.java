@@ -0,0 +1,49 @@
+package org.jakubfilo.openapivalidator.validation.rules;
+
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+
+/**
+ * Rule: every operation (each HTTP verb under each path) must have a non-blank description.
+ */
+public class OperationDescriptionRule implements Rule {
+
+	@Override
+	public String id() {
+		return "operation-description";
+	}
+
+	@Override
+	public Set<NodeKind> nodeKinds() {
+		return Set.of(NodeKind.OPERATION);
+	}
+
+	@Override
+	public boolean isSnapshotSafe() {
+		return true;
+	}
+
+	@Override
+	public boolean isStreamable() {
+		return true;
+	}
+
+	@Override
+	public void onOperation(OperationRef operation, RuleContext context) {
+		String description = operation.operation().getDescription();
+		if (description == null || description.isBlank()) {
+			context.report(new ValidationError(
+					"MISSING_OPERATION_DESCRIPTION",
+					ErrorLocation.operation(operation.path(), operation.method()),
+					"Operation must have a non-blank description"
+			));
+		}
+	}
+}
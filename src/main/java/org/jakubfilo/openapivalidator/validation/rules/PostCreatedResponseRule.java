@@ -0,0 +1,67 @@
+package org.jakubfilo.openapivalidator.validation.rules;
+
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+
+/**
+ * Rule: every POST operation must define a 201 Created response.
+ */
+public class PostCreatedResponseRule implements Rule {
+
+	@Override
+	public String id() {
+		return "post-created-response";
+	}
+
+	@Override
+	public Set<NodeKind> nodeKinds() {
+		return Set.of(NodeKind.OPERATION);
+	}
+
+	@Override
+	public boolean isSnapshotSafe() {
+		return true;
+	}
+
+	@Override
+	public boolean isStreamable() {
+		return true;
+	}
+
+	@Override
+	public void onOperation(OperationRef ref, RuleContext context) {
+		if (ref.method() != PathItem.HttpMethod.POST) {
+			return;
+		}
+		String path = ref.path();
+		Operation operation = ref.operation();
+		if (operation.getResponses() == null || operation.getResponses().isEmpty()) {
+			context.report(new ValidationError(
+					"POST_MISSING_RESPONSES",
+					ErrorLocation.operation(path, PathItem.HttpMethod.POST),
+					"POST operation must define a 201 Created response"
+			));
+			return;
+		}
+
+		boolean has201 = operation.getResponses().containsKey("201");
+
+		// Violation: POST uses 200 instead of 201
+		if (!has201) {
+			context.report(new ValidationError(
+					"POST_SHOULD_RETURN_201",
+					ErrorLocation.operation(path, PathItem.HttpMethod.POST),
+					"POST endpoints must return 201 Created instead of 200 OK"
+			));
+		}
+	}
+}
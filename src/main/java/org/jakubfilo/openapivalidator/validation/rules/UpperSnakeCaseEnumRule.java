@@ -0,0 +1,58 @@
+package org.jakubfilo.openapivalidator.validation.rules;
+
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.EnumValueRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+/**
+ * Validates that all enum values, in component schemas and every schema nested or inlined in the spec,
+ * follow UPPER_SNAKE_CASE.
+ */
+public class UpperSnakeCaseEnumRule implements Rule {
+
+	@Override
+	public String id() {
+		return "enum-upper-snake-case";
+	}
+
+	@Override
+	public Set<NodeKind> nodeKinds() {
+		return Set.of(NodeKind.ENUM_VALUE);
+	}
+
+	@Override
+	public boolean isStructural() {
+		return true;
+	}
+
+	@Override
+	public boolean isSnapshotSafe() {
+		return true;
+	}
+
+	@Override
+	public boolean isStreamable() {
+		return true;
+	}
+
+	@Override
+	public void onEnumValue(EnumValueRef enumValue, RuleContext context) {
+		if (!(enumValue.value() instanceof String enumVal)) {
+			return;
+		}
+
+		if (!NameCase.UPPER_SNAKE.matches(enumVal)) {
+			// Property enums are owned by the property's schema, e.g. "schema User.properties.role"
+			context.report(new ValidationError(
+					"ENUM_NOT_UPPER_SNAKE_CASE",
+					ErrorLocation.enumValue(enumValue.owner().name(), enumVal),
+					"Enum value '" + enumVal + "' must use UPPER_SNAKE_CASE"
+			));
+		}
+	}
+}
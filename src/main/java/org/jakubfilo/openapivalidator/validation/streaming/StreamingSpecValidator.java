@@ -0,0 +1,607 @@
+package org.jakubfilo.openapivalidator.validation.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.EnumValueRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.ParameterRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.PropertyRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaRef;
+import org.jakubfilo.openapivalidator.validation.SpecWalker;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.ValidationSink;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+/**
+ * Validates a JSON spec straight from a token stream, without building the swagger {@code OpenAPI} model.
+ * <p>
+ * Only the fields the rules read are materialized: operation descriptions and response codes, parameter
+ * name/in, schema locations, property names and enum values. Everything else is skipped token by token.
+ * Each path item and component schema is read whole, because a sibling such as path-level {@code parameters} or
+ * {@code $ref} may come last, and its findings reach the sink as soon as it closes; so peak memory is bounded by
+ * the largest single path item or component schema, not by the document or its number of findings, and a sink
+ * that is {@link ValidationSink#isDone() done} stops the read at the next token. {@link RuleContext#index()} is
+ * empty and {@link SchemaRef#schema()} / {@link PropertyRef#schema()} are null in this mode, so rules that are not
+ * {@link Rule#isStreamable() streamable}, such as {@code ambiguous-route}, are {@link #getSkippedRules() skipped}.
+ * <p>
+ * Unlike {@link org.jakubfilo.openapivalidator.OpenApiParserUtil#parseJson(String)}, structural problems that the
+ * swagger parser reports as messages are not detected here; only malformed JSON fails.
+ */
+public class StreamingSpecValidator {
+
+	/**
+	 * Same order as {@link PathItem#readOperationsMap()}.
+	 */
+	private static final List<PathItem.HttpMethod> OPERATION_ORDER = List.of(
+			PathItem.HttpMethod.GET,
+			PathItem.HttpMethod.PUT,
+			PathItem.HttpMethod.POST,
+			PathItem.HttpMethod.DELETE,
+			PathItem.HttpMethod.PATCH,
+			PathItem.HttpMethod.HEAD,
+			PathItem.HttpMethod.OPTIONS,
+			PathItem.HttpMethod.TRACE
+	);
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final List<Rule> rules;
+	private final List<String> skippedRules;
+
+	public StreamingSpecValidator() {
+		this(RuleLoader.load());
+	}
+
+	public StreamingSpecValidator(List<Rule> rules) {
+		this.rules = rules.stream().filter(Rule::isStreamable).toList();
+		this.skippedRules = rules.stream().filter(rule -> !rule.isStreamable()).map(Rule::id).toList();
+	}
+
+	/**
+	 * The rules this validator runs, in the order it was given them.
+	 */
+	public List<Rule> getRules() {
+		return rules;
+	}
+
+	/**
+	 * Ids of the given rules that cannot run on the token stream and are left out.
+	 */
+	public List<String> getSkippedRules() {
+		return skippedRules;
+	}
+
+	public List<ValidationError> validate(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			return validate(in);
+		}
+	}
+
+	/**
+	 * Reports the same errors as {@link org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator}, in a
+	 * different order: path items and component schemas in document order, and within each one grouped by rule in
+	 * rule order, then by node kind, in {@link SpecWalker} order.
+	 */
+	public List<ValidationError> validate(InputStream in) throws IOException {
+		List<ValidationError> errors = new ArrayList<>();
+		validate(in, errors::add);
+		return errors;
+	}
+
+	/**
+	 * Errors reach {@code sink} as each path item or component schema closes. Once the sink is done the rest of the
+	 * document is not read, so it is not checked for malformed JSON either.
+	 */
+	public void validate(InputStream in, ValidationSink sink) throws IOException {
+		try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+			Run run = new Run(parser, sink);
+			try {
+				run.document();
+			} catch (JsonProcessingException ex) {
+				throw new IllegalArgumentException(
+						"Malformed OpenAPI JSON at " + run.jsonPointer() + ": " + ex.getOriginalMessage(), ex);
+			} catch (SinkDone ex) {
+				// nothing left to report
+			}
+		}
+	}
+
+	/**
+	 * Unwinds the read once the sink is done; carries no stack trace.
+	 */
+	private static final class SinkDone extends RuntimeException {
+
+		private static final SinkDone INSTANCE = new SinkDone();
+
+		private SinkDone() {
+			super(null, null, false, false);
+		}
+	}
+
+	private final class Run {
+
+		private final JsonParser parser;
+		private final ValidationSink sink;
+		private final Deque<String> pointer = new ArrayDeque<>();
+
+		/**
+		 * [rule][kind]: the findings of the path item or component schema being emitted, reported per rule, then
+		 * per node kind, like the model engine does.
+		 */
+		private final List<ValidationError>[][] buffers;
+		private final RuleContext[][] contexts;
+
+		@SuppressWarnings("unchecked")
+		private Run(JsonParser parser, ValidationSink sink) {
+			this.parser = parser;
+			this.sink = sink;
+			int kinds = NodeKind.values().length;
+			this.buffers = new List[rules.size()][kinds];
+			this.contexts = new RuleContext[rules.size()][kinds];
+			SpecIndex emptyIndex = SpecIndex.of(null);
+			for (int r = 0; r < rules.size(); r++) {
+				for (int k = 0; k < kinds; k++) {
+					buffers[r][k] = new ArrayList<>();
+					contexts[r][k] = new RuleContext(emptyIndex, buffers[r][k]::add);
+				}
+			}
+		}
+
+		/**
+		 * Passes the findings of the subtree just emitted on to the sink.
+		 */
+		private void flush() {
+			for (List<ValidationError>[] rule : buffers) {
+				for (List<ValidationError> kind : rule) {
+					for (ValidationError error : kind) {
+						if (sink.isDone()) {
+							throw SinkDone.INSTANCE;
+						}
+						sink.accept(error);
+					}
+					kind.clear();
+				}
+			}
+		}
+
+		/**
+		 * The next token, unless the sink is done.
+		 */
+		private JsonToken next() throws IOException {
+			if (sink.isDone()) {
+				throw SinkDone.INSTANCE;
+			}
+			return parser.nextToken();
+		}
+
+		void document() throws IOException {
+			expect(next(), JsonToken.START_OBJECT);
+			while (next() == JsonToken.FIELD_NAME) {
+				String field = enter();
+				JsonToken value = next();
+				if ("paths".equals(field) && value == JsonToken.START_OBJECT) {
+					paths();
+				} else if ("components".equals(field) && value == JsonToken.START_OBJECT) {
+					components();
+				} else {
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+		}
+
+		private void paths() throws IOException {
+			while (next() == JsonToken.FIELD_NAME) {
+				String path = enter();
+				JsonToken value = next();
+				if (!path.startsWith("x-") && value == JsonToken.START_OBJECT) {
+					pathItem(path);
+					flush();
+				} else {
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+		}
+
+		private void pathItem(String path) throws IOException {
+			List<PendingParameter> pathParameters = new ArrayList<>();
+			Map<PathItem.HttpMethod, PendingOperation> operations = new EnumMap<>(PathItem.HttpMethod.class);
+
+			while (next() == JsonToken.FIELD_NAME) {
+				String field = enter();
+				JsonToken value = next();
+				PathItem.HttpMethod method = httpMethod(field);
+				if ("parameters".equals(field) && value == JsonToken.START_ARRAY) {
+					parameters(pathParameters);
+				} else if (method != null && value == JsonToken.START_OBJECT) {
+					operations.put(method, operation());
+				} else {
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+
+			emitParameters(pathParameters, path, null);
+			for (PathItem.HttpMethod method : OPERATION_ORDER) {
+				PendingOperation pending = operations.get(method);
+				if (pending == null) {
+					continue;
+				}
+				dispatch(NodeKind.OPERATION, new OperationRef(path, method, pending.operation, List.of()));
+				emitParameters(pending.parameters, path, method);
+
+				String prefix = method + " " + path + " ";
+				emitContent(pending.requestBodyContent, prefix + "requestBody");
+				pending.responseContent.forEach((code, content) -> emitContent(content, prefix + "responses." + code));
+			}
+		}
+
+		private PendingOperation operation() throws IOException {
+			PendingOperation pending = new PendingOperation();
+			while (next() == JsonToken.FIELD_NAME) {
+				String field = enter();
+				JsonToken value = next();
+				if ("description".equals(field) && value == JsonToken.VALUE_STRING) {
+					pending.operation.setDescription(parser.getText());
+				} else if ("parameters".equals(field) && value == JsonToken.START_ARRAY) {
+					parameters(pending.parameters);
+				} else if ("requestBody".equals(field) && value == JsonToken.START_OBJECT) {
+					pending.requestBodyContent = contentHolder();
+				} else if ("responses".equals(field) && value == JsonToken.START_OBJECT) {
+					pending.operation.setResponses(responses(pending.responseContent));
+				} else {
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+			return pending;
+		}
+
+		/**
+		 * Only response codes and content schemas are kept; extension keys are dropped the way the swagger
+		 * deserializer does.
+		 */
+		private ApiResponses responses(Map<String, Map<String, PendingSchema>> contentByCode) throws IOException {
+			ApiResponses responses = new ApiResponses();
+			while (next() == JsonToken.FIELD_NAME) {
+				String code = enter();
+				JsonToken value = next();
+				if (code.startsWith("x-")) {
+					parser.skipChildren();
+				} else {
+					responses.addApiResponse(code, new ApiResponse());
+					if (value == JsonToken.START_OBJECT) {
+						contentByCode.put(code, contentHolder());
+					} else {
+						parser.skipChildren();
+					}
+				}
+				pointer.pop();
+			}
+			return responses;
+		}
+
+		/**
+		 * Reads a request body or response object and returns its media type schemas; a {@code $ref} has none.
+		 */
+		private Map<String, PendingSchema> contentHolder() throws IOException {
+			Map<String, PendingSchema> content = Map.of();
+			boolean isRef = false;
+			while (next() == JsonToken.FIELD_NAME) {
+				String field = enter();
+				JsonToken value = next();
+				if ("content".equals(field) && value == JsonToken.START_OBJECT) {
+					content = content();
+				} else {
+					isRef |= "$ref".equals(field);
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+			return isRef ? Map.of() : content;
+		}
+
+		private Map<String, PendingSchema> content() throws IOException {
+			Map<String, PendingSchema> content = new LinkedHashMap<>();
+			while (next() == JsonToken.FIELD_NAME) {
+				String mediaType = enter();
+				PendingSchema schema = null;
+				if (next() == JsonToken.START_OBJECT) {
+					while (next() == JsonToken.FIELD_NAME) {
+						String field = enter();
+						JsonToken value = next();
+						if ("schema".equals(field) && value == JsonToken.START_OBJECT) {
+							schema = schema();
+						} else {
+							parser.skipChildren();
+						}
+						pointer.pop();
+					}
+				} else {
+					parser.skipChildren();
+				}
+				content.put(mediaType, schema);
+				pointer.pop();
+			}
+			return content;
+		}
+
+		private void parameters(List<PendingParameter> target) throws IOException {
+			int i = 0;
+			while (next() != JsonToken.END_ARRAY) {
+				pointer.push(Integer.toString(i++));
+				if (parser.currentToken() == JsonToken.START_OBJECT) {
+					target.add(parameter());
+				} else {
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+		}
+
+		/**
+		 * A {@code $ref} parameter is left unresolved, i.e. it has neither name, location nor schema.
+		 */
+		private PendingParameter parameter() throws IOException {
+			Parameter parameter = new Parameter();
+			PendingSchema schema = null;
+			boolean isRef = false;
+			while (next() == JsonToken.FIELD_NAME) {
+				String field = enter();
+				JsonToken value = next();
+				if ("name".equals(field) && value == JsonToken.VALUE_STRING) {
+					parameter.setName(parser.getText());
+				} else if ("in".equals(field) && value == JsonToken.VALUE_STRING) {
+					parameter.setIn(parser.getText());
+				} else if ("schema".equals(field) && value == JsonToken.START_OBJECT) {
+					schema = schema();
+				} else {
+					isRef |= "$ref".equals(field);
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+			return isRef ? new PendingParameter(new Parameter(), null) : new PendingParameter(parameter, schema);
+		}
+
+		private void components() throws IOException {
+			while (next() == JsonToken.FIELD_NAME) {
+				String field = enter();
+				JsonToken value = next();
+				if ("schemas".equals(field) && value == JsonToken.START_OBJECT) {
+					schemas();
+				} else {
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+		}
+
+		private void schemas() throws IOException {
+			while (next() == JsonToken.FIELD_NAME) {
+				String name = enter();
+				if (next() == JsonToken.START_OBJECT) {
+					emitSchema(schema(), name);
+					flush();
+				} else {
+					parser.skipChildren();
+				}
+				pointer.pop();
+			}
+		}
+
+		/**
+		 * Reads one schema object into a tree of names and enum values. Buffering the whole schema lets it be
+		 * emitted in walker order regardless of key order, and lets a {@code $ref} sibling discard everything else.
+		 */
+		private PendingSchema schema() throws IOException {
+			PendingSchema schema = new PendingSchema();
+			while (next() == JsonToken.FIELD_NAME) {
+				String field = enter();
+				JsonToken value = next();
+				switch (field) {
+					case "$ref" -> {
+						schema.isRef = true;
+						parser.skipChildren();
+					}
+					case "enum" -> schema.enumValues = value == JsonToken.START_ARRAY ? enumValues() : skip(List.of());
+					case "properties" -> schema.properties = value == JsonToken.START_OBJECT ? properties() : skip(Map.of());
+					case "items" -> schema.items = value == JsonToken.START_OBJECT ? schema() : skip(null);
+					case "allOf" -> schema.allOf = value == JsonToken.START_ARRAY ? schemaList() : skip(List.of());
+					case "anyOf" -> schema.anyOf = value == JsonToken.START_ARRAY ? schemaList() : skip(List.of());
+					case "oneOf" -> schema.oneOf = value == JsonToken.START_ARRAY ? schemaList() : skip(List.of());
+					case "additionalProperties" ->
+							schema.additionalProperties = value == JsonToken.START_OBJECT ? schema() : skip(null);
+					default -> parser.skipChildren();
+				}
+				pointer.pop();
+			}
+			return schema;
+		}
+
+		private Map<String, PendingSchema> properties() throws IOException {
+			Map<String, PendingSchema> properties = new LinkedHashMap<>();
+			while (next() == JsonToken.FIELD_NAME) {
+				String name = enter();
+				properties.put(name, next() == JsonToken.START_OBJECT ? schema() : skip(null));
+				pointer.pop();
+			}
+			return properties;
+		}
+
+		private List<PendingSchema> schemaList() throws IOException {
+			List<PendingSchema> schemas = new ArrayList<>();
+			while (next() != JsonToken.END_ARRAY) {
+				pointer.push(Integer.toString(schemas.size()));
+				schemas.add(parser.currentToken() == JsonToken.START_OBJECT ? schema() : skip(null));
+				pointer.pop();
+			}
+			return schemas;
+		}
+
+		private List<Object> enumValues() throws IOException {
+			List<Object> values = new ArrayList<>();
+			JsonToken token;
+			while ((token = next()) != JsonToken.END_ARRAY) {
+				switch (token) {
+					case VALUE_STRING -> values.add(parser.getText());
+					case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> values.add(parser.getNumberValue());
+					case VALUE_TRUE, VALUE_FALSE -> values.add(parser.getBooleanValue());
+					case VALUE_NULL -> values.add(null);
+					default -> parser.skipChildren();
+				}
+			}
+			return values;
+		}
+
+		private <T> T skip(T fallback) throws IOException {
+			parser.skipChildren();
+			return fallback;
+		}
+
+		private void emitParameters(List<PendingParameter> parameters, String path, PathItem.HttpMethod method) {
+			parameters.forEach(p -> dispatch(NodeKind.PARAMETER, new ParameterRef(path, method, p.parameter())));
+			String prefix = (method == null ? "" : method + " ") + path + " parameters.";
+			for (PendingParameter p : parameters) {
+				if (p.parameter().getName() != null) {
+					emitSchema(p.schema(), prefix + p.parameter().getName());
+				}
+			}
+		}
+
+		private void emitContent(Map<String, PendingSchema> content, String location) {
+			content.forEach((mediaType, schema) -> emitSchema(schema, location + ".content." + mediaType));
+		}
+
+		private void emitSchema(PendingSchema schema, String location) {
+			if (schema == null || schema.isRef) {
+				return;
+			}
+			SchemaRef owner = new SchemaRef(location, null);
+			dispatch(NodeKind.SCHEMA, owner);
+			schema.enumValues.forEach(v -> dispatch(NodeKind.ENUM_VALUE, new EnumValueRef(owner, v)));
+			schema.properties.forEach((name, property) -> {
+				dispatch(NodeKind.PROPERTY, new PropertyRef(owner, name, null));
+				emitSchema(property, location + ".properties." + name);
+			});
+			emitSchema(schema.items, location + ".items");
+			emitSchemas(schema.allOf, location + ".allOf");
+			emitSchemas(schema.anyOf, location + ".anyOf");
+			emitSchemas(schema.oneOf, location + ".oneOf");
+			emitSchema(schema.additionalProperties, location + ".additionalProperties");
+		}
+
+		private void emitSchemas(List<PendingSchema> schemas, String location) {
+			for (int i = 0; i < schemas.size(); i++) {
+				emitSchema(schemas.get(i), location + "[" + i + "]");
+			}
+		}
+
+		private void dispatch(NodeKind kind, Object node) {
+			for (int i = 0; i < rules.size(); i++) {
+				Rule rule = rules.get(i);
+				if (!rule.nodeKinds().contains(kind)) {
+					continue;
+				}
+				RuleContext context = contexts[i][kind.ordinal()];
+				switch (kind) {
+					case OPERATION -> rule.onOperation((OperationRef) node, context);
+					case PARAMETER -> rule.onParameter((ParameterRef) node, context);
+					case SCHEMA -> rule.onSchema((SchemaRef) node, context);
+					case PROPERTY -> rule.onProperty((PropertyRef) node, context);
+					case ENUM_VALUE -> rule.onEnumValue((EnumValueRef) node, context);
+				}
+			}
+		}
+
+		private String enter() throws IOException {
+			String name = parser.currentName();
+			pointer.push(name);
+			return name;
+		}
+
+		private void expect(JsonToken actual, JsonToken expected) {
+			if (actual != expected) {
+				throw new IllegalArgumentException(
+						"Expected " + expected + " but got " + actual + " at " + jsonPointer());
+			}
+		}
+
+		/**
+		 * RFC 6901 pointer of the current position, used in error messages.
+		 */
+		String jsonPointer() {
+			if (pointer.isEmpty()) {
+				return "/";
+			}
+			StringBuilder sb = new StringBuilder();
+			pointer.descendingIterator().forEachRemaining(segment -> sb.append('/')
+					.append(segment.replace("~", "~0").replace("/", "~1")));
+			return sb.toString();
+		}
+	}
+
+	private static PathItem.HttpMethod httpMethod(String field) {
+		return switch (field) {
+			case "get" -> PathItem.HttpMethod.GET;
+			case "put" -> PathItem.HttpMethod.PUT;
+			case "post" -> PathItem.HttpMethod.POST;
+			case "delete" -> PathItem.HttpMethod.DELETE;
+			case "patch" -> PathItem.HttpMethod.PATCH;
+			case "head" -> PathItem.HttpMethod.HEAD;
+			case "options" -> PathItem.HttpMethod.OPTIONS;
+			case "trace" -> PathItem.HttpMethod.TRACE;
+			default -> null;
+		};
+	}
+
+	private static final class PendingOperation {
+		private final Operation operation = new Operation();
+		private final List<PendingParameter> parameters = new ArrayList<>();
+		private Map<String, PendingSchema> requestBodyContent = Map.of();
+		private final Map<String, Map<String, PendingSchema>> responseContent = new LinkedHashMap<>();
+	}
+
+	private record PendingParameter(Parameter parameter, PendingSchema schema) {
+	}
+
+	/**
+	 * The parts of a schema the rules and the walk order need; a null child stands for a non-object value.
+	 */
+	private static final class PendingSchema {
+		private boolean isRef;
+		private List<Object> enumValues = List.of();
+		private Map<String, PendingSchema> properties = Map.of();
+		private PendingSchema items;
+		private List<PendingSchema> allOf = List.of();
+		private List<PendingSchema> anyOf = List.of();
+		private List<PendingSchema> oneOf = List.of();
+		private PendingSchema additionalProperties;
+	}
+}
@@ -0,0 +1,257 @@
+package org.jakubfilo.openapivalidator.watch;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.SpecFiles;
+import org.jakubfilo.openapivalidator.SpecLoader;
+import org.jakubfilo.openapivalidator.baseline.Baseline;
+import org.jakubfilo.openapivalidator.diff.DiffValidator;
+import org.jakubfilo.openapivalidator.refs.ExternalRefCache;
+import org.jakubfilo.openapivalidator.refs.ExternalRefResolver;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Validates the inputs once, then re-validates a spec whenever it or a file it references through an external
+ * {@code $ref} changes, and prints only the violations that appeared or disappeared since the previous run.
+ * <p>
+ * Events are debounced: after the first event, the watcher waits until no event has arrived for
+ * {@link #QUIET_MILLIS}, so an editor's save burst (truncate, write, rename) triggers one re-validation. Each spec
+ * keeps its last model and errors; a save that leaves the model unchanged, e.g. reformatting, skips the rules.
+ * A spec that fails to parse keeps its last good state, so the delta after the fix is against that state.
+ * <p>
+ * New spec files are picked up in the directories given as inputs, including their subdirectories at startup.
+ */
+public class SpecWatcher {
+
+	static final long QUIET_MILLIS = 30;
+
+	private final List<String> inputs;
+	private final OpenApiSpecValidator validator;
+	private final boolean parseWarnings;
+	private final Baseline baseline;
+	private final PrintStream out;
+	private final ExternalRefCache refs = new ExternalRefCache();
+	private final Map<Path, SpecState> specs = new LinkedHashMap<>();
+	/**
+	 * Canonical path of a file on disk to the specs that must be re-validated when it changes.
+	 */
+	private final Map<Path, Set<Path>> dependents = new HashMap<>();
+	private final Set<Path> watchedDirectories = new HashSet<>();
+
+	/**
+	 * @param baseline accepted violations that are never printed, or null
+	 */
+	public SpecWatcher(List<String> inputs, OpenApiSpecValidator validator, boolean parseWarnings, Baseline baseline,
+			PrintStream out) {
+		this.inputs = List.copyOf(inputs);
+		this.validator = validator;
+		this.parseWarnings = parseWarnings;
+		this.baseline = baseline;
+		this.out = out;
+	}
+
+	/**
+	 * @param files every file the spec was read from, canonical
+	 */
+	private record SpecState(OpenAPI model, List<ValidationError> errors, Set<Path> files) {
+	}
+
+	/**
+	 * Runs until the thread is interrupted.
+	 */
+	public void run() throws IOException, InterruptedException {
+		try (WatchService watch = FileSystems.getDefault().newWatchService()) {
+			for (String input : inputs) {
+				Path path = Path.of(input);
+				if (Files.isDirectory(path)) {
+					try (Stream<Path> directories = Files.walk(path)) {
+						for (Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+							register(watch, directory);
+						}
+					}
+				}
+			}
+			for (Path spec : SpecFiles.expand(inputs)) {
+				validate(spec, watch);
+			}
+			out.println("Watching " + specs.size() + " spec(s) for changes, press Ctrl+C to stop.");
+
+			while (!Thread.currentThread().isInterrupted()) {
+				Set<Path> affected = new LinkedHashSet<>();
+				boolean created = false;
+				for (Path file : nextBurst(watch)) {
+					Set<Path> specsOfFile = dependents.get(file);
+					if (specsOfFile != null) {
+						affected.addAll(specsOfFile);
+					} else if (SpecFiles.isSpecName(file.getFileName().toString())) {
+						created = true;
+					}
+				}
+				if (created) {
+					for (Path spec : SpecFiles.expand(inputs)) {
+						if (!specs.containsKey(spec)) {
+							affected.add(spec);
+						}
+					}
+				}
+				for (Path spec : affected) {
+					validate(spec, watch);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Blocks for the first event, then collects events until {@link #QUIET_MILLIS} pass without one.
+	 */
+	private Set<Path> nextBurst(WatchService watch) throws InterruptedException {
+		Set<Path> changed = new LinkedHashSet<>();
+		WatchKey key = watch.take();
+		while (key != null) {
+			Path directory = (Path) key.watchable();
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == OVERFLOW) {
+					changed.addAll(dependents.keySet());
+				} else {
+					changed.add(directory.resolve((Path) event.context()));
+				}
+			}
+			key.reset();
+			key = watch.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+		}
+		return changed;
+	}
+
+	private void validate(Path spec, WatchService watch) throws IOException {
+		long start = System.nanoTime();
+		SpecState previous = specs.get(spec);
+		if (!Files.exists(SpecLoader.containingFile(spec))) {
+			if (previous != null) {
+				specs.remove(spec);
+				forget(spec, previous.files());
+				report(spec, List.of(), previous.errors(), "removed", start);
+			}
+			return;
+		}
+
+		SpecState next;
+		try {
+			ExternalRefResolver resolver = new ExternalRefResolver(refs, spec);
+			OpenAPI model = OpenApiParserUtil.parse(SpecLoader.read(spec), spec.toString(), resolver,
+					validator.getParseProfile(),
+					parseWarnings ? message -> out.println(spec + ": warning: " + message) : null);
+			List<ValidationError> errors = previous != null && model.equals(previous.model())
+					? previous.errors()
+					: accepted(spec, validator.validate(SpecIndex.of(model, null, validator.hasStructuralRules()),
+							spec.toString()));
+			Set<Path> files = new LinkedHashSet<>();
+			files.add(canonical(SpecLoader.containingFile(spec)));
+			resolver.dependencies().keySet().forEach(file -> files.add(canonical(SpecLoader.containingFile(file))));
+			next = new SpecState(model, errors, files);
+		} catch (Exception | InternalError ex) {
+			// InternalError: the mapped file was truncated by a concurrent save, the next event retries
+			out.println(spec + ": could not be validated: " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
+			if (previous == null) {
+				track(spec, Set.of(canonical(SpecLoader.containingFile(spec))), watch);
+			}
+			return;
+		}
+
+		specs.put(spec, next);
+		if (previous != null) {
+			forget(spec, previous.files());
+		}
+		track(spec, next.files(), watch);
+		List<ValidationError> before = previous == null ? List.of() : previous.errors();
+		report(spec, DiffValidator.subtract(next.errors(), before), DiffValidator.subtract(before, next.errors()),
+				previous == null ? "validated" : "re-validated", start);
+	}
+
+	private List<ValidationError> accepted(Path spec, List<ValidationError> errors) {
+		if (baseline == null) {
+			return errors;
+		}
+		List<ValidationError> result = new ArrayList<>(errors.size());
+		for (ValidationError error : errors) {
+			if (!baseline.contains(Baseline.fingerprint(spec, error))) {
+				result.add(error);
+			}
+		}
+		return result;
+	}
+
+	private void report(Path spec, List<ValidationError> introduced, List<ValidationError> resolved, String what,
+			long start) {
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		if (introduced.isEmpty() && resolved.isEmpty()) {
+			out.println(spec + ": " + what + ", no change in violations (" + millis + " ms)");
+			return;
+		}
+		out.println(spec + ": " + what + ", " + introduced.size() + " new, " + resolved.size() + " resolved ("
+				+ millis + " ms)");
+		introduced.forEach(error -> out.println("  + " + error));
+		resolved.forEach(error -> out.println("  - " + error));
+	}
+
+	private void track(Path spec, Set<Path> files, WatchService watch) throws IOException {
+		for (Path file : files) {
+			dependents.computeIfAbsent(file, f -> new LinkedHashSet<>()).add(spec);
+			register(watch, file.getParent());
+		}
+	}
+
+	private void forget(Path spec, Set<Path> files) {
+		for (Path file : files) {
+			Set<Path> specsOfFile = dependents.get(file);
+			if (specsOfFile != null && specsOfFile.remove(spec) && specsOfFile.isEmpty()) {
+				dependents.remove(file);
+			}
+		}
+	}
+
+	private void register(WatchService watch, Path directory) throws IOException {
+		Path canonical = canonical(directory);
+		if (watchedDirectories.add(canonical)) {
+			canonical.register(watch, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+		}
+	}
+
+	/**
+	 * Resolves symbolic links like {@link ExternalRefCache} does, so that event paths, which are resolved against
+	 * the canonical watched directory, match the dependency paths.
+	 */
+	private static Path canonical(Path file) {
+		try {
+			return file.toRealPath();
+		} catch (IOException ex) {
+			return file.toAbsolutePath().normalize();
+		}
+	}
+}
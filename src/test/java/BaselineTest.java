@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.jakubfilo.openapivalidator.baseline.Baseline;
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.swagger.v3.oas.models.PathItem;
+
+class BaselineTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void fingerprintIgnoresMessageButNotCodeLocationOrSpec() {
+		Path spec = Path.of("specs/users.json");
+		ValidationError error = new ValidationError("INVALID_PROPERTY_NAME_CASE",
+				ErrorLocation.property("User", "First_name"), "Property name must be lowerCamelCase");
+		long fingerprint = Baseline.fingerprint(spec, error);
+
+		assertEquals(fingerprint, Baseline.fingerprint(Path.of("specs/./users.json"), new ValidationError(
+				"INVALID_PROPERTY_NAME_CASE", ErrorLocation.property("User", "First_name"), "reworded")));
+		assertEquals(fingerprint, Baseline.fingerprint(Path.of("specs/users.json").toAbsolutePath(), error));
+		assertNotEquals(fingerprint, Baseline.fingerprint(Path.of("specs/groups.json"), error));
+		assertNotEquals(fingerprint, Baseline.fingerprint(spec, new ValidationError(
+				"OTHER_CODE", ErrorLocation.property("User", "First_name"), "Property name must be lowerCamelCase")));
+		// Field boundaries are part of the hash
+		assertNotEquals(fingerprint, Baseline.fingerprint(spec, new ValidationError(
+				"INVALID_PROPERTY_NAME_CASE", ErrorLocation.property("UserF", "irst_name"), "")));
+		assertNotEquals(
+				Baseline.fingerprint(spec, new ValidationError("C", ErrorLocation.parameter("/a", null, "id", "path"), "")),
+				Baseline.fingerprint(spec, new ValidationError("C",
+						ErrorLocation.parameter("/a", PathItem.HttpMethod.GET, "id", "path"), "")));
+	}
+
+	@Test
+	void fingerprintTellsApartViolationsOfOneCodeAtOneNode() {
+		Path spec = Path.of("specs/users.json");
+		// A new bad value in a baselined enum, or a new overlap of a baselined route, must still be reported
+		assertNotEquals(
+				Baseline.fingerprint(spec, new ValidationError("ENUM_NOT_UPPER_SNAKE_CASE",
+						ErrorLocation.enumValue("Color", "red"), "")),
+				Baseline.fingerprint(spec, new ValidationError("ENUM_NOT_UPPER_SNAKE_CASE",
+						ErrorLocation.enumValue("Color", "green"), "")));
+		assertNotEquals(
+				Baseline.fingerprint(spec, new ValidationError("SHADOWED_ROUTE",
+						ErrorLocation.route("/users/{id}", PathItem.HttpMethod.GET, "/users/me"), "")),
+				Baseline.fingerprint(spec, new ValidationError("SHADOWED_ROUTE",
+						ErrorLocation.route("/users/{id}", PathItem.HttpMethod.GET, "/users/all"), "")));
+	}
+
+	@Test
+	void roundTripsLargeBaselines() throws IOException {
+		Random random = new Random(42);
+		long[] fingerprints = new long[200_000];
+		Baseline baseline = Baseline.empty();
+		for (int i = 0; i < fingerprints.length; i++) {
+			fingerprints[i] = i == 0 ? 0L : random.nextLong();
+			assertTrue(baseline.add(fingerprints[i]));
+		}
+		assertFalse(baseline.add(fingerprints[7]));
+
+		Path file = tempDir.resolve("baseline.bin");
+		baseline.write(file);
+		assertEquals(12 + 8L * fingerprints.length, Files.size(file));
+
+		Baseline loaded = Baseline.load(file);
+		assertEquals(fingerprints.length, loaded.size());
+		for (long fingerprint : fingerprints) {
+			assertTrue(loaded.contains(fingerprint));
+		}
+		assertFalse(loaded.contains(random.nextLong()));
+
+		// Regenerating an unchanged baseline yields the same bytes
+		Path again = tempDir.resolve("again.bin");
+		loaded.write(again);
+		assertEquals(-1L, Files.mismatch(file, again));
+	}
+
+	@Test
+	void rejectsForeignFiles() throws IOException {
+		Path file = tempDir.resolve("not-a-baseline.json");
+		Files.writeString(file, "[\"INVALID_PROPERTY_NAME_CASE at schema User\"]");
+		assertThrows(IOException.class, () -> Baseline.load(file));
+	}
+}
@@ -0,0 +1,121 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.BatchValidator;
+import org.jakubfilo.openapivalidator.CliOptions;
+import org.jakubfilo.openapivalidator.ErrorReporter;
+import org.jakubfilo.openapivalidator.SpecResult;
+import org.jakubfilo.openapivalidator.report.ReportWriter;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BatchValidatorTest {
+
+	private static final int SPECS = 12;
+	private static final int BROKEN = 5;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void resultsFollowInputOrderAndABrokenSpecFailsAlone() throws IOException, InterruptedException {
+		List<Path> specs = writeSpecs();
+
+		List<SpecResult> results = batch().validateAll(specs);
+
+		assertEquals(specs, results.stream().map(SpecResult::spec).toList());
+		for (int i = 0; i < SPECS; i++) {
+			SpecResult result = results.get(i);
+			if (i == BROKEN) {
+				assertNotNull(result.failure());
+				assertEquals(List.of(), result.errors());
+			} else {
+				assertNull(result.failure(), result.spec().toString());
+				assertEquals(i % 2 == 0 ? paths(i) : 0, result.errors().size(), result.spec().toString());
+			}
+		}
+	}
+
+	@Test
+	void reporterSeesSpecsInInputOrder() throws IOException, InterruptedException {
+		List<Path> specs = writeSpecs();
+		List<String> events = new ArrayList<>();
+		ReportWriter writer = new ReportWriter() {
+			@Override
+			public void specStarted(Path spec) {
+				events.add("start " + spec.getFileName());
+			}
+
+			@Override
+			public void violation(Path spec, ValidationError error) {
+			}
+
+			@Override
+			public void specPassed(Path spec) {
+				events.add("passed " + spec.getFileName());
+			}
+
+			@Override
+			public void specFailed(Path spec, String failure) {
+				events.add("failed " + spec.getFileName());
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		try (ErrorReporter reporter = new ErrorReporter(List.of(writer), Long.MAX_VALUE, true, null, false)) {
+			batch().validateAll(specs, reporter);
+			reporter.close(null);
+		}
+
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < SPECS; i++) {
+			expected.add((i == BROKEN ? "failed " : i % 2 == 0 ? "start " : "passed ") + "spec" + i + ".json");
+		}
+		assertEquals(expected, events);
+	}
+
+	private BatchValidator batch() {
+		return new BatchValidator(CliOptions.parse(new String[] {"--no-cache", "--parallelism", "4",
+				tempDir.toString()}), RuleLoader.load());
+	}
+
+	/**
+	 * Specs with an even index lack operation descriptions. The first one is by far the largest, so that it
+	 * finishes after those behind it.
+	 */
+	private List<Path> writeSpecs() throws IOException {
+		List<Path> specs = new ArrayList<>();
+		for (int i = 0; i < SPECS; i++) {
+			String content = i == BROKEN ? "{ \"openapi\": \"3.0.3\", " : spec(paths(i), i % 2 == 0);
+			specs.add(Files.writeString(tempDir.resolve("spec" + i + ".json"), content));
+		}
+		return specs;
+	}
+
+	private static int paths(int index) {
+		return index == 0 ? 2000 : 1;
+	}
+
+	private static String spec(int paths, boolean withoutDescriptions) {
+		StringBuilder spec = new StringBuilder("""
+				{ "openapi": "3.0.3", "info": { "title": "Batch", "version": "1.0.0" }, "paths": {""");
+		for (int i = 0; i < paths; i++) {
+			spec.append(i == 0 ? "" : ",").append("\"/r").append(i).append("\": { \"get\": { ")
+					.append(withoutDescriptions ? "" : "\"description\": \"Reads r.\", ")
+					.append("\"responses\": { \"200\": { \"description\": \"OK\" } } } }");
+		}
+		return spec.append("} }").toString();
+	}
+}
@@ -0,0 +1,129 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.diff.DiffValidator;
+import org.jakubfilo.openapivalidator.diff.DiffValidator.DiffResult;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+class DiffValidatorTest {
+
+	private static final String BASE = """
+			{
+			  "openapi": "3.0.0",
+			  "info": { "title": "Diff API", "version": "1.0.0" },
+			  "paths": {
+			    "/users": { "get": { "responses": { "200": { "description": "OK" } } } },
+			    "/groups": { "get": { "description": "List groups", "responses": { "200": { "description": "OK" } } } }
+			  },
+			  "components": {
+			    "schemas": {
+			      "User": { "type": "object", "properties": { "first_name": { "type": "string" } } },
+			      "Group": { "type": "object", "properties": { "name": { "type": "string" } } }
+			    }
+			  }
+			}
+			""";
+
+	@Test
+	void identicalSpecsValidateNothing() {
+		DiffResult result = diff(BASE, BASE);
+
+		assertEquals(0, result.changedUnits());
+		assertEquals(4, result.totalUnits());
+		assertEquals(List.of(), result.introduced());
+	}
+
+	@Test
+	void onlyViolationsInChangedUnitsThatBaseDidNotHaveAreReported() {
+		String head = BASE
+				// Pre-existing violation stays, a new one is added next to it
+				.replace("\"first_name\": { \"type\": \"string\" }",
+						"\"first_name\": { \"type\": \"string\" }, \"last_name\": { \"type\": \"string\" }")
+				// New violation in a previously clean path
+				.replace("\"description\": \"List groups\", ", "");
+
+		DiffResult result = diff(BASE, head);
+
+		assertEquals(2, result.changedUnits());
+		assertEquals(List.of("MISSING_OPERATION_DESCRIPTION", "INVALID_PROPERTY_NAME_CASE"),
+				result.introduced().stream().map(ValidationError::getCode).toList());
+		assertEquals("schema User.properties.last_name", result.introduced().get(1).getLocation());
+		assertEquals(List.of(), result.resolved());
+	}
+
+	@Test
+	void fixedViolationsAreReportedAsResolved() {
+		String head = BASE.replace("\"first_name\"", "\"firstName\"");
+
+		DiffResult result = diff(BASE, head);
+
+		assertEquals(List.of(), result.introduced());
+		assertEquals(1, result.resolved().size());
+	}
+
+	@Test
+	void aPathOverlappingAnUnchangedOneIsReported() {
+		String base = """
+				{
+				  "openapi": "3.0.0",
+				  "info": { "title": "Routes", "version": "1.0.0" },
+				  "paths": {
+				    "/users/{userId}": {
+				      "parameters": [
+				        { "name": "userId", "in": "path", "required": true, "schema": { "type": "string" } }
+				      ],
+				      "get": { "description": "Reads a user", "responses": { "200": { "description": "OK" } } }
+				    }
+				  }
+				}
+				""";
+		String head = base.replace("""
+				    }
+				  }
+				}""", """
+				    },
+				    "/users/me": {
+				      "get": { "description": "Reads the caller", "responses": { "200": { "description": "OK" } } }
+				    }
+				  }
+				}""");
+
+		DiffResult added = diff(base, head);
+
+		assertEquals(1, added.changedUnits());
+		assertEquals(List.of("SHADOWED_ROUTE"), added.introduced().stream().map(ValidationError::getCode).toList());
+		assertEquals("GET /users/me", added.introduced().getFirst().getLocation());
+
+		// The earlier, overlapping path changes while /users/me does not: the overlap is not new
+		DiffResult edited = diff(head, head.replace("Reads a user", "Reads one user"));
+
+		assertEquals(1, edited.changedUnits());
+		assertEquals(List.of(), edited.introduced());
+		assertEquals(List.of(), edited.resolved());
+
+		// The earlier path gains the method /users/me declares: the overlap is new although /users/me did not change
+		String deleteOnMe = head.replace("\"get\": { \"description\": \"Reads the caller\"",
+				"\"delete\": { \"description\": \"Deletes the caller\"");
+		DiffResult overlapping = diff(deleteOnMe, deleteOnMe.replace("\"get\": { \"description\": \"Reads a user\"",
+				"\"delete\": { \"description\": \"Deletes a user\", "
+						+ "\"responses\": { \"200\": { \"description\": \"OK\" } } }, "
+						+ "\"get\": { \"description\": \"Reads a user\""));
+
+		assertEquals(1, overlapping.changedUnits());
+		assertEquals(List.of("SHADOWED_ROUTE"),
+				overlapping.introduced().stream().map(ValidationError::getCode).toList());
+		assertEquals("DELETE /users/{userId}", overlapping.introduced().getFirst().getLocation());
+	}
+
+	private static DiffResult diff(String base, String head) {
+		OpenAPI baseApi = OpenApiParserUtil.parseJson(base);
+		OpenAPI headApi = OpenApiParserUtil.parseJson(head);
+		return new DiffValidator(new OpenApiSpecValidator()).validate(baseApi, headApi);
+	}
+}
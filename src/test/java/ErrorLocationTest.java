@@ -0,0 +1,76 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.ValidationErrorJson;
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+
+import io.swagger.v3.oas.models.PathItem;
+
+class ErrorLocationTest {
+
+	@Test
+	void formatsHumanReadableLocations() {
+		assertEquals("GET /users", ErrorLocation.operation("/users", PathItem.HttpMethod.GET).toString());
+		assertEquals("/users/{id} param 'id' in path",
+				ErrorLocation.parameter("/users/{id}", null, "id", "path").toString());
+		assertEquals("schema User.properties.lastName", ErrorLocation.property("User", "lastName").toString());
+		assertEquals("schema Color", ErrorLocation.enumValue("Color", "red").toString());
+		assertEquals("GET /users/me",
+				ErrorLocation.route("/users/me", PathItem.HttpMethod.GET, "/users/{id}").toString());
+	}
+
+	@Test
+	void rendersJsonPointers() {
+		assertEquals("/paths/~1users~1{id}/get",
+				ErrorLocation.operation("/users/{id}", PathItem.HttpMethod.GET).toJsonPointer());
+		assertEquals("/components/schemas/User/properties/address/properties/street_name",
+				ErrorLocation.property("User.properties.address", "street_name").toJsonPointer());
+		assertEquals("/components/schemas/com.example.Pet/items/enum",
+				ErrorLocation.enumValue("com.example.Pet.items", "dog").toJsonPointer());
+		assertEquals("/paths/~1users/post/requestBody/content/application~1vnd.api+json/schema/allOf/0",
+				ErrorLocation.schema("POST /users requestBody.content.application/vnd.api+json.allOf[0]")
+						.toJsonPointer());
+		assertEquals("/paths/~1users/get/responses/200/content/application~1json/schema/properties/tags/items",
+				ErrorLocation.schema("GET /users responses.200.content.application/json.properties.tags.items")
+						.toJsonPointer());
+		assertNull(ErrorLocation.literal("somewhere").toJsonPointer());
+	}
+
+	@Test
+	void relocatesSchemaLocationsBelowTheCopiedSubtree() {
+		assertEquals(ErrorLocation.property("GET /b responses.200.items", "First_name"),
+				ErrorLocation.property("GET /a responses.200.items", "First_name")
+						.relocate("GET /a responses.200", "GET /b responses.200"));
+		assertEquals(ErrorLocation.enumValue("Pet.allOf[0]", "a_b"),
+				ErrorLocation.enumValue("User.allOf[0]", "a_b").relocate("User", "Pet"));
+		ErrorLocation sibling = ErrorLocation.schema("UserList");
+		assertEquals(sibling, sibling.relocate("User", "Pet"));
+		ErrorLocation operation = ErrorLocation.operation("/users", PathItem.HttpMethod.GET);
+		assertEquals(operation, operation.relocate("/users", "/pets"));
+	}
+
+	@Test
+	void errorsAreValues() {
+		ValidationError a = new ValidationError("CODE", ErrorLocation.property("User", "First_name"), "msg");
+		ValidationError b = new ValidationError("CODE", ErrorLocation.property("User", "First_name"), "msg");
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertNotEquals(a, new ValidationError("CODE", ErrorLocation.property("User", "firstName"), "msg"));
+		// Same rendered string, different structure
+		assertNotEquals(a, new ValidationError("CODE", ErrorLocation.literal("schema User.properties.First_name"), "msg"));
+	}
+
+	@Test
+	void roundTripsThroughJson() {
+		List<ValidationError> errors = List.of(
+				new ValidationError("A", ErrorLocation.parameter("/users/{id}", null, "id", "path"), "m1"),
+				new ValidationError("B", ErrorLocation.operation("/users", PathItem.HttpMethod.POST), "m2"),
+				new ValidationError("C", ErrorLocation.literal("elsewhere"), "m3"));
+		assertEquals(errors, ValidationErrorJson.fromJson(ValidationErrorJson.toJson(errors)));
+	}
+}
@@ -0,0 +1,136 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.ErrorReporter;
+import org.jakubfilo.openapivalidator.report.ReportWriter;
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+
+class ErrorReporterTest {
+
+	private static final Path A = Path.of("a.json");
+	private static final Path B = Path.of("b.json");
+	private static final Path C = Path.of("c.json");
+
+	@Test
+	void reportsSpecsInInputOrderWhateverOrderTheyFinishIn() {
+		Recorder events = new Recorder();
+		try (ErrorReporter reporter = new ErrorReporter(List.of(events), Long.MAX_VALUE, true, null, false)) {
+			ErrorReporter.SpecSink a = reporter.forSpec(A);
+			ErrorReporter.SpecSink b = reporter.forSpec(B);
+			ErrorReporter.SpecSink c = reporter.forSpec(C);
+
+			c.accept(error("C1"));
+			c.complete(null);
+			b.accept(error("B1"));
+			a.accept(error("A1"));
+			b.accept(error("B2"));
+			// c finished first, but nothing after a is written before a is complete
+			assertEquals(List.of("start a.json", "A1"), events.lines);
+
+			a.complete(null);
+			assertEquals(List.of("start a.json", "A1", "end a.json", "start b.json", "B1", "B2"), events.lines);
+			b.accept(error("B3"));
+			b.complete(null);
+			reporter.close(null);
+		}
+		assertEquals(List.of("start a.json", "A1", "end a.json", "start b.json", "B1", "B2", "B3", "end b.json",
+				"start c.json", "C1", "end c.json"), events.lines);
+	}
+
+	@Test
+	void limitCutsOffAtTheSameProblemWhateverOrderSpecsFinishIn() {
+		Recorder events = new Recorder();
+		try (ErrorReporter reporter = new ErrorReporter(List.of(events), 2, true, null, false)) {
+			ErrorReporter.SpecSink a = reporter.forSpec(A);
+			ErrorReporter.SpecSink b = reporter.forSpec(B);
+
+			b.accept(error("B1"));
+			b.accept(error("B2"));
+			// b alone holds as much as can be reported, so it may stop, but a goes on
+			assertTrue(b.isDone());
+			assertFalse(a.isDone());
+			b.complete(null);
+
+			a.accept(error("A1"));
+			a.complete(null);
+			assertTrue(reporter.isDone());
+			reporter.close(null);
+		}
+		assertEquals(List.of("start a.json", "A1", "end a.json", "start b.json", "B1", "end b.json"), events.lines);
+	}
+
+	@Test
+	void specsWaitToStartWhileLaterSpecsHoldTooManyViolations() throws InterruptedException {
+		Recorder events = new Recorder();
+		try (ErrorReporter reporter = new ErrorReporter(List.of(events), Long.MAX_VALUE, true, null, false)) {
+			ErrorReporter.SpecSink a = reporter.forSpec(A);
+			ErrorReporter.SpecSink b = reporter.forSpec(B);
+			ErrorReporter.SpecSink c = reporter.forSpec(C);
+			// a is live and never waits
+			a.awaitStart();
+			for (int i = 0; i < ErrorReporter.MAX_BUFFERED; i++) {
+				b.accept(error("B" + i));
+			}
+			b.complete(null);
+
+			Thread start = Thread.ofPlatform().start(() -> {
+				try {
+					c.awaitStart();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			while (start.getState() != Thread.State.WAITING) {
+				Thread.onSpinWait();
+			}
+			// Once a is complete, b's violations are written and c may start
+			a.complete(null);
+			start.join();
+
+			c.complete(null);
+			reporter.close(null);
+		}
+		assertEquals(ErrorReporter.MAX_BUFFERED + 2, events.lines.size());
+		assertEquals("end b.json", events.lines.getLast());
+	}
+
+	private static ValidationError error(String code) {
+		return new ValidationError(code, ErrorLocation.schema("User"), "message");
+	}
+
+	private static final class Recorder implements ReportWriter {
+
+		private final List<String> lines = new ArrayList<>();
+
+		@Override
+		public void specStarted(Path spec) {
+			lines.add("start " + spec);
+		}
+
+		@Override
+		public void violation(Path spec, ValidationError error) {
+			lines.add(error.getCode());
+		}
+
+		@Override
+		public void specFinished(Path spec) {
+			lines.add("end " + spec);
+		}
+
+		@Override
+		public void specFailed(Path spec, String failure) {
+			lines.add("failed " + spec);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
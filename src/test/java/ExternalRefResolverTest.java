@@ -0,0 +1,106 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.SpecLoader;
+import org.jakubfilo.openapivalidator.refs.ExternalRefCache;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+class ExternalRefResolverTest {
+
+	private static final String COMMON = """
+			{
+			  "components": {
+			    "schemas": {
+			      "Error": { "type": "object", "properties": { "error_code": { "type": "string" }, "cause": { "$ref": "#/components/schemas/Cause" } } },
+			      "Cause": { "type": "object", "properties": { "message": { "type": "string" } } }
+			    }
+			  }
+			}
+			""";
+
+	private static final String NODE = """
+			{ "type": "object", "properties": { "child": { "$ref": "node.json" } } }
+			""";
+
+	private static final String SPEC = """
+			{
+			  "openapi": "3.0.3",
+			  "info": { "title": "%s", "version": "1.0.0" },
+			  "paths": {
+			    "/users": {
+			      "get": {
+			        "description": "List users",
+			        "responses": {
+			          "200": { "description": "OK", "content": { "application/json": { "schema": { "$ref": "shared/node.json" } } } },
+			          "500": { "description": "Failed", "content": { "application/json": { "schema": { "$ref": "shared/common.json#/components/schemas/Error" } } } }
+			        }
+			      }
+			    }
+			  },
+			  "components": {
+			    "schemas": {
+			      "Error": { "type": "string" }
+			    }
+			  }
+			}
+			""";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void importsReferencedComponentsAndParsesSharedFilesOnce() throws IOException {
+		Files.createDirectories(tempDir.resolve("shared"));
+		Files.writeString(tempDir.resolve("shared/common.json"), COMMON);
+		Files.writeString(tempDir.resolve("shared/node.json"), NODE);
+		Path first = Files.writeString(tempDir.resolve("first.json"), SPEC.formatted("First"));
+		Path second = Files.writeString(tempDir.resolve("second.json"), SPEC.formatted("Second"));
+
+		ExternalRefCache refs = new ExternalRefCache();
+		OpenAPI openAPI = SpecLoader.parse(first, refs, ParseProfile.AS_WRITTEN, null);
+		SpecLoader.parse(second, refs, ParseProfile.AS_WRITTEN, null);
+		assertEquals("External $ref documents: 2 parsed, 6 reused", refs.summary());
+		refs.clear();
+		SpecLoader.parse(second, refs, ParseProfile.AS_WRITTEN, null);
+		assertEquals("External $ref documents: 4 parsed, 8 reused", refs.summary());
+
+		// The local Error keeps its name, the imported one and its dependency are added next to it
+		var schemas = openAPI.getComponents().getSchemas();
+		assertEquals(List.of("Error", "node", "Error_1", "Cause"), List.copyOf(schemas.keySet()));
+		Schema<?> cause = (Schema<?>) schemas.get("Error_1").getProperties().get("cause");
+		assertEquals("#/components/schemas/Cause", cause.get$ref());
+		assertEquals("#/components/schemas/Error_1", openAPI.getPaths().get("/users").getGet().getResponses()
+				.get("500").getContent().get("application/json").getSchema().get$ref());
+
+		// The self-referencing whole-file schema is inlined once, its recursion points at the imported copy
+		Schema<?> inlined = openAPI.getPaths().get("/users").getGet().getResponses()
+				.get("200").getContent().get("application/json").getSchema();
+		assertEquals("#/components/schemas/node", ((Schema<?>) inlined.getProperties().get("child")).get$ref());
+
+		assertTrue(new OpenApiSpecValidator(RuleLoader.load()).validate(openAPI).stream()
+				.anyMatch(e -> "schema Error_1.properties.error_code".equals(e.getLocation())));
+	}
+
+	@Test
+	void reportsUnresolvableRefs() throws IOException {
+		Files.createDirectories(tempDir.resolve("shared"));
+		Files.writeString(tempDir.resolve("shared/common.json"), "{}");
+		Files.writeString(tempDir.resolve("shared/node.json"), NODE);
+		Path spec = Files.writeString(tempDir.resolve("spec.json"), SPEC.formatted("Broken"));
+
+		assertThrows(IllegalArgumentException.class, () -> SpecLoader.parse(spec));
+	}
+}
@@ -0,0 +1,73 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.jakubfilo.openapivalidator.validation.rules.NameCase;
+import org.junit.jupiter.api.Test;
+
+class NameCaseTest {
+
+	private static final Map<NameCase, Pattern> REFERENCE = Map.of(
+			NameCase.LOWER_CAMEL, Pattern.compile("^[a-z][a-zA-Z0-9]*$"),
+			NameCase.UPPER_CAMEL, Pattern.compile("^[A-Z][a-zA-Z0-9]*$"),
+			NameCase.UPPER_SNAKE, Pattern.compile("^[A-Z0-9]+(?:_[A-Z0-9]+)*$"),
+			NameCase.SNAKE, Pattern.compile("^[a-z][a-z0-9]*(?:_[a-z0-9]+)*$"),
+			NameCase.KEBAB, Pattern.compile("^[a-z][a-z0-9]*(?:-[a-z0-9]+)*$")
+	);
+
+	@Test
+	void classifiesTypicalNames() {
+		assertTrue(NameCase.LOWER_CAMEL.matches("firstName"));
+		assertTrue(NameCase.UPPER_CAMEL.matches("FirstName"));
+		assertTrue(NameCase.UPPER_SNAKE.matches("DARK_GREEN"));
+		assertTrue(NameCase.SNAKE.matches("first_name"));
+		assertTrue(NameCase.KEBAB.matches("first-name"));
+
+		assertFalse(NameCase.UPPER_SNAKE.matches("dark_green"));
+		assertFalse(NameCase.LOWER_CAMEL.matches("First_name"));
+		assertEquals(0, NameCase.classify(""));
+		assertEquals(0, NameCase.classify(null));
+
+		int plain = NameCase.classify("name");
+		assertTrue(NameCase.LOWER_CAMEL.in(plain) && NameCase.SNAKE.in(plain) && NameCase.KEBAB.in(plain));
+	}
+
+	@Test
+	void agreesWithReferenceRegexes() {
+		Random random = new Random(7);
+		String alphabet = "aZ0_-.é";
+		for (int n = 0; n < 50_000; n++) {
+			StringBuilder sb = new StringBuilder();
+			int length = random.nextInt(6);
+			for (int i = 0; i < length; i++) {
+				sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			String name = sb.toString();
+			for (NameCase nameCase : NameCase.values()) {
+				assertEquals(REFERENCE.get(nameCase).matcher(name).matches(), nameCase.matches(name),
+						nameCase + " disagrees with regex for '" + name + "'");
+			}
+		}
+	}
+
+	@Test
+	void classifiesBatchIntoCallerArray() {
+		List<String> names = List.of("ACTIVE", "inProgress", "done-soon");
+		int[] masks = new int[names.size()];
+
+		NameCase.classifyAll(names, masks);
+
+		assertArrayEquals(new int[] {
+				NameCase.classify("ACTIVE"), NameCase.classify("inProgress"), NameCase.classify("done-soon")
+		}, masks);
+		assertTrue(NameCase.UPPER_SNAKE.in(masks[0]));
+		assertTrue(NameCase.LOWER_CAMEL.in(masks[1]));
+		assertTrue(NameCase.KEBAB.in(masks[2]));
+	}
+}
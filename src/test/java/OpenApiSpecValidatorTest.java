@@ -2,11 +2,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
 import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.PropertyRef;
 import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.ValidationSink;
 import org.junit.jupiter.api.Test;
 
 import io.swagger.v3.oas.models.OpenAPI;
@@ -326,4 +336,225 @@ class OpenApiSpecValidatorTest {
 		assertEquals(4, reportedMessages.size(),
 				"Expected 4 invalid enum values (red, Blue, dark_green, admin)");
 	}
+
+	@Test
+	void errorsAreGroupedByRuleInSinglePass() {
+		String spec = """
+        {
+          "openapi": "3.0.0",
+          "info": { "title": "Mixed API", "version": "1.0.0" },
+          "paths": {
+            "/users/{id}": {
+              "parameters": [
+                { "name": "id", "in": "path", "required": true, "schema": { "type": "string" } }
+              ],
+              "post": {
+                "responses": {
+                  "200": { "description": "OK" }
+                }
+              },
+              "get": {
+                "responses": {
+                  "200": { "description": "OK" }
+                }
+              }
+            }
+          },
+          "components": {
+            "schemas": {
+              "User": {
+                "type": "object",
+                "properties": {
+                  "First_name": { "type": "string" },
+                  "role": { "type": "string", "enum": ["admin"] }
+                }
+              }
+            }
+          }
+        }
+        """;
+
+		OpenAPI openAPI = OpenApiParserUtil.parseJson(spec);
+		List<ValidationError> errors = validator.validate(openAPI);
+
+		List<String> actual = errors.stream()
+				.map(e -> e.getCode() + " " + e.getLocation())
+				.toList();
+
+		assertEquals(List.of(
+				"MISSING_OPERATION_DESCRIPTION GET /users/{id}",
+				"MISSING_OPERATION_DESCRIPTION POST /users/{id}",
+				"INVALID_PROPERTY_NAME_CASE schema User.properties.First_name",
+				"POST_SHOULD_RETURN_201 POST /users/{id}",
+				"GENERIC_ID_PARAMETER_NAME /users/{id} param 'id' in path",
+				"ENUM_NOT_UPPER_SNAKE_CASE schema User.properties.role"
+		), actual);
+	}
+
+	@Test
+	void nestedAndInlineSchemasAreValidated() {
+		String spec = """
+        {
+          "openapi": "3.0.0",
+          "info": { "title": "Nested API", "version": "1.0.0" },
+          "paths": {
+            "/users": {
+              "get": {
+                "description": "List users",
+                "responses": {
+                  "200": {
+                    "description": "OK",
+                    "content": {
+                      "application/json": {
+                        "schema": {
+                          "type": "array",
+                          "items": { "type": "object", "properties": { "page_size": { "type": "integer" } } }
+                        }
+                      }
+                    }
+                  }
+                }
+              }
+            }
+          },
+          "components": {
+            "schemas": {
+              "User": {
+                "type": "object",
+                "properties": {
+                  "address": {
+                    "type": "object",
+                    "properties": { "Street_name": { "type": "string" } }
+                  },
+                  "manager": { "$ref": "#/components/schemas/User" },
+                  "tags": {
+                    "type": "array",
+                    "items": { "type": "string", "enum": ["vip"] }
+                  }
+                }
+              }
+            }
+          }
+        }
+        """;
+
+		OpenAPI openAPI = OpenApiParserUtil.parseJson(spec);
+		List<ValidationError> errors = validator.validate(openAPI);
+
+		assertEquals(List.of(
+				"INVALID_PROPERTY_NAME_CASE schema GET /users responses.200.content.application/json.items.properties.page_size",
+				"INVALID_PROPERTY_NAME_CASE schema User.properties.address.properties.Street_name",
+				"ENUM_NOT_UPPER_SNAKE_CASE schema User.properties.tags.items"
+		), errors.stream().map(e -> e.getCode() + " " + e.getLocation()).toList());
+	}
+
+	@Test
+	void parallelEvaluationReportsInSequentialOrder() {
+		StringBuilder paths = new StringBuilder();
+		StringBuilder schemas = new StringBuilder();
+		for (int i = 0; i < 1500; i++) {
+			String sep = i == 0 ? "" : ",";
+			paths.append(sep).append("\"/r").append(i).append("\": { \"post\": { ")
+					.append(i % 3 == 0 ? "" : "\"description\": \"d\", ")
+					.append("\"responses\": { \"200\": { \"description\": \"OK\" } } } }");
+			schemas.append(sep).append("\"S").append(i).append("\": { \"type\": \"object\", \"properties\": { ")
+					.append("\"").append(i % 2 == 0 ? "bad_name" : "goodName").append("\": { \"type\": \"string\", ")
+					.append("\"enum\": [\"").append(i % 5 == 0 ? "lower" : "UPPER").append("\"] } } }");
+		}
+		OpenAPI openAPI = OpenApiParserUtil.parseJson("""
+				{ "openapi": "3.0.0", "info": { "title": "Big API", "version": "1.0.0" },
+				  "paths": { %s }, "components": { "schemas": { %s } } }
+				""".formatted(paths, schemas));
+
+		List<ValidationError> sequential = validator.validate(openAPI);
+		List<ValidationError> parallel = new OpenApiSpecValidator(validator.getRules(), null, new ForkJoinPool(4))
+				.validate(openAPI);
+
+		assertTrue(sequential.size() > 3000);
+		assertEquals(sequential.stream().map(ValidationError::toString).toList(),
+				parallel.stream().map(ValidationError::toString).toList());
+	}
+
+	@Test
+	void parallelRangesStopOnceTheCallersSinkIsDone() {
+		StringBuilder properties = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			properties.append(i == 0 ? "" : ",").append("\"p").append(i).append("\": { \"type\": \"string\" }");
+		}
+		SpecIndex index = SpecIndex.of(OpenApiParserUtil.parseJson("""
+				{ "openapi": "3.0.0", "info": { "title": "Big API", "version": "1.0.0" }, "paths": {},
+				  "components": { "schemas": { "Big": { "type": "object", "properties": { %s } } } } }
+				""".formatted(properties)));
+		AtomicInteger visited = new AtomicInteger();
+		Rule counting = new Rule() {
+			@Override
+			public String id() {
+				return "counting";
+			}
+
+			@Override
+			public Set<NodeKind> nodeKinds() {
+				return Set.of(NodeKind.PROPERTY);
+			}
+
+			@Override
+			public void onProperty(PropertyRef property, RuleContext context) {
+				visited.incrementAndGet();
+			}
+		};
+
+		// Another spec of the batch reaching --max-errors makes the sink done while this one is evaluated
+		new OpenApiSpecValidator(List.of(counting), null, new ForkJoinPool(2)).validate(index, null,
+				new ValidationSink() {
+					@Override
+					public void accept(ValidationError error) {
+					}
+
+					@Override
+					public boolean isDone() {
+						return visited.get() >= 10;
+					}
+				});
+
+		assertTrue(visited.get() < 100, visited.get() + " of 5000 properties visited");
+	}
+
+	@Test
+	void doneSinkStopsTraversal() {
+		String spec = """
+        {
+          "openapi": "3.0.0",
+          "info": { "title": "Cutoff API", "version": "1.0.0" },
+          "paths": {
+            "/a": { "get": { "responses": { "200": { "description": "OK" } } } },
+            "/b": { "get": { "responses": { "200": { "description": "OK" } } } },
+            "/c": { "get": { "responses": { "200": { "description": "OK" } } } }
+          },
+          "components": {
+            "schemas": {
+              "User": { "type": "object", "properties": { "first_name": { "type": "string" } } }
+            }
+          }
+        }
+        """;
+		OpenAPI openAPI = OpenApiParserUtil.parseJson(spec);
+		List<ValidationError> all = validator.validate(openAPI);
+
+		List<ValidationError> received = new ArrayList<>();
+		validator.validate(SpecIndex.of(openAPI), null, new ValidationSink() {
+			@Override
+			public void accept(ValidationError error) {
+				received.add(error);
+			}
+
+			@Override
+			public boolean isDone() {
+				return received.size() >= 2;
+			}
+		});
+
+		assertEquals(4, all.size());
+		assertEquals(all.subList(0, 2).stream().map(ValidationError::toString).toList(),
+				received.stream().map(ValidationError::toString).toList());
+	}
 }
@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.junit.jupiter.api.Test;
+
+class ParseProfileTest {
+
+	@Test
+	void builtInRulesNeedNoResolution() {
+		assertEquals(ParseProfile.AS_WRITTEN, ParseProfile.cheapest(RuleLoader.load()));
+	}
+
+	@Test
+	void picksTheCheapestProfileSatisfyingAllRules() {
+		assertEquals(ParseProfile.AS_WRITTEN, ParseProfile.cheapest(List.of()));
+		assertEquals(ParseProfile.RESOLVED,
+				ParseProfile.cheapest(List.of(needing(ParseProfile.AS_WRITTEN), needing(ParseProfile.RESOLVED))));
+		assertEquals(ParseProfile.FLATTENED,
+				ParseProfile.cheapest(List.of(needing(ParseProfile.RESOLVED), needing(ParseProfile.FLATTENED))));
+		assertEquals(ParseProfile.RESOLVED_FULLY,
+				ParseProfile.cheapest(List.of(needing(ParseProfile.RESOLVED_FULLY), needing(ParseProfile.RESOLVED))));
+		assertThrows(IllegalArgumentException.class, () -> ParseProfile.cheapest(
+				List.of(needing(ParseProfile.FLATTENED), needing(ParseProfile.RESOLVED_FULLY))));
+	}
+
+	private static Rule needing(ParseProfile profile) {
+		return new Rule() {
+			@Override
+			public String id() {
+				return "needs-" + profile;
+			}
+
+			@Override
+			public Set<NodeKind> nodeKinds() {
+				return Set.of();
+			}
+
+			@Override
+			public ParseProfile parseProfile() {
+				return profile;
+			}
+		};
+	}
+}
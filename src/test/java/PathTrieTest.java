@@ -0,0 +1,111 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.PathTrie;
+import org.jakubfilo.openapivalidator.validation.PathTrie.Overlap;
+import org.jakubfilo.openapivalidator.validation.PathTrie.Route;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.rules.RulesFacade;
+import org.junit.jupiter.api.Test;
+
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+
+class PathTrieTest {
+
+	private static final PathTrie TRIE = new PathTrie.Builder()
+			.add("/users/{userId}", HttpMethod.GET)
+			.add("/users/{userId}", HttpMethod.DELETE)
+			.add("/users/me", HttpMethod.GET)
+			.add("/a/{x}/b", HttpMethod.GET)
+			.add("/a/{y}/b", HttpMethod.POST)
+			.add("/a/{y}/b", HttpMethod.GET)
+			.add("/a/c/{z}", HttpMethod.GET)
+			// a parameter never matches the empty segment after a trailing slash
+			.add("/users/", HttpMethod.GET)
+			// no method in common
+			.add("/orders/{orderId}", HttpMethod.POST)
+			.add("/orders/latest", HttpMethod.GET)
+			.add("/files/{name}.json", HttpMethod.GET)
+			.add("/files/{fileId}", HttpMethod.GET)
+			.build();
+
+	@Test
+	void findsDuplicateShadowedAndAmbiguousTemplates() {
+		assertEquals(List.of(
+				"SHADOWED /users/{userId} /users/me [GET] specific /users/me",
+				"DUPLICATE /a/{x}/b /a/{y}/b [GET]",
+				"AMBIGUOUS /a/{x}/b /a/c/{z} [GET]",
+				"AMBIGUOUS /a/{y}/b /a/c/{z} [GET]",
+				"SHADOWED /files/{name}.json /files/{fileId} [GET] specific /files/{name}.json"
+		), TRIE.overlaps().stream().map(PathTrieTest::describe).toList());
+
+		assertEquals(List.of("DUPLICATE /a/{x}/b /a/{y}/b [GET]"),
+				TRIE.overlapsOf("/a/{y}/b").stream().map(PathTrieTest::describe).toList());
+		assertEquals(List.of(), TRIE.overlapsOf("/a/{x}/b"));
+	}
+
+	@Test
+	void matchesRequestsPreferringLiteralSegments() {
+		assertEquals(List.of("/users/me", "/users/{userId}"), templates(TRIE.match("/users/me")));
+		assertEquals(List.of("/users/"), templates(TRIE.match("/users/")));
+		assertEquals(List.of("/a/c/{z}", "/a/{x}/b", "/a/{y}/b"), templates(TRIE.match("/a/c/b")));
+		assertEquals(List.of(), templates(TRIE.match("/a/c")));
+	}
+
+	@Test
+	void overlapsScaleWithTheirNumberNotWithPairsOfPaths() {
+		PathTrie.Builder builder = new PathTrie.Builder();
+		for (int i = 0; i < 5000; i++) {
+			builder.add("/r" + i + "/{itemId}", HttpMethod.GET).add("/r" + i + "/search", HttpMethod.GET)
+					.add("/r" + i + "/{itemId}/children", HttpMethod.GET);
+		}
+		assertEquals(5000, builder.build().overlaps().size());
+	}
+
+	@Test
+	void ruleReportsEachOverlapOnTheLaterOperation() {
+		String spec = """
+				{
+				  "openapi": "3.0.0",
+				  "info": { "title": "Routes", "version": "1.0.0" },
+				  "paths": {
+				    "/users/{userId}": {
+				      "parameters": [ { "name": "userId", "in": "path", "required": true, "schema": { "type": "string" } } ],
+				      "get": { "responses": { "200": { "description": "OK" } } }
+				    },
+				    "/users/me": {
+				      "get": { "responses": { "200": { "description": "OK" } } },
+				      "put": { "responses": { "200": { "description": "OK" } } }
+				    },
+				    "/users/{id}": {
+				      "parameters": [ { "name": "id", "in": "path", "required": true, "schema": { "type": "string" } } ],
+				      "get": { "responses": { "200": { "description": "OK" } } }
+				    }
+				  }
+				}
+				""";
+		List<ValidationError> errors = new ArrayList<>();
+		RulesFacade.validateNoAmbiguousRoutes(OpenApiParserUtil.parseJson(spec), errors);
+
+		assertEquals(List.of(
+				"SHADOWED_ROUTE GET /users/me: Every request to '/users/me' also matches '/users/{userId}'; "
+						+ "routers that do not prefer literal segments never reach it",
+				"DUPLICATE_ROUTE GET /users/{id}: Path matches the same requests as '/users/{userId}'; "
+						+ "only the parameter names differ",
+				"SHADOWED_ROUTE GET /users/{id}: Every request to '/users/me' also matches '/users/{id}'; "
+						+ "routers that do not prefer literal segments never reach it"
+		), errors.stream().map(e -> e.getCode() + " " + e.getLocation() + ": " + e.getMessage()).toList());
+	}
+
+	private static String describe(Overlap overlap) {
+		return overlap.kind() + " " + overlap.first().template() + " " + overlap.second().template() + " "
+				+ overlap.methods() + (overlap.specific() != null ? " specific " + overlap.specific().template() : "");
+	}
+
+	private static List<String> templates(List<Route> routes) {
+		return routes.stream().map(Route::template).toList();
+	}
+}
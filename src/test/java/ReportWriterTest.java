@@ -0,0 +1,139 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.ErrorReporter;
+import org.jakubfilo.openapivalidator.SpecResult;
+import org.jakubfilo.openapivalidator.ValidationErrorJson;
+import org.jakubfilo.openapivalidator.report.GithubAnnotationWriter;
+import org.jakubfilo.openapivalidator.report.JsonLinesWriter;
+import org.jakubfilo.openapivalidator.report.MarkdownSummaryWriter;
+import org.jakubfilo.openapivalidator.report.ReportFormat;
+import org.jakubfilo.openapivalidator.report.SarifWriter;
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.swagger.v3.oas.models.PathItem;
+
+class ReportWriterTest {
+
+	private static final Path USERS = Path.of("specs/users api.json");
+	private static final Path BROKEN = Path.of("specs/broken.json");
+
+	private static final List<ValidationError> ERRORS = List.of(
+			new ValidationError("INVALID_PROPERTY_NAME_CASE", ErrorLocation.property("User", "First_name"),
+					"100% wrong\nsee | docs"),
+			new ValidationError("MISSING_OPERATION_DESCRIPTION",
+					ErrorLocation.operation("/users", PathItem.HttpMethod.GET), "Operation must have a description"),
+			new ValidationError("INVALID_PROPERTY_NAME_CASE", ErrorLocation.property("User", "Last_name"),
+					"Property name must be lowerCamelCase"));
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void writesEveryFormatInOneRun() throws IOException {
+		ByteArrayOutputStream console = new ByteArrayOutputStream();
+		Path summary = tempDir.resolve("summary.md");
+		Path sarif = tempDir.resolve("report.sarif");
+		Path jsonl = tempDir.resolve("report.jsonl");
+		try (ErrorReporter reporter = new ErrorReporter(List.of(
+				GithubAnnotationWriter.console(new PrintStream(console, false, StandardCharsets.UTF_8), 2),
+				new MarkdownSummaryWriter(summary), new SarifWriter(sarif), new JsonLinesWriter(jsonl)),
+				Long.MAX_VALUE, true, null, false)) {
+			reporter.report(SpecResult.validated(USERS, ERRORS));
+			reporter.report(SpecResult.failed(BROKEN, "ParseException: unexpected token"));
+			reporter.close(null);
+		}
+
+		// Annotations stop at the limit, the rest is summarized per code
+		assertEquals(List.of(
+				"::error file=specs/users api.json,title=OpenAPI validation::INVALID_PROPERTY_NAME_CASE - "
+						+ "schema User.properties.First_name - 100%25 wrong%0Asee | docs",
+				"::error file=specs/users api.json,title=OpenAPI validation::MISSING_OPERATION_DESCRIPTION - "
+						+ "GET /users - Operation must have a description",
+				"::warning title=OpenAPI validation::2 more problem(s) were not annotated (limit 2): "
+						+ "(could not be validated) x1, INVALID_PROPERTY_NAME_CASE x1"),
+				console.toString(StandardCharsets.UTF_8).lines().toList());
+
+		String markdown = Files.readString(summary);
+		assertTrue(markdown.startsWith("## OpenAPI validation failed\n\nSpec file: `" + USERS + "`"), markdown);
+		assertTrue(markdown.contains("| INVALID_PROPERTY_NAME_CASE | schema User.properties.First_name "
+				+ "| 100% wrong see \\| docs |\n"), markdown);
+		assertTrue(markdown.contains("Could not be validated: ParseException: unexpected token"), markdown);
+
+		JsonNode run = ValidationErrorJson.MAPPER.readTree(sarif.toFile()).get("runs").get(0);
+		assertEquals(3, run.get("results").size());
+		JsonNode result = run.get("results").get(0);
+		assertEquals("INVALID_PROPERTY_NAME_CASE", result.get("ruleId").asText());
+		assertEquals("specs/users%20api.json", result.at("/locations/0/physicalLocation/artifactLocation/uri").asText());
+		assertEquals("/components/schemas/User/properties/First_name",
+				result.at("/locations/0/properties/jsonPointer").asText());
+		assertFalse(run.at("/invocations/0/executionSuccessful").asBoolean());
+		assertEquals("ParseException: unexpected token",
+				run.at("/invocations/0/toolExecutionNotifications/0/message/text").asText());
+
+		List<String> lines = Files.readAllLines(jsonl);
+		assertEquals(4, lines.size());
+		JsonNode first = ValidationErrorJson.MAPPER.readTree(lines.getFirst());
+		assertEquals(USERS.toString(), first.get("spec").asText());
+		assertEquals(ERRORS.subList(0, 1), ValidationErrorJson.fromJson(ValidationErrorJson.MAPPER.createArrayNode()
+				.add(first)));
+		assertEquals("ParseException: unexpected token",
+				ValidationErrorJson.MAPPER.readTree(lines.getLast()).get("failure").asText());
+	}
+
+	@Test
+	void sarifResultsPointAtTheLineOfTheirNode() throws IOException {
+		Path spec = Files.writeString(tempDir.resolve("users.json"), """
+				{
+				  "paths": {
+				    "/users": {
+				      "get": { "responses": {} }
+				    }
+				  },
+				  "components": { "schemas": { "User": {
+				    "properties": {
+				      "id": { "type": "string" },
+				      "First_name": { "type": "string" }
+				    }
+				  } } }
+				}
+				""");
+		Path sarif = tempDir.resolve("report.sarif");
+		try (ErrorReporter reporter = new ErrorReporter(List.of(new SarifWriter(sarif)), Long.MAX_VALUE, false, null,
+				false)) {
+			reporter.report(SpecResult.validated(spec, List.of(ERRORS.get(0), ERRORS.get(1),
+					new ValidationError("CUSTOM", "somewhere", "Not located"))));
+			reporter.close(null);
+		}
+
+		JsonNode results = ValidationErrorJson.MAPPER.readTree(sarif.toFile()).at("/runs/0/results");
+		assertEquals(10, results.at("/0/locations/0/physicalLocation/region/startLine").asInt());
+		assertEquals(7, results.at("/0/locations/0/physicalLocation/region/startColumn").asInt());
+		assertEquals(4, results.at("/1/locations/0/physicalLocation/region/startLine").asInt());
+		assertTrue(results.at("/2/locations/0/physicalLocation/region").isMissingNode());
+	}
+
+	@Test
+	void parsesReportTargets() {
+		assertEquals(new ReportFormat.Target(ReportFormat.SARIF, Path.of("out/report.sarif")),
+				ReportFormat.Target.parse("sarif=out/report.sarif"));
+		assertThrows(IllegalArgumentException.class, () -> ReportFormat.Target.parse("xml=report.xml"));
+		assertThrows(IllegalArgumentException.class, () -> ReportFormat.Target.parse("report.sarif"));
+		assertThrows(IllegalArgumentException.class, () -> ReportFormat.Target.parse("sarif="));
+	}
+}
@@ -0,0 +1,101 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import org.jakubfilo.openapivalidator.EngineMode;
+import org.jakubfilo.openapivalidator.cache.ResultCache;
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultCacheTest {
+
+	private static final EngineMode MODEL = new EngineMode(false, false, false, ParseProfile.AS_WRITTEN);
+	private static final List<Rule> RULES = RuleLoader.load();
+	private static final List<ValidationError> ERRORS = List.of(
+			new ValidationError("INVALID_PROPERTY_NAME_CASE", ErrorLocation.property("User", "first_name"),
+					"Property 'first_name' must be lowerCamelCase"));
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void returnsWhatWasPutForTheSameBytesOnly() {
+		ResultCache cache = new ResultCache(tempDir, Long.MAX_VALUE, RULES, MODEL);
+		String key = cache.key(bytes("{\"openapi\": \"3.0.3\"}"));
+		cache.put(key, ERRORS, Map.of());
+
+		assertEquals(ERRORS.getFirst().getLocation(), cache.get(key).orElseThrow().getFirst().getLocation());
+		assertTrue(cache.get(cache.key(bytes("{\"openapi\": \"3.0.2\"}"))).isEmpty());
+		assertTrue(cache.summary().startsWith("Result cache: 1 hit(s), 1 miss(es)"), cache.summary());
+	}
+
+	@Test
+	void keyChangesWithTheRulesAndTheEngine() {
+		ByteBuffer spec = bytes("{\"openapi\": \"3.0.3\"}");
+		String key = new ResultCache(tempDir, Long.MAX_VALUE, RULES, MODEL).key(spec);
+
+		assertEquals(key, new ResultCache(tempDir, Long.MAX_VALUE, RuleLoader.load(), MODEL).key(spec));
+		assertNotEquals(key, new ResultCache(tempDir, Long.MAX_VALUE, RULES.subList(1, RULES.size()), MODEL)
+				.key(spec));
+		assertNotEquals(key, new ResultCache(tempDir, Long.MAX_VALUE, RULES,
+				new EngineMode(true, false, false, ParseProfile.AS_WRITTEN)).key(spec));
+		assertNotEquals(key, new ResultCache(tempDir, Long.MAX_VALUE, RULES,
+				new EngineMode(false, true, false, ParseProfile.AS_WRITTEN)).key(spec));
+	}
+
+	@Test
+	void missesOnceADependencyChanged() throws IOException {
+		Path shared = Files.writeString(tempDir.resolve("shared.json"), "{}");
+		FileTime read = FileTime.fromMillis(1_000_000);
+		Files.setLastModifiedTime(shared, read);
+		ResultCache cache = new ResultCache(tempDir.resolve("cache"), Long.MAX_VALUE, RULES, MODEL);
+		String key = cache.key(bytes("{\"openapi\": \"3.0.3\"}"));
+		cache.put(key, ERRORS, Map.of(shared, read));
+		assertTrue(cache.get(key).isPresent());
+
+		Files.setLastModifiedTime(shared, FileTime.fromMillis(2_000_000));
+		assertTrue(cache.get(key).isEmpty());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntriesFirst() throws IOException {
+		Path directory = tempDir.resolve("cache");
+		ResultCache unbounded = new ResultCache(directory, Long.MAX_VALUE, RULES, MODEL);
+		List<String> keys = List.of("a", "b", "c").stream()
+				.map(name -> unbounded.key(bytes("{\"openapi\": \"3.0.3\", \"x-name\": \"" + name + "\"}")))
+				.toList();
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < keys.size(); i++) {
+			unbounded.put(keys.get(i), ERRORS, Map.of());
+			Files.setLastModifiedTime(directory.resolve(keys.get(i) + ".json"),
+					FileTime.fromMillis(now - (keys.size() - i) * 3_600_000L));
+		}
+		// Reading the oldest entry makes the second one the least recently used
+		assertTrue(unbounded.get(keys.getFirst()).isPresent());
+
+		long entryBytes = Files.size(directory.resolve(keys.getFirst() + ".json"));
+		new ResultCache(directory, 2 * entryBytes, RULES, MODEL).evict();
+
+		assertTrue(unbounded.get(keys.get(0)).isPresent());
+		assertTrue(unbounded.get(keys.get(1)).isEmpty());
+		assertTrue(unbounded.get(keys.get(2)).isPresent());
+	}
+
+	private static ByteBuffer bytes(String content) {
+		return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,133 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.config.ConfiguredRule;
+import org.jakubfilo.openapivalidator.validation.config.RuleConfig;
+import org.junit.jupiter.api.Test;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+class RuleConfigTest {
+
+	private static final String SPEC = """
+			{
+			  "openapi": "3.0.0",
+			  "info": { "title": "Config API", "version": "1.0.0" },
+			  "paths": {
+			    "/users/{userId}": {
+			      "parameters": [
+			        { "name": "userId", "in": "path", "required": true, "schema": { "type": "string" } },
+			        { "name": " ID ", "in": "query", "schema": { "type": "string" } }
+			      ],
+			      "get": {
+			        "parameters": [ { "name": "id", "in": "header", "schema": { "type": "string" } } ],
+			        "responses": { "200": { "description": "OK" } }
+			      },
+			      "post": {
+			        "description": "Replace user",
+			        "responses": { "200": { "description": "OK" } }
+			      }
+			    },
+			    "/users": {
+			      "post": {
+			        "description": "Create user",
+			        "requestBody": { "content": { "application/json": { "schema": {
+			          "type": "object", "properties": { "nick_name": { "type": "string", "enum": ["short", "LONG"] } }
+			        } } } },
+			        "responses": { "201": { "description": "Created" } }
+			      }
+			    }
+			  },
+			  "components": {
+			    "schemas": {
+			      "User": {
+			        "type": "object",
+			        "properties": {
+			          "First_name": { "type": "string" },
+			          "status": { "type": "string", "enum": ["active", "IN_PROGRESS"] }
+			        }
+			      }
+			    }
+			  }
+			}
+			""";
+
+	@Test
+	void builtInConfigurationReproducesHandWrittenRules() {
+		OpenAPI openAPI = OpenApiParserUtil.parseJson(SPEC);
+		List<Rule> configured = RuleConfig.builtIn().apply(List.of());
+		assertTrue(configured.stream().allMatch(rule -> rule instanceof ConfiguredRule));
+		// Route overlaps compare templates with each other, which conditions cannot express
+		assertEquals(RuleLoader.load().stream().map(Rule::id).filter(id -> !id.equals("ambiguous-route")).toList(),
+				configured.stream().map(Rule::id).toList());
+
+		List<ValidationError> expected = new OpenApiSpecValidator(RuleLoader.load()).validate(openAPI);
+		assertEquals(7, expected.size(), expected.toString());
+		// " ID " is trimmed and compared ignoring case; the header parameter is out of scope
+		assertEquals(1, expected.stream().filter(e -> "GENERIC_ID_PARAMETER_NAME".equals(e.getCode())).count());
+		assertEquals(expected, new OpenApiSpecValidator(configured).validate(openAPI));
+	}
+
+	@Test
+	void configuredRulesReplaceDisableAndExtendRegisteredRules() throws IOException {
+		RuleConfig config = parse("""
+				{ "rules": [
+				  { "id": "operation-description", "severity": "off" },
+				  { "id": "property-lower-camel-case", "target": "PROPERTY",
+				    "checks": [ { "code": "INVALID_PROPERTY_NAME_CASE", "assert": { "field": "name", "casing": ["LOWER_CAMEL", "SNAKE"] },
+				                  "message": "Property '{value}' must be lowerCamelCase or snake_case" } ] },
+				  { "id": "operation-id-pattern", "target": "OPERATION",
+				    "checks": [ { "code": "MISSING_OPERATION_ID", "assert": { "field": "operationId", "required": true },
+				                  "message": "Operation must have an operationId" },
+				                { "code": "INVALID_OPERATION_ID", "assert": { "field": "operationId", "pattern": "[a-z][A-Za-z]+" },
+				                  "message": "operationId '{value}' must be a lowerCamelCase verb" } ] }
+				] }
+				""");
+		List<Rule> rules = config.apply(RuleLoader.load());
+		assertEquals(List.of("property-lower-camel-case", "post-created-response", "generic-id-parameter",
+				"enum-upper-snake-case", "ambiguous-route", "operation-id-pattern"), rules.stream().map(Rule::id).toList());
+
+		List<ValidationError> errors = new OpenApiSpecValidator(rules).validate(OpenApiParserUtil.parseJson(SPEC));
+		assertFalse(errors.stream().anyMatch(e -> "MISSING_OPERATION_DESCRIPTION".equals(e.getCode())));
+		// nick_name is snake_case and now accepted
+		assertEquals(List.of("Property 'First_name' must be lowerCamelCase or snake_case"), errors.stream()
+				.filter(e -> "INVALID_PROPERTY_NAME_CASE".equals(e.getCode())).map(ValidationError::getMessage).toList());
+		assertEquals(3, errors.stream().filter(e -> "MISSING_OPERATION_ID".equals(e.getCode())).count());
+	}
+
+	@Test
+	void rejectsInvalidConfiguration() {
+		assertThrows(IllegalArgumentException.class, () -> parse("{ \"rules\": {} }"));
+		assertThrows(IllegalArgumentException.class, () -> parse("""
+				{ "rules": [ { "id": "x", "target": "PROPERTY",
+				  "checks": [ { "code": "X", "assert": { "field": "title", "required": true }, "message": "m" } ] } ] }
+				"""));
+		assertThrows(IllegalArgumentException.class, () -> parse("""
+				{ "rules": [ { "id": "x", "target": "PROPERTY",
+				  "checks": [ { "code": "X", "assert": { "field": "name", "casing": "CAMEL" }, "message": "m" } ] } ] }
+				"""));
+		assertThrows(IllegalArgumentException.class, () -> parse("""
+				{ "rules": [ { "id": "x", "target": "PROPERTY",
+				  "checks": [ { "code": "X", "assert": { "field": "name", "matches": "a+" }, "message": "m" } ] } ] }
+				"""));
+		assertThrows(IllegalArgumentException.class, () -> parse("""
+				{ "rules": [ { "id": "x", "severity": "off" }, { "id": "x", "severity": "off" } ] }
+				"""));
+	}
+
+	private static RuleConfig parse(String json) throws IOException {
+		return RuleConfig.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,133 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.NodeKind;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleContext;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.EnumValueRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.PropertyRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaDuplicate;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaRef;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+
+class SchemaDuplicateTest {
+
+	private static final String PAGE = """
+			{ "type": "object", "properties": {
+			    "total_count": { "type": "integer" },
+			    "status": { "type": "string", "enum": ["ok", "PARTIAL"] },
+			    "items": { "type": "array", "items": { "type": "object", "properties": { "Id": { "type": "string" } } } }
+			} }""";
+
+	private static final String SPEC = """
+			{
+			  "openapi": "3.0.0",
+			  "info": { "title": "Pages", "version": "1.0.0" },
+			  "paths": {
+			    "/users": { "get": { "description": "Users",
+			      "responses": { "200": { "description": "OK", "content": { "application/json": { "schema": %1$s } } } } } },
+			    "/orders": { "get": { "description": "Orders",
+			      "responses": { "200": { "description": "OK", "content": { "application/json": { "schema": %1$s } } } } } },
+			    "/groups": { "get": { "description": "Groups",
+			      "responses": { "200": { "description": "OK", "content": { "application/json": { "schema": {
+			        "type": "object", "properties": { "page": %1$s, "Name": { "type": "string" } } } } } } } } }
+			  }
+			}
+			""".formatted(PAGE);
+
+	@Test
+	void repeatedShapesAreRecordedAsCopiesOfTheFirstOccurrence() {
+		SpecIndex index = SpecIndex.of(OpenApiParserUtil.parseJson(SPEC));
+
+		String first = "GET /users responses.200.content.application/json";
+		assertEquals(List.of(
+				new SchemaDuplicate("GET /orders responses.200.content.application/json", first, 6),
+				new SchemaDuplicate("GET /groups responses.200.content.application/json.properties.page", first, 6),
+				// a plain string schema repeats the one nested in the first page
+				new SchemaDuplicate("GET /groups responses.200.content.application/json.properties.Name",
+						first + ".properties.items.items.properties.Id", 1)
+		), index.duplicateSchemas());
+
+		int copy = index.schemas().stream().map(SchemaRef::name).toList()
+				.indexOf("GET /orders responses.200.content.application/json.properties.status");
+		assertEquals(first + ".properties.status", index.schemas().get(index.canonicalEntry(NodeKind.SCHEMA, copy)).name());
+	}
+
+	@Test
+	void shapesAreOnlyHashedOnRequest() {
+		SpecIndex index = SpecIndex.of(OpenApiParserUtil.parseJson(SPEC), null, false);
+
+		assertEquals(List.of(), index.duplicateSchemas());
+		assertEquals(SpecIndex.of(OpenApiParserUtil.parseJson(SPEC)).schemas().size(), index.schemas().size());
+		assertFalse(new OpenApiSpecValidator(RuleLoader.load().stream().map(NotStructural::new)
+				.map(Rule.class::cast).toList()).hasStructuralRules());
+	}
+
+	@Test
+	void structuralRulesReportEveryCopyLikeAFullEvaluation() {
+		List<Rule> rules = RuleLoader.load();
+		assertTrue(rules.stream().anyMatch(Rule::isStructural));
+
+		SpecIndex index = SpecIndex.of(OpenApiParserUtil.parseJson(SPEC));
+		List<ValidationError> oncePerShape = new OpenApiSpecValidator(rules).validate(index);
+		List<ValidationError> everyNode = new OpenApiSpecValidator(rules.stream().map(NotStructural::new)
+				.map(Rule.class::cast).toList()).validate(index);
+
+		assertEquals(everyNode, oncePerShape);
+		assertEquals(3, oncePerShape.stream()
+				.filter(e -> e.getCode().equals("ENUM_NOT_UPPER_SNAKE_CASE")).count());
+		assertTrue(oncePerShape.stream().anyMatch(e -> e.getLocation().equals(
+				"schema GET /groups responses.200.content.application/json.properties.page.properties.items.items"
+						+ ".properties.Id")));
+	}
+
+	/**
+	 * Hides {@link Rule#isStructural()}, so that the engine evaluates every node.
+	 */
+	private record NotStructural(Rule rule) implements Rule {
+
+		@Override
+		public String id() {
+			return rule.id();
+		}
+
+		@Override
+		public Set<NodeKind> nodeKinds() {
+			return rule.nodeKinds();
+		}
+
+		@Override
+		public void onOperation(SpecIndex.OperationRef operation, RuleContext context) {
+			rule.onOperation(operation, context);
+		}
+
+		@Override
+		public void onParameter(SpecIndex.ParameterRef parameter, RuleContext context) {
+			rule.onParameter(parameter, context);
+		}
+
+		@Override
+		public void onSchema(SchemaRef schema, RuleContext context) {
+			rule.onSchema(schema, context);
+		}
+
+		@Override
+		public void onProperty(PropertyRef property, RuleContext context) {
+			rule.onProperty(property, context);
+		}
+
+		@Override
+		public void onEnumValue(EnumValueRef enumValue, RuleContext context) {
+			rule.onEnumValue(enumValue, context);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.OperationRef;
+import org.jakubfilo.openapivalidator.validation.SpecIndex.SchemaRef;
+import org.junit.jupiter.api.Test;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+class SpecIndexTest {
+
+	private static final String SPEC = """
+			{
+			  "openapi": "3.0.0",
+			  "info": { "title": "Index API", "version": "1.0.0" },
+			  "paths": {
+			    "/users/{userId}": {
+			      "parameters": [
+			        { "name": "userId", "in": "path", "required": true, "schema": { "type": "string" } },
+			        { "name": "verbose", "in": "query", "schema": { "type": "boolean" } }
+			      ],
+			      "get": {
+			        "description": "Get user",
+			        "parameters": [
+			          { "name": "verbose", "in": "query", "description": "override", "schema": { "type": "boolean" } }
+			        ],
+			        "responses": { "200": { "description": "OK" } }
+			      }
+			    }
+			  },
+			  "components": {
+			    "schemas": {
+			      "User": { "type": "object", "properties": { "name": { "type": "string" } } },
+			      "Group": { "type": "object", "properties": { "name": { "type": "string" } } }
+			    }
+			  }
+			}
+			""";
+
+	@Test
+	void operationParametersOverridePathParameters() {
+		SpecIndex index = SpecIndex.of(OpenApiParserUtil.parseJson(SPEC));
+
+		assertEquals(1, index.operations().size());
+		OperationRef get = index.operations().getFirst();
+		assertEquals(List.of("userId", "verbose"), get.parameters().stream().map(Parameter::getName).toList());
+		assertEquals("override", get.parameters().get(1).getDescription());
+
+		// Declared parameters stay flat and in spec order: two path-level, one operation-level
+		assertEquals(3, index.parameters().size());
+	}
+
+	@Test
+	void propertyNamesMapToOwningSchemas() {
+		SpecIndex index = SpecIndex.of(OpenApiParserUtil.parseJson(SPEC));
+
+		assertEquals(List.of("User", "Group"),
+				index.schemasWithProperty("name").stream().map(SchemaRef::name).toList());
+		assertEquals(List.of(), index.schemasWithProperty("missing"));
+	}
+
+	@Test
+	void builtInRulesAreRegisteredAsServices() {
+		assertEquals(List.of(
+				"operation-description",
+				"property-lower-camel-case",
+				"post-created-response",
+				"generic-id-parameter",
+				"enum-upper-snake-case",
+				"ambiguous-route"
+		), RuleLoader.load().stream().map(r -> r.id()).toList());
+	}
+
+	@Test
+	void sharedAndRecursiveSchemasAreVisitedOnce() {
+		Schema<Object> node = new ObjectSchema();
+		node.addProperty("child", node);
+		node.addProperty("sibling", node);
+		OpenAPI openAPI = new OpenAPI().components(new Components()
+				.addSchemas("Node", node)
+				.addSchemas("Tree", new ObjectSchema().addProperty("root", new Schema<>().$ref("#/components/schemas/Node"))));
+
+		SpecIndex index = SpecIndex.of(openAPI);
+
+		assertEquals(List.of("Node", "Tree"), index.schemas().stream().map(SchemaRef::name).toList());
+		assertEquals(List.of("Node.properties.child", "Node.properties.sibling", "Tree.properties.root"),
+				index.referencesTo("Node"));
+	}
+}
@@ -0,0 +1,119 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.SpecFiles;
+import org.jakubfilo.openapivalidator.SpecLoader;
+import org.jakubfilo.openapivalidator.refs.ExternalRefCache;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+class SpecLoaderTest {
+
+	private static final String SPEC = """
+			{
+			  "openapi": "3.0.3",
+			  "info": { "title": "Ünïcode API", "version": "1.0.0" },
+			  "paths": {
+			    "/users": { "get": { "responses": { "200": { "description": "OK" } } } }
+			  }
+			}
+			""";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void loadsPlainGzipAndZippedSpecs() throws IOException {
+		Path plain = tempDir.resolve("plain.json");
+		Files.writeString(plain, SPEC, StandardCharsets.UTF_8);
+
+		Path gzipped = tempDir.resolve("compressed.json.gz");
+		try (OutputStream out = Files.newOutputStream(gzipped)) {
+			gzip(out, SPEC);
+		}
+
+		Path bundle = tempDir.resolve("bundle.zip");
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(bundle))) {
+			zip.putNextEntry(new ZipEntry("v2/users.json"));
+			zip.write(SPEC.getBytes(StandardCharsets.UTF_8));
+			zip.putNextEntry(new ZipEntry("README.md"));
+			zip.write("not a spec".getBytes(StandardCharsets.UTF_8));
+			zip.putNextEntry(new ZipEntry("v1/users.json.gz"));
+			gzip(zip, SPEC);
+		}
+
+		List<Path> specs = SpecFiles.expand(List.of(plain.toString(), gzipped.toString(), bundle.toString()));
+		assertEquals(List.of(
+				plain,
+				gzipped,
+				Path.of(bundle + "!/v1/users.json.gz"),
+				Path.of(bundle + "!/v2/users.json")), specs);
+
+		for (Path spec : specs) {
+			OpenAPI openAPI = SpecLoader.parse(spec);
+			assertEquals("Ünïcode API", openAPI.getInfo().getTitle(), spec.toString());
+			assertEquals(1, openAPI.getPaths().size());
+		}
+	}
+
+	@Test
+	void reportsMissingZipEntries() throws IOException {
+		Path bundle = tempDir.resolve("empty.zip");
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(bundle))) {
+			zip.putNextEntry(new ZipEntry("other.json"));
+		}
+		assertThrows(NoSuchFileException.class, () -> SpecLoader.read(Path.of(bundle + "!/missing.json")));
+	}
+
+	@Test
+	void readsYamlAndHandsParserMessagesToTheCaller() throws IOException {
+		Path yaml = Files.writeString(tempDir.resolve("users.yaml"), """
+				openapi: 3.0.3
+				info:
+				  title: Ünïcode API
+				  version: 1.0.0
+				paths:
+				  /users:
+				    get:
+				      responses:
+				        '200':
+				          description: OK
+				unexpected: true
+				""", StandardCharsets.UTF_8);
+
+		IllegalArgumentException failure = assertThrows(IllegalArgumentException.class, () -> SpecLoader.parse(yaml));
+		assertEquals("OpenAPI parsing errors: attribute unexpected is unexpected", failure.getMessage());
+
+		List<String> warnings = new ArrayList<>();
+		OpenAPI openAPI = SpecLoader.parse(yaml, new ExternalRefCache(), ParseProfile.AS_WRITTEN, warnings::add);
+		assertEquals("Ünïcode API", openAPI.getInfo().getTitle());
+		assertEquals(List.of("attribute unexpected is unexpected"), warnings);
+		String valid = Files.readString(yaml).replace("unexpected: true\n", "");
+		assertEquals("Ünïcode API", OpenApiParserUtil.parseJson(valid).getInfo().getTitle());
+	}
+
+	/**
+	 * Finishes without closing {@code out}, so it also works for a zip entry.
+	 */
+	private static void gzip(OutputStream out, String content) throws IOException {
+		GZIPOutputStream gzip = new GZIPOutputStream(out);
+		gzip.write(content.getBytes(StandardCharsets.UTF_8));
+		gzip.finish();
+	}
+}
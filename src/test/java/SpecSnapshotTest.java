@@ -0,0 +1,128 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.cache.SnapshotStore;
+import org.jakubfilo.openapivalidator.snapshot.SpecSnapshot;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.Rule;
+import org.jakubfilo.openapivalidator.validation.RuleLoader;
+import org.jakubfilo.openapivalidator.validation.SpecIndex;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+
+class SpecSnapshotTest {
+
+	private static final String SPEC = """
+			{
+			  "openapi": "3.0.0",
+			  "info": { "title": "Users", "version": "1.0.0" },
+			  "paths": {
+			    "/users/{id}": {
+			      "parameters": [ { "name": "id", "in": "path", "required": true, "schema": { "type": "string" } } ],
+			      "get": { "responses": { "200": { "description": "OK",
+			        "content": { "application/json": { "schema": { "$ref": "#/components/schemas/User" } } } } } }
+			    },
+			    "/users": {
+			      "post": { "description": "Create",
+			        "requestBody": { "content": { "application/json": { "schema": { "$ref": "#/components/schemas/User" } } } },
+			        "responses": { "200": { "description": "OK" } } }
+			    }
+			  },
+			  "components": { "schemas": {
+			    "User": { "type": "object", "properties": {
+			      "First_name": { "type": "string", "description": "Given name" },
+			      "status": { "type": "string", "enum": ["active", "LOCKED"] },
+			      "tags": { "type": "array", "items": { "type": "string", "format": "uuid" } }
+			    } }
+			  } }
+			}
+			""";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void snapshotValidatesLikeTheParsedSpec() {
+		List<Rule> rules = RuleLoader.load();
+		assertTrue(rules.stream().allMatch(Rule::isSnapshotSafe));
+
+		OpenAPI parsed = OpenApiParserUtil.parseJson(SPEC);
+		OpenAPI restored = SpecSnapshot.read(ByteBuffer.wrap(SpecSnapshot.write(parsed)));
+
+		OpenApiSpecValidator validator = new OpenApiSpecValidator(rules);
+		List<ValidationError> expected = validator.validate(SpecIndex.of(parsed));
+		assertEquals(5, expected.stream().map(ValidationError::getCode).distinct().count(), expected.toString());
+		assertEquals(expected, validator.validate(SpecIndex.of(restored)));
+		assertTrue(restored.getPaths().get("/users/{id}").getParameters().getFirst() instanceof PathParameter);
+	}
+
+	@Test
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	void sharedAndCyclicSchemasKeepTheirIdentity() {
+		// What a fully resolved spec looks like: one instance per referenced schema, reachable from itself
+		Schema node = new ObjectSchema();
+		node.addProperty("next", node);
+		node.addProperty("children", new ArraySchema().items(node));
+		OpenAPI openAPI = new OpenAPI().components(new Components().addSchemas("Node", node).addSchemas("Alias", node));
+
+		OpenAPI restored = SpecSnapshot.read(ByteBuffer.wrap(SpecSnapshot.write(openAPI)));
+
+		Schema copy = restored.getComponents().getSchemas().get("Node");
+		assertTrue(copy instanceof ObjectSchema);
+		assertSame(copy, restored.getComponents().getSchemas().get("Alias"));
+		assertSame(copy, copy.getProperties().get("next"));
+		assertSame(copy, ((Schema) copy.getProperties().get("children")).getItems());
+	}
+
+	@Test
+	void rejectsCorruptSnapshots() {
+		byte[] bytes = SpecSnapshot.write(OpenApiParserUtil.parseJson(SPEC));
+		assertThrows(IllegalArgumentException.class,
+				() -> SpecSnapshot.read(ByteBuffer.wrap(bytes, 0, bytes.length / 2)));
+	}
+
+	@Test
+	void storeMissesOnceADependencyChanges() throws IOException {
+		Path common = Files.writeString(tempDir.resolve("common.json"), "{}");
+		FileTime modified = FileTime.fromMillis(Files.getLastModifiedTime(common).toMillis());
+		SnapshotStore store = new SnapshotStore(tempDir.resolve("snapshots"), Long.MAX_VALUE);
+		String key = store.key(ByteBuffer.wrap(SPEC.getBytes(StandardCharsets.UTF_8)), ParseProfile.AS_WRITTEN);
+
+		assertEquals(Optional.empty(), store.get(key));
+		store.put(key, OpenApiParserUtil.parseJson(SPEC), Map.of(common, modified));
+
+		Optional<SnapshotStore.Entry> entry = store.get(key);
+		assertTrue(entry.isPresent());
+		assertEquals(Map.of(common, modified), entry.get().dependencies());
+		assertEquals("3.0.0", entry.get().openAPI().getOpenapi());
+		assertFalse(key.equals(store.key(ByteBuffer.wrap(SPEC.getBytes(StandardCharsets.UTF_8)),
+				ParseProfile.RESOLVED_FULLY)));
+
+		Files.setLastModifiedTime(common, FileTime.fromMillis(modified.toMillis() + 1000));
+		assertEquals(Optional.empty(), store.get(key));
+		assertEquals("Spec snapshots: 1 hit(s), 2 miss(es) in " + tempDir.resolve("snapshots"), store.summary());
+	}
+}
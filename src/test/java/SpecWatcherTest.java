@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.watch.SpecWatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpecWatcherTest {
+
+	private static final String SPEC = """
+			{
+			  "openapi": "3.0.3",
+			  "info": { "title": "Watched", "version": "1.0.0" },
+			  "paths": { %s }
+			}
+			""";
+	private static final String UNDESCRIBED = "\"%s\": { \"get\": { "
+			+ "\"responses\": { \"200\": { \"description\": \"OK\" } } } }";
+	private static final String DESCRIBED = "\"%s\": { \"get\": { \"description\": \"Reads it.\", "
+			+ "\"responses\": { \"200\": { \"description\": \"OK\" } } } }";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void aSaveIsValidatedOnceAndPrintsOnlyTheDelta() throws IOException, InterruptedException {
+		Path spec = Files.writeString(tempDir.resolve("watched.json"), SPEC.formatted(UNDESCRIBED.formatted("/a")));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+		SpecWatcher watcher = new SpecWatcher(List.of(spec.toString()), new OpenApiSpecValidator(), false, null, out);
+		Thread thread = Thread.ofVirtual().start(() -> {
+			try {
+				watcher.run();
+			} catch (IOException ex) {
+				throw new RuntimeException(ex);
+			} catch (InterruptedException ex) {
+				// stopped by the test
+			}
+		});
+		try {
+			awaitLine(bytes, "Watching 1 spec(s)");
+
+			// An editor's atomic save: the content is written to a file the watcher ignores and moved into place
+			Path saved = tempDir.resolve("watched.json.tmp");
+			Files.writeString(saved, "{ \"openapi\": ");
+			Files.writeString(saved, SPEC.formatted(DESCRIBED.formatted("/a") + ", " + UNDESCRIBED.formatted("/b")));
+			Files.move(saved, spec, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			awaitLine(bytes, "  - ");
+		} finally {
+			thread.interrupt();
+			thread.join();
+		}
+
+		List<String> lines = lines(bytes);
+		assertTrue(lines.getFirst().startsWith(spec + ": validated, 1 new, 0 resolved"), lines.getFirst());
+		assertTrue(lines.get(2).startsWith("Watching"), lines.get(2));
+		List<String> afterSave = lines.subList(3, lines.size());
+		assertEquals(3, afterSave.size(), String.join("\n", afterSave));
+		assertTrue(afterSave.get(0).startsWith(spec + ": re-validated, 1 new, 1 resolved"), afterSave.get(0));
+		assertTrue(afterSave.get(1).startsWith("  + ") && afterSave.get(1).contains("/b"), afterSave.get(1));
+		assertTrue(afterSave.get(2).startsWith("  - ") && afterSave.get(2).contains("/a"), afterSave.get(2));
+	}
+
+	private static void awaitLine(ByteArrayOutputStream bytes, String prefix) throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			if (lines(bytes).stream().anyMatch(line -> line.startsWith(prefix))) {
+				return;
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError("No line starting with '" + prefix + "' in:\n" + bytes);
+	}
+
+	private static List<String> lines(ByteArrayOutputStream bytes) {
+		synchronized (bytes) {
+			return bytes.toString(StandardCharsets.UTF_8).lines().toList();
+		}
+	}
+}
@@ -0,0 +1,208 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.OpenApiParserUtil;
+import org.jakubfilo.openapivalidator.validation.OpenApiSpecValidator;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.jakubfilo.openapivalidator.validation.ValidationSink;
+import org.jakubfilo.openapivalidator.validation.streaming.StreamingSpecValidator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Conformance: the streaming engine must report exactly what the model-based engine reports, though in the order of
+ * the path items and component schemas rather than grouped by rule across the whole document.
+ */
+class StreamingSpecValidatorTest {
+
+	private final OpenApiSpecValidator modelValidator = new OpenApiSpecValidator();
+	private final StreamingSpecValidator streamingValidator = new StreamingSpecValidator();
+
+	@Test
+	void reportsSameErrorsAsModelForEveryRule() throws Exception {
+		// Keys deliberately out of the model's order: components before paths, post before get,
+		// path-level parameters after operations, schema enum after properties.
+		String spec = """
+        {
+          "openapi": "3.0.0",
+          "info": { "title": "Conformance API", "version": "1.0.0" },
+          "components": {
+            "parameters": {
+              "Id": { "name": "id", "in": "query", "schema": { "type": "string" } }
+            },
+            "schemas": {
+              "User": {
+                "type": "object",
+                "properties": {
+                  "First_name": { "type": "string" },
+                  "role": { "type": "string", "enum": ["admin", "SUPER_USER"] },
+                  "group": { "$ref": "#/components/schemas/Group" },
+                  "nested": { "type": "object", "properties": { "Bad_Nested": { "type": "string" } } }
+                }
+              },
+              "Color": {
+                "type": "string",
+                "enum": ["red", "DARK_GREEN"]
+              },
+              "Group": { "type": "object", "properties": { "groupName": { "type": "string" } } }
+            }
+          },
+          "paths": {
+            "x-internal": { "get": { "responses": { "200": { "description": "OK" } } } },
+            "/users/{id}": {
+              "post": {
+                "description": "  ",
+                "responses": {
+                  "200": { "description": "OK" },
+                  "x-note": { "text": "ignored" }
+                }
+              },
+              "get": {
+                "parameters": [
+                  { "in": "query", "name": "Id", "schema": { "type": "string" } },
+                  { "$ref": "#/components/parameters/Id" },
+                  { "name": "id", "in": "header", "schema": { "type": "string" } }
+                ],
+                "responses": { "200": { "description": "OK" } }
+              },
+              "parameters": [
+                { "name": "id", "in": "path", "required": true, "schema": { "type": "string" } }
+              ]
+            },
+            "/groups": {
+              "post": {
+                "description": "Create group",
+                "responses": {
+                  "201": {
+                    "description": "Created",
+                    "content": {
+                      "application/json": {
+                        "schema": {
+                          "type": "object",
+                          "additionalProperties": { "type": "string", "enum": ["x"] },
+                          "properties": {
+                            "member_ids": { "type": "array", "items": { "type": "string", "enum": ["a_b"] } }
+                          }
+                        }
+                      }
+                    }
+                  }
+                },
+                "parameters": [
+                  { "schema": { "type": "string", "enum": ["lower"] }, "name": "kind", "in": "query" }
+                ],
+                "requestBody": {
+                  "content": {
+                    "application/json": {
+                      "schema": { "allOf": [ { "$ref": "#/components/schemas/Group" }, { "properties": { "Extra": { "type": "string" } } } ] }
+                    }
+                  }
+                }
+              },
+              "delete": {
+                "description": "Drop groups",
+                "responses": { "204": { "description": "No content" } }
+              }
+            }
+          }
+        }
+        """;
+
+		List<String> expected = sorted(render(modelValidator.validate(OpenApiParserUtil.parseJson(spec))));
+		List<String> actual = render(streamingValidator.validate(stream(spec)));
+
+		assertFalse(expected.isEmpty(), "Spec should exercise every rule");
+		assertEquals(expected, sorted(actual));
+		// Components come first in the document, so their findings are reported first
+		assertTrue(actual.getFirst().startsWith("INVALID_PROPERTY_NAME_CASE at schema User."), actual.getFirst());
+	}
+
+	@Test
+	void validSpecProducesNoErrors() throws Exception {
+		String spec = """
+        {
+          "openapi": "3.0.0",
+          "info": { "title": "Clean API", "version": "1.0.0" },
+          "paths": {
+            "/users": {
+              "get": {
+                "description": "List users",
+                "responses": { "200": { "description": "OK" } }
+              }
+            }
+          },
+          "components": {
+            "schemas": {
+              "Status": { "type": "string", "enum": ["ACTIVE", "IN_PROGRESS"] }
+            }
+          }
+        }
+        """;
+
+		assertEquals(render(modelValidator.validate(OpenApiParserUtil.parseJson(spec))),
+				render(streamingValidator.validate(stream(spec))));
+		assertEquals(List.of(), render(streamingValidator.validate(stream(spec))));
+	}
+
+	@Test
+	void skipsRulesThatNeedTheModel() throws Exception {
+		String spec = """
+        {
+          "openapi": "3.0.0",
+          "info": { "title": "Routes", "version": "1.0.0" },
+          "paths": {
+            "/users/{userId}": { "get": { "description": "Get user", "responses": { "200": { "description": "OK" } } } },
+            "/users/me": { "get": { "responses": { "200": { "description": "OK" } } } }
+          }
+        }
+        """;
+
+		assertEquals(List.of("ambiguous-route"), streamingValidator.getSkippedRules());
+		assertEquals(List.of("MISSING_OPERATION_DESCRIPTION"),
+				streamingValidator.validate(stream(spec)).stream().map(ValidationError::getCode).toList());
+	}
+
+	@Test
+	void stopsReadingOnceTheSinkIsDone() throws Exception {
+		// Everything after the first path item is malformed, which only a full read would notice
+		String spec = """
+        {
+          "openapi": "3.0.0",
+          "paths": {
+            "/users": { "get": { "responses": { "200": { "description": "OK" } } } },
+            "/groups": { "get": { "description": "List groups" ] } }
+        """;
+		List<ValidationError> errors = new ArrayList<>();
+
+		streamingValidator.validate(stream(spec), new ValidationSink() {
+			@Override
+			public void accept(ValidationError error) {
+				errors.add(error);
+			}
+
+			@Override
+			public boolean isDone() {
+				return !errors.isEmpty();
+			}
+		});
+
+		assertEquals(List.of("MISSING_OPERATION_DESCRIPTION"), errors.stream().map(ValidationError::getCode).toList());
+	}
+
+	private static List<String> sorted(List<String> errors) {
+		return errors.stream().sorted().toList();
+	}
+
+	private static ByteArrayInputStream stream(String spec) {
+		return new ByteArrayInputStream(spec.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<String> render(List<ValidationError> errors) {
+		return errors.stream().map(ValidationError::toString).toList();
+	}
+}
@@ -0,0 +1,98 @@
+package org.jakubfilo.openapivalidator.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jakubfilo.openapivalidator.CacheSettings;
+import org.jakubfilo.openapivalidator.CliOptions;
+import org.jakubfilo.openapivalidator.EngineMode;
+import org.jakubfilo.openapivalidator.SpecResult;
+import org.jakubfilo.openapivalidator.validation.ErrorLocation;
+import org.jakubfilo.openapivalidator.validation.ParseProfile;
+import org.jakubfilo.openapivalidator.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.swagger.v3.oas.models.PathItem;
+
+class DaemonProtocolTest {
+
+	private static final EngineMode MODE = new EngineMode(true, false, true, ParseProfile.RESOLVED);
+	private static final CacheSettings CACHE = new CacheSettings(Path.of("/tmp/cache"), 1024L * 1024);
+
+	@Test
+	void requestRoundTripsSpecsModeAndCache() throws IOException {
+		List<Path> specs = List.of(Path.of("a.json"), Path.of("specs/../b.json.gz"));
+		JsonNode request = roundTrip(DaemonProtocol.request(specs, MODE, CACHE));
+
+		assertEquals(List.of(Path.of("a.json").toAbsolutePath(), Path.of("b.json.gz").toAbsolutePath()),
+				DaemonProtocol.specs(request));
+		assertEquals(MODE, DaemonProtocol.mode(request));
+		assertEquals(CACHE, DaemonProtocol.cache(request));
+		assertNull(DaemonProtocol.mode(roundTrip(DaemonProtocol.request(specs, MODE, CACHE).without("mode"))));
+		assertNull(DaemonProtocol.cache(roundTrip(DaemonProtocol.request(specs, MODE, CACHE).without("cache"))));
+		assertEquals(CacheSettings.DISABLED, DaemonProtocol.cache(roundTrip(DaemonProtocol.request(specs, MODE,
+				CacheSettings.DISABLED))));
+	}
+
+	@Test
+	void cacheFlagsAreSentAsTheyWouldBeApplied() {
+		assertEquals(CacheSettings.DISABLED, CacheSettings.of(CliOptions.parse(new String[] {"--no-cache", "a.json"})));
+		assertEquals(new CacheSettings(Path.of("cache").toAbsolutePath(), 8L * 1024 * 1024), CacheSettings.of(
+				CliOptions.parse(new String[] {"--cache-dir", "specs/../cache", "--cache-max-mb", "8", "a.json"})));
+	}
+
+	@Test
+	void responseRoundTripsResultsOntoTheCallersPaths() throws IOException {
+		List<Path> specs = List.of(Path.of("a.json"), Path.of("b.json"), Path.of("c.json"));
+		ValidationError error = new ValidationError("INVALID_OPERATION_ID",
+				ErrorLocation.operation("/users", PathItem.HttpMethod.GET), "operationId must be lowerCamelCase");
+		List<SpecResult> sent = List.of(
+				SpecResult.validated(specs.get(0).toAbsolutePath(), List.of(error)),
+				SpecResult.failed(specs.get(1).toAbsolutePath(), "Unexpected end of input"),
+				SpecResult.validated(specs.get(2).toAbsolutePath(), List.of(), List.of("attribute x is unexpected")));
+
+		List<SpecResult> received = DaemonProtocol.results(roundTrip(DaemonProtocol.response(sent)), specs);
+
+		assertEquals(specs, received.stream().map(SpecResult::spec).toList());
+		ValidationError decoded = received.get(0).errors().getFirst();
+		assertEquals(List.of(error.getCode(), error.getLocation(), error.getMessage()),
+				List.of(decoded.getCode(), decoded.getLocation(), decoded.getMessage()));
+		assertEquals(error.getErrorLocation(), decoded.getErrorLocation());
+		assertEquals("Unexpected end of input", received.get(1).failure());
+		assertEquals(List.of(), received.get(2).errors());
+		assertNull(received.get(2).failure());
+		assertEquals(List.of("attribute x is unexpected"), received.get(2).warnings());
+
+		assertThrows(IOException.class, () -> DaemonProtocol.results(roundTrip(DaemonProtocol.response(sent)),
+				specs.subList(0, 2)));
+	}
+
+	@Test
+	void errorResponseFailsTheExchange() throws IOException {
+		JsonNode response = roundTrip(DaemonProtocol.error("daemon runs with 'AS_WRITTEN'"));
+
+		IOException ex = assertThrows(IOException.class,
+				() -> DaemonProtocol.results(response, List.of(Path.of("a.json"))));
+		assertEquals("daemon runs with 'AS_WRITTEN'", ex.getMessage());
+	}
+
+	private static JsonNode roundTrip(JsonNode message) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DaemonProtocol.writeFrame(new DataOutputStream(bytes), message);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		JsonNode read = DaemonProtocol.readFrame(in);
+		assertNull(DaemonProtocol.readFrame(in));
+		return read;
+	}
+}
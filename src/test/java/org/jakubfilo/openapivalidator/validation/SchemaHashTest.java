@@ -0,0 +1,57 @@
+package org.jakubfilo.openapivalidator.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+
+class SchemaHashTest {
+
+	private final SchemaHash hash = new SchemaHash();
+
+	@Test
+	void sameConfirmsStructureKeywordByKeyword() {
+		assertTrue(hash.same(page("ok"), page("ok")));
+		assertEquals(hash.of(page("ok")), hash.of(page("ok")));
+
+		assertFalse(hash.same(page("ok"), page("OK")));
+		Schema<?> reordered = new ObjectSchema()
+				.addProperty("items", new ArraySchema().items(status("ok")))
+				.addProperty("total", new Schema<>().type("integer"));
+		assertFalse(hash.same(page("ok"), reordered));
+	}
+
+	@Test
+	void sameTerminatesOnCycles() {
+		assertTrue(hash.same(node(), node()));
+	}
+
+	private static Schema<?> page(String status) {
+		return new ObjectSchema()
+				.addProperty("total", new Schema<>().type("integer"))
+				.addProperty("items", new ArraySchema().items(status(status)));
+	}
+
+	private static Schema<?> status(String value) {
+		StringSchema status = new StringSchema();
+		status.setEnum(List.of(value, "PARTIAL"));
+		return status;
+	}
+
+	/**
+	 * A resolved self-reference: the node's children are the node itself.
+	 */
+	private static Schema<?> node() {
+		ObjectSchema node = new ObjectSchema();
+		node.addProperty("children", new ArraySchema().items(node));
+		return node;
+	}
+}